@@ -99,6 +99,14 @@ tasks.register("createExecutable") {
     }
 }
 
+// Montée en charge avec des bots: ./gradlew loadTest --args="--ramp=1,10,100 --players=4"
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Plays concurrent bot games against local servers and reports latency and throughput."
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass.set("org.App.loadtest.LoadTest")
+}
+
 tasks.register("buildAll") {
     dependsOn("clientJar", "serverJar")
 }
@@ -1,17 +1,30 @@
 package org.App;
 
+import java.io.IOException;
 import java.util.Scanner;
 
+import org.App.model.player.Difficulty;
 import org.App.network.GameServer;
+import org.App.network.ServerConfig;
+import org.App.network.metrics.MetricsEndpoint;
 
 public class ServerLauncher {
     public static void main(String[] args) {
         int port = 5555;
+        ServerConfig config = ServerConfig.fromSystemProperties();
         
-        // Allow port customization via command line
-        if (args.length > 0) {
+        // Allow port customization via command line, settings as --key=value
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                try {
+                    config.applyArgument(arg);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Ignoring invalid option " + arg + ": " + e.getMessage());
+                }
+                continue;
+            }
             try {
-                port = Integer.parseInt(args[0]);
+                port = Integer.parseInt(arg);
             } catch (NumberFormatException e) {
                 System.err.println("Invalid port number. Using default port 5555.");
             }
@@ -21,10 +34,23 @@ public class ServerLauncher {
         System.out.println("    Démarrage du serveur Skyjo...");
         System.out.println("========================================");
         
-        GameServer server = new GameServer(port);
+        GameServer server = new GameServer(port, config);
+        boolean standby = !config.getStandbyOf().isEmpty();
+        if (!standby && server.recover()) {
+            System.out.println("Partie en cours restaurée depuis le journal: les joueurs peuvent reprendre leur place.");
+        }
         server.start();
         
-        System.out.println("Serveur prêt! En attente de connexions sur le port " + port);
+        if (standby) {
+            System.out.println("Serveur de secours de " + config.getStandbyOf()
+                    + ": il prendra le relais sur le port " + port + " si le serveur principal tombe.");
+        } else {
+            System.out.println("Serveur prêt! En attente de connexions sur le port " + port);
+        }
+        if (server.getReplicationPort() >= 0) {
+            System.out.println("Réplication vers les serveurs de secours sur le port " + server.getReplicationPort());
+        }
+        MetricsEndpoint metricsEndpoint = startMetricsEndpoint(server, config);
         System.out.println("\nAdresse IP du serveur:");
         displayServerIP();
         
@@ -35,6 +61,8 @@ public class ServerLauncher {
         System.out.println("\nCommandes disponibles:");
         System.out.println("- start : Démarrer la partie");
         System.out.println("- stop : Arrêter le serveur");
+        System.out.println("- stats : Afficher les métriques du serveur");
+        System.out.println("- ia [easy|medium|hard] : Ajouter un joueur IA à la prochaine partie");
         System.out.println("- help : Afficher les commandes disponibles");
         
         while (running) {
@@ -49,12 +77,31 @@ public class ServerLauncher {
                 case "stop", "quit", "exit":
                     running = false;
                     System.out.println("Arrêt du serveur en cours...");
+                    if (metricsEndpoint != null) {
+                        metricsEndpoint.stop();
+                    }
                     server.stop();
                     break;
+                case "stats":
+                    System.out.print(server.getMetrics().report());
+                    System.out.println("En attente de partie rapide: " + server.getQueuedPlayers());
+                    break;
+                case "ia", "ia easy", "ia medium", "ia hard":
+                    Difficulty difficulty = command.equals("ia")
+                            ? Difficulty.MEDIUM
+                            : Difficulty.valueOf(command.substring(3).toUpperCase());
+                    if (server.addAIPlayer(difficulty)) {
+                        System.out.println("Joueur IA ajouté (" + difficulty + ")");
+                    } else {
+                        System.out.println("Impossible d'ajouter une IA: la partie a déjà commencé.");
+                    }
+                    break;
                 case "help":
                     System.out.println("\nCommandes disponibles:");
                     System.out.println("- start : Démarrer la partie");
                     System.out.println("- stop : Arrêter le serveur");
+                    System.out.println("- stats : Afficher les métriques du serveur");
+                    System.out.println("- ia [easy|medium|hard] : Ajouter un joueur IA à la prochaine partie");
                     System.out.println("- help : Afficher les commandes disponibles");
                     break;
                 default:
@@ -67,6 +114,23 @@ public class ServerLauncher {
         System.exit(0);
     }
     
+    /** Starts the HTTP metrics endpoint when {@code --metrics-port} is set. */
+    private static MetricsEndpoint startMetricsEndpoint(GameServer server, ServerConfig config) {
+        if (config.getMetricsPort() < 0) {
+            return null;
+        }
+        try {
+            MetricsEndpoint endpoint = MetricsEndpoint.start(config.getMetricsHost(), config.getMetricsPort(),
+                    server.getMetrics());
+            System.out.println("Métriques disponibles sur http://" + config.getMetricsHost() + ":"
+                    + endpoint.getPort() + MetricsEndpoint.PATH);
+            return endpoint;
+        } catch (IOException e) {
+            System.err.println("Impossible de démarrer l'endpoint de métriques: " + e.getMessage());
+            return null;
+        }
+    }
+
     private static void displayServerIP() {
         try {
             java.net.InetAddress localHost = java.net.InetAddress.getLocalHost();
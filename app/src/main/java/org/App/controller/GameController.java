@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import org.App.jfr.GameActionEvent;
 import org.App.model.game.Card;
 import org.App.model.game.SkyjoGame;
 import org.App.model.player.AIPlayer;
@@ -243,6 +244,9 @@ public final class GameController implements GameActionListener {
     }
 
     private void endTurn() {
+        GameActionEvent event = new GameActionEvent();
+        event.begin();
+        int playerId = game.getActualPlayer().getId();
         game.checkColumns();
         game.pickEmpty();
         updateView();
@@ -267,6 +271,11 @@ public final class GameController implements GameActionListener {
                 onNewTurn();
             });
         }
+        if (event.shouldCommit()) {
+            event.action = "END_TURN";
+            event.playerId = playerId;
+            event.commit();
+        }
     }
 
     private void concludeGame() {
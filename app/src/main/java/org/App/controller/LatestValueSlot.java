@@ -0,0 +1,59 @@
+package org.App.controller;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+
+/**
+ * Hands values produced on a background thread to the JavaFX thread, newest
+ * only.
+ * <p>
+ * A value is put in a single slot, replacing any value the FX thread has not
+ * taken yet, and a render is queued only when the slot was empty. However many
+ * values arrive between two pulses, the FX thread renders once, with the last
+ * of them; the ones in between are never rendered.
+ * </p>
+ *
+ * @param <T> The published values.
+ */
+final class LatestValueSlot<T> {
+    private final AtomicReference<T> latest = new AtomicReference<>();
+    private final Consumer<T> render;
+    private final Executor fxThread;
+
+    /**
+     * @param render Renders a value; runs on the FX thread.
+     */
+    LatestValueSlot(Consumer<T> render) {
+        this(render, Platform::runLater);
+    }
+
+    /**
+     * @param render   Renders a value; runs on {@code fxThread}.
+     * @param fxThread Runs the renders, one at a time.
+     */
+    LatestValueSlot(Consumer<T> render, Executor fxThread) {
+        this.render = render;
+        this.fxThread = fxThread;
+    }
+
+    /**
+     * Publishes a value. Safe from any thread.
+     *
+     * @param value The value, not null.
+     */
+    void publish(T value) {
+        if (latest.getAndSet(value) == null) {
+            fxThread.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        T value = latest.getAndSet(null);
+        if (value != null) {
+            render.accept(value);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.App.App;
+import org.App.logging.Logger;
 import org.App.model.game.Card;
 import org.App.model.game.CardValue;
 import org.App.model.player.HumanPlayer;
@@ -39,19 +40,56 @@ import javafx.util.Duration;
  * @version 1.1
  */
 public class OnlineGameController implements NetworkEventListener, GameActionListener {
+    private static final Logger LOG = Logger.get(OnlineGameController.class);
+
     private GameViewInterface view;
     private int playerId;
-    private boolean isMyTurn = false;
-    private boolean hasPickedCard = false;
+    // Written by the network thread on each state or turn change, and by the FX thread on a rollback
+    private volatile boolean isMyTurn = false;
+    private PendingDraw pendingDraw = PendingDraw.NONE;
     private boolean gameEnded = false;
     private Map<Integer, String> playerNames = new HashMap<>();
     
-    // Store last game state to handle any UI transitions
-    private GameState lastGameState;
+    // Store last game state to handle any UI transitions; written by the network thread
+    private volatile GameState lastGameState;
+
+    /**
+     * A game state converted to model objects, ready to be shown. Built on the
+     * network thread so that the FX thread only updates the view.
+     */
+    private record PreparedState(GameState state, List<Player> players, Card topDiscard, int remainingCards) {
+    }
+
+    // Newest prepared state, rendered once per FX pulse however many states arrive meanwhile
+    private final LatestValueSlot<PreparedState> pendingState = new LatestValueSlot<>(this::renderState);
+    private volatile PreparedState lastPreparedState;
+
+    // Board shown after our own command until the server's next state; null when nothing is pending (FX thread)
+    private TurnPrediction.Board prediction;
     
     // Card that's currently being held after picking
     private Card heldCard;
 
+    /**
+     * Where the current turn stands. A card drawn from the deck is asked from
+     * the server ({@code PICK}), which answers with its value ({@code HELD}):
+     * the player sees it before choosing to exchange or discard it. Taking the
+     * discard pile, whose top card is already known, is sent together with the
+     * target card as one compound command.
+     */
+    private enum PendingDraw {
+        /** Nothing drawn yet. */
+        NONE,
+        /** {@code PICK} sent, waiting for the drawn card. */
+        DRAWING,
+        /** Holding the drawn card, shown to the player. */
+        HELD,
+        /** The drawn card was discarded; a face-down card must be revealed. */
+        DISCARDED,
+        /** The discard pile is taken, not sent yet. */
+        DISCARD
+    }
+
     /**
      * Creates a new OnlineGameController with the specified view and player ID.
      * 
@@ -63,7 +101,7 @@ public class OnlineGameController implements NetworkEventListener, GameActionLis
         this.playerId = playerId;
         this.playerNames = new HashMap<>();
         
-        System.out.println("OnlineGameController initialisé avec l'ID de joueur: " + playerId);
+        LOG.info("OnlineGameController initialisé avec l'ID de joueur: {}", playerId);
 
         // Register this controller as the network event listener and view action listener
         NetworkManager.getInstance().getClient().setListener(this);
@@ -94,7 +132,7 @@ public class OnlineGameController implements NetworkEventListener, GameActionLis
     @Override
     public void onGameStateUpdated(GameState gameState) {
         if (gameState == null) {
-            System.err.println("Received null game state");
+            LOG.warn("Received null game state");
             return;
         }
         
@@ -105,9 +143,8 @@ public class OnlineGameController implements NetworkEventListener, GameActionLis
         String localPlayerName = NetworkManager.getInstance().getLocalPlayerName();
         for (NetworkPlayerState playerState : gameState.getPlayers()) {
             if (playerState.getName().equals(localPlayerName) && this.playerId != playerState.getId()) {
-                System.out.println("⚠️ Correction d'ID détectée: L'ID local " + this.playerId + 
-                                   " ne correspond pas à l'ID du serveur " + playerState.getId() + 
-                                   " pour le joueur " + localPlayerName);
+                LOG.warn("Correction d'ID détectée: L'ID local {} ne correspond pas à l'ID du serveur {} pour le joueur {}",
+                        this.playerId, playerState.getId(), localPlayerName);
                 this.playerId = playerState.getId();
                 NetworkManager.getInstance().setLocalPlayerId(this.playerId);
             }
@@ -115,27 +152,41 @@ public class OnlineGameController implements NetworkEventListener, GameActionLis
         
         // Update isMyTurn based on the current player ID
         isMyTurn = (gameState.getCurrentPlayerId() == playerId);
-        System.out.println("Current player ID: " + gameState.getCurrentPlayerId() + ", My ID: " + playerId + ", Is my turn: " + isMyTurn);
-        
-        Platform.runLater(() -> {
-            try {
-                // Check if there's a view to update
-                if (view != null) {
-                    updateViewWithGameState(gameState);
-                    
-                    // Check if it's the final round
-                    if (gameState.isFinalRound()) {
-                        handleFinalRound();
-                    }
-                }
-            } catch (Exception e) {
-                System.err.println("Error updating view with game state: " + e.getMessage());
-                e.printStackTrace();
-                if (view != null) {
-                    view.showMessageBox("Erreur lors de la mise à jour du jeu: " + e.getMessage());
+        LOG.debug("Current player ID: {}, My ID: {}, Is my turn: {}", gameState.getCurrentPlayerId(), playerId, isMyTurn);
+
+        // Conversion here, on the network thread; the FX thread only gets the newest result
+        pendingState.publish(prepare(gameState));
+    }
+
+    /** Runs on the FX thread with the newest state published since the previous pulse. */
+    private void renderState(PreparedState prepared) {
+        reconcile(prepared);
+        try {
+            // Check if there's a view to update
+            if (view != null) {
+                updateView(prepared);
+
+                // Check if it's the final round
+                if (prepared.state().isFinalRound()) {
+                    handleFinalRound();
                 }
             }
-        });
+        } catch (Exception e) {
+            LOG.error("Error updating view with game state", e);
+            if (view != null) {
+                view.showMessageBox("Erreur lors de la mise à jour du jeu: " + e.getMessage());
+            }
+        }
+    }
+
+    /** Converts a game state to the model objects the view shows. */
+    private PreparedState prepare(GameState gameState) {
+        PreparedState prepared = new PreparedState(gameState,
+                convertNetworkPlayersToModelPlayers(gameState.getPlayers()),
+                convertNetworkCardToModelCard(gameState.getTopDiscard()),
+                gameState.getRemainingCards());
+        lastPreparedState = prepared;
+        return prepared;
     }
 
     /**
@@ -144,11 +195,19 @@ public class OnlineGameController implements NetworkEventListener, GameActionLis
      * @param gameState The current state of the game.
      */
     private void updateViewWithGameState(GameState gameState) {
-        // Create a list of model players from network players
-        List<Player> modelPlayers = convertNetworkPlayersToModelPlayers(gameState.getPlayers());
-        
-        // Convert the top discard card to a model card
-        Card topDiscard = convertNetworkCardToModelCard(gameState.getTopDiscard());
+        PreparedState prepared = lastPreparedState;
+        updateView(prepared != null && prepared.state() == gameState ? prepared : prepare(gameState));
+    }
+
+    /**
+     * Updates the view with a state already converted to model objects.
+     *
+     * @param prepared The current state of the game.
+     */
+    private void updateView(PreparedState prepared) {
+        GameState gameState = prepared.state();
+        List<Player> modelPlayers = prepared.players();
+        Card topDiscard = prepared.topDiscard();
 
         // Store player names for future reference
         for (NetworkPlayerState player : gameState.getPlayers()) {
@@ -171,7 +230,7 @@ public class OnlineGameController implements NetworkEventListener, GameActionLis
         view.showPlaying(
                 modelPlayers,
                 getPlayerName(gameState.getCurrentPlayerId()),
-                gameState.getRemainingCards(),
+                prepared.remainingCards(),
                 topDiscard);
                 
         // If we have visible cards, animate the flips
@@ -198,6 +257,8 @@ public class OnlineGameController implements NetworkEventListener, GameActionLis
                     for (CardView cardView : allCardViews) {
                         if (cardView.getIndex() == i && cardView.getPlayerId() == player.getId() 
                                 && !cardView.isFlipped()) {
+                            // Face-down cards arrive without their value: give it to the view before flipping
+                            cardView.setValue(card.retourner());
                             toFlip.add(cardView);
                             break;
                         }
@@ -207,9 +268,9 @@ public class OnlineGameController implements NetworkEventListener, GameActionLis
         }
         
         if (!toFlip.isEmpty()) {
-            System.out.println("🎴 Animation de retournement pour " + toFlip.size() + " cartes");
+            LOG.debug("Animation de retournement pour {} cartes", toFlip.size());
             animateCardFlipsSequentially(toFlip, () -> {
-                System.out.println("🎴 Animation de retournement terminée");
+                LOG.debug("Animation de retournement terminée");
             });
         }
     }
@@ -300,33 +361,38 @@ public class OnlineGameController implements NetworkEventListener, GameActionLis
     @Override
     public void onPlayerTurnChanged(int currentPlayerId) {
         // Debug logs pour comprendre les problèmes d'ID
-        System.out.println("🎲 onPlayerTurnChanged: serveur dit que c'est le tour du joueur ID=" + currentPlayerId);
-        System.out.println("🎲 Mon ID est: " + this.playerId);
+        LOG.debug("onPlayerTurnChanged: serveur dit que c'est le tour du joueur ID={}, mon ID est {}",
+                currentPlayerId, this.playerId);
         
         // Update turn status and notify the player if it's their turn
         boolean previousTurnState = isMyTurn;
         isMyTurn = (currentPlayerId == this.playerId);
         
         if (previousTurnState != isMyTurn) {
-            System.out.println("🎲 Changement d'état de tour: " + previousTurnState + " -> " + isMyTurn);
+            LOG.debug("Changement d'état de tour: {} -> {}", previousTurnState, isMyTurn);
         }
+        boolean turnChanged = previousTurnState != isMyTurn;
         
         Platform.runLater(() -> {
+            if (turnChanged) {
+                pendingDraw = PendingDraw.NONE; // a draw never carries over to another turn
+            }
             if (isMyTurn) {
-                System.out.println("🎲 C'EST MON TOUR!");
+                LOG.debug("C'est mon tour");
                 view.showMessageBox("C'est votre tour!");
                 
                 // Refresh the view with the latest game state to highlight current player
-                if (lastGameState != null) {
+                PreparedState prepared = lastPreparedState;
+                if (prepared != null) {
                     view.showPlaying(
-                            convertNetworkPlayersToModelPlayers(lastGameState.getPlayers()),
+                            prepared.players(),
                             getPlayerName(currentPlayerId),
-                            lastGameState.getRemainingCards(),
-                            convertNetworkCardToModelCard(lastGameState.getTopDiscard()));
+                            prepared.remainingCards(),
+                            prepared.topDiscard());
                 }
             } else {
                 String playerName = getPlayerName(currentPlayerId);
-                System.out.println("🎲 Tour du joueur " + playerName + " (ID=" + currentPlayerId + ")");
+                LOG.debug("Tour du joueur {} (ID={})", playerName, currentPlayerId);
                 view.showMessageBox("Tour de " + playerName);
             }
         });
@@ -389,84 +455,187 @@ public class OnlineGameController implements NetworkEventListener, GameActionLis
 
     /**
      * Handles a click on a card.
-     * If a card has been picked, this will try to exchange it.
-     * Otherwise, it will try to reveal the card.
+     * Exchanges it with the drawn card, reveals it after a discard, or sends
+     * the discard pile exchange as a single compound command; without a draw,
+     * the player is asked to draw first.
      * 
      * @param cardView The clicked card view.
      */
     public void handleCardClick(CardView cardView) {
         if (!isMyTurn) {
-            System.out.println("❌ Tentative d'action hors tour. Mon ID=" + playerId + 
-                              ", Joueur actuel=" + (lastGameState != null ? lastGameState.getCurrentPlayerId() : "?"));
+            LOG.debug("Tentative d'action hors tour. Mon ID={}, Joueur actuel={}",
+                    playerId, lastGameState != null ? lastGameState.getCurrentPlayerId() : "?");
             view.showMessageBox("Ce n'est pas votre tour!");
             return;
         }
 
-        System.out.println("✅ Action validée: c'est bien mon tour (ID=" + playerId + ")");
-        
-        // Card clicks can either reveal or exchange a card
-        // depending on the game state (if a card has been picked or not)
-        if (hasPickedCard) {
-            // Exchange card
-            NetworkManager.getInstance().getClient().sendMessage(
-                    Protocol.formatMessage(Protocol.CARD_EXCHANGE, playerId, String.valueOf(cardView.getIndex())));
-            
-            view.showMessageBox("Échange de carte...");
-            hasPickedCard = false; // Reset state
-            heldCard = null;
-        } else {
-            // Reveal card
-            NetworkManager.getInstance().getClient().sendMessage(
-                    Protocol.formatMessage(Protocol.CARD_REVEAL, playerId, String.valueOf(cardView.getIndex())));
-            
-            view.showMessageBox("Révélation de carte...");
+        LOG.debug("Action validée: c'est bien mon tour (ID={})", playerId);
+
+        if (prediction != null) {
+            view.showMessageBox("En attente du serveur...");
+            return;
+        }
+
+        int index = cardView.getIndex();
+        switch (pendingDraw) {
+            case HELD -> {
+                sendTurnAction(Protocol.CARD_EXCHANGE, index);
+                predict(Protocol.CARD_EXCHANGE, index);
+                view.showMessageBox("Échange de carte...");
+            }
+            case DISCARD -> {
+                sendTurnAction(Protocol.DISCARD_TAKE_EXCHANGE, index);
+                predict(Protocol.DISCARD_TAKE_EXCHANGE, index);
+                view.showMessageBox("Échange avec la défausse...");
+            }
+            case DISCARDED -> {
+                if (isOwnCardVisible(index)) {
+                    view.showMessageBox("Choisissez une carte face cachée à révéler");
+                    return;
+                }
+                sendTurnAction(Protocol.CARD_REVEAL, index);
+                predict(Protocol.CARD_REVEAL, index);
+                view.showMessageBox("Révélation de carte...");
+            }
+            case DRAWING -> {
+                view.showMessageBox("En attente de la carte piochée...");
+                return;
+            }
+            case NONE -> {
+                // The server only accepts a reveal after discarding a drawn card
+                view.showMessageBox("Piochez une carte ou prenez la défausse d'abord");
+                return;
+            }
         }
+        pendingDraw = PendingDraw.NONE;
+        heldCard = null;
     }
 
     /**
      * Handles a click on the pick pile.
-     * Requests to pick a card from the server.
+     * Asks the server for a card; its value arrives with {@link #onHeldCard}.
      */
     public void handlePickClick() {
         if (!isMyTurn) {
             view.showMessageBox("Ce n'est pas votre tour!");
             return;
         }
+        if (prediction != null) {
+            view.showMessageBox("En attente du serveur...");
+            return;
+        }
         
-        if (hasPickedCard) {
+        if (pendingDraw != PendingDraw.NONE) {
             view.showMessageBox("Vous avez déjà pioché une carte!");
             return;
         }
 
-        NetworkManager.getInstance().getClient().sendMessage(
-                Protocol.formatMessage(Protocol.CARD_PICK, playerId));
-        
-        // This state is set before server confirmation, and will be reset on card exchange or card discard
-        hasPickedCard = true;
-        view.showMessageBox("Pioche d'une carte...");
+        pendingDraw = PendingDraw.DRAWING;
+        NetworkManager.getInstance().getClient().sendMessage(Protocol.formatMessage(Protocol.CARD_PICK, playerId));
+        view.showMessageBox("Pioche...");
     }
     
     /**
      * Handles a click on the discard pile.
-     * Requests to discard the currently picked card.
+     * After drawing from the deck, discards the drawn card; otherwise takes
+     * the top of the discard pile, which is sent with the target card.
      */
     public void handleDiscardClick() {
         if (!isMyTurn) {
             view.showMessageBox("Ce n'est pas votre tour!");
             return;
         }
-        
-        if (!hasPickedCard) {
-            view.showMessageBox("Vous devez d'abord piocher une carte!");
+        if (prediction != null) {
+            view.showMessageBox("En attente du serveur...");
+            return;
+        }
+
+        switch (pendingDraw) {
+            case NONE -> {
+                if (lastGameState == null || lastGameState.getTopDiscard() == null) {
+                    view.showMessageBox("La défausse est vide!");
+                    return;
+                }
+                pendingDraw = PendingDraw.DISCARD;
+                view.showMessageBox("Choisissez la carte à remplacer par la défausse");
+            }
+            case HELD -> {
+                NetworkManager.getInstance().getClient().sendMessage(
+                        Protocol.formatMessage(Protocol.CARD_DISCARD, playerId));
+                pendingDraw = PendingDraw.DISCARDED;
+                heldCard = null;
+                view.showMessageBox("Choisissez une carte à révéler");
+            }
+            case DRAWING -> view.showMessageBox("En attente de la carte piochée...");
+            case DISCARD -> view.showMessageBox("Vous devez placer la carte prise dans la défausse!");
+            case DISCARDED -> view.showMessageBox("Choisissez une carte à révéler");
+        }
+    }
+
+    /**
+     * Shows the board as it will be once the server has applied our command,
+     * without waiting for it. The server's next state replaces the prediction;
+     * if the server refuses the command, {@link #onError} rolls it back.
+     */
+    private void predict(String command, int cardIndex) {
+        PreparedState confirmed = lastPreparedState;
+        if (confirmed == null || view == null) {
+            return;
+        }
+        prediction = TurnPrediction.predict(
+                new TurnPrediction.Board(confirmed.players(), confirmed.topDiscard(), confirmed.remainingCards()),
+                playerId, command, cardIndex, heldCard);
+        updateView(new PreparedState(confirmed.state(), prediction.players(), prediction.topDiscard(),
+                prediction.remainingCards()));
+    }
+
+    /** Drops the prediction once the server's state arrives; the state is shown whether it matches or not. */
+    private void reconcile(PreparedState confirmed) {
+        if (prediction == null) {
             return;
         }
+        if (!matchesPrediction(confirmed)) {
+            LOG.debug("Prédiction corrigée par l'état du serveur");
+        }
+        prediction = null;
+    }
 
+    /** Whether every card the prediction showed face up is the one the server reports. */
+    private boolean matchesPrediction(PreparedState confirmed) {
+        for (Player predicted : prediction.players()) {
+            if (predicted.getId() != playerId) {
+                continue;
+            }
+            for (Player player : confirmed.players()) {
+                if (player.getId() == playerId) {
+                    List<Card> cards = player.getCartes();
+                    for (int i = 0; i < predicted.getCartes().size() && i < cards.size(); i++) {
+                        Card card = predicted.getCartes().get(i);
+                        if (card.faceVisible() && card.valeur() != cards.get(i).valeur()) {
+                            return false;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private void sendTurnAction(String type, int cardIndex) {
         NetworkManager.getInstance().getClient().sendMessage(
-                Protocol.formatMessage(Protocol.CARD_DISCARD, playerId));
-        
-        hasPickedCard = false;
-        heldCard = null;
-        view.showMessageBox("Défausse de la carte...");
+                Protocol.formatMessage(type, playerId, String.valueOf(cardIndex)));
+    }
+
+    private boolean isOwnCardVisible(int index) {
+        if (lastGameState == null) {
+            return false;
+        }
+        for (NetworkPlayerState player : lastGameState.getPlayers()) {
+            if (player.getId() == playerId && index < player.getCards().size()) {
+                return player.getCards().get(index).isFaceVisible();
+            }
+        }
+        return false;
     }
     
     /**
@@ -492,12 +661,14 @@ public class OnlineGameController implements NetworkEventListener, GameActionLis
             
             if (playerId == this.playerId) {
                 if (cardValue != null) {
+                    // Also how a resumed player learns the card they were holding
                     heldCard = new Card(cardValue, true, -1);
-                    view.showMessageBox("Vous avez pioché une carte: " + cardValue.getValue());
+                    pendingDraw = PendingDraw.HELD;
+                    view.showMessageBox("Vous avez pioché un " + cardValue.getValue()
+                            + ": choisissez une carte à échanger, ou cliquez sur la défausse");
                 } else {
                     view.showMessageBox("Vous avez pioché une carte.");
                 }
-                hasPickedCard = true;
             } else {
                 view.showMessageBox(playerName + " a pioché une carte");
             }
@@ -541,7 +712,7 @@ public class OnlineGameController implements NetworkEventListener, GameActionLis
             if (playerId == this.playerId) {
                 view.showMessageBox("Vous avez échangé un " + discardedValue.getValue() +
                                    " contre un " + receivedValue.getValue());
-                hasPickedCard = false;
+                pendingDraw = PendingDraw.NONE;
                 heldCard = null;
             } else {
                 view.showMessageBox(playerName + " a échangé une carte");
@@ -589,9 +760,35 @@ public class OnlineGameController implements NetworkEventListener, GameActionLis
         NetworkManager.getInstance().disconnect();
     }
 
+    @Override
+    public void onHeldCard(int playerId, CardValue value) {
+        onCardPicked(playerId, value);
+    }
+
+    @Override
+    public void onError(String message) {
+        Platform.runLater(() -> {
+            if (pendingDraw == PendingDraw.DRAWING) {
+                pendingDraw = PendingDraw.NONE; // the draw was refused, nothing is held
+            }
+            if (prediction == null) {
+                return;
+            }
+            // The server refused our command: back to the last board it confirmed
+            LOG.warn("Coup refusé par le serveur: {}", message);
+            prediction = null;
+            PreparedState confirmed = lastPreparedState;
+            if (confirmed != null && view != null) {
+                isMyTurn = confirmed.state().getCurrentPlayerId() == playerId;
+                updateView(confirmed);
+                view.showMessageBox("Coup refusé: " + message);
+            }
+        });
+    }
+
     @Override
     public void onGameStarted() {
-        System.out.println("🎮 Partie en ligne démarrée!");
+        LOG.info("Partie en ligne démarrée");
         Platform.runLater(() -> {
             view.showMessageBox("La partie commence!");
         });
@@ -0,0 +1,97 @@
+package org.App.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.App.model.game.Card;
+import org.App.model.player.HumanPlayer;
+import org.App.model.player.Player;
+import org.App.network.Protocol;
+
+/**
+ * Predicts the board after one of the local player's commands, so that it
+ * can be shown before the server confirms it.
+ * <p>
+ * Only what the client already knows is predicted: the card taken from the
+ * discard pile or drawn and shown to the player, a visible card going to the
+ * discard pile, the pile count.
+ * The value of a face-down card or of a card drawn from the deck is kept
+ * secret by the server; such a card stays face down and the discard pile
+ * empty until the server's state arrives and replaces the prediction.
+ * </p>
+ */
+final class TurnPrediction {
+
+    /** What the board shows. */
+    record Board(List<Player> players, Card topDiscard, int remainingCards) {
+    }
+
+    private TurnPrediction() {
+    }
+
+    /**
+     * Applies a command to a copy of the board.
+     *
+     * @param board     The board confirmed by the server; left unchanged.
+     * @param playerId  The local player.
+     * @param command   The {@link Protocol} command sent.
+     * @param cardIndex The slot it targets.
+     * @return The predicted board, or the same board if the command changes nothing the client can know.
+     */
+    static Board predict(Board board, int playerId, String command, int cardIndex) {
+        return predict(board, playerId, command, cardIndex, null);
+    }
+
+    /**
+     * Applies a command to a copy of the board.
+     *
+     * @param board     The board confirmed by the server; left unchanged.
+     * @param playerId  The local player.
+     * @param command   The {@link Protocol} command sent.
+     * @param cardIndex The slot it targets.
+     * @param held      The card drawn earlier in the turn, needed for {@link Protocol#CARD_EXCHANGE}.
+     * @return The predicted board, or the same board if the command changes nothing the client can know.
+     */
+    static Board predict(Board board, int playerId, String command, int cardIndex, Card held) {
+        List<Player> players = new ArrayList<>(board.players().size());
+        List<Card> hand = null;
+        for (Player player : board.players()) {
+            if (player.getId() == playerId) {
+                Player copy = new HumanPlayer(player.getId(), player.getName());
+                copy.setCards(player.getCartes());
+                hand = copy.getCartes();
+                player = copy;
+            }
+            players.add(player);
+        }
+        if (hand == null || cardIndex < 0 || cardIndex >= hand.size()) {
+            return board;
+        }
+        Card replaced = hand.get(cardIndex);
+        // A face-down card is sent without its value: once discarded, it is still unknown
+        Card discarded = replaced.faceVisible() ? replaced : null;
+        return switch (command) {
+            case Protocol.DISCARD_TAKE_EXCHANGE -> {
+                if (board.topDiscard() == null) {
+                    yield board;
+                }
+                hand.set(cardIndex, new Card(board.topDiscard().valeur(), true, board.topDiscard().id()));
+                yield new Board(players, discarded, board.remainingCards());
+            }
+            case Protocol.CARD_EXCHANGE -> {
+                if (held == null) {
+                    yield board;
+                }
+                hand.set(cardIndex, new Card(held.valeur(), true, held.id()));
+                yield new Board(players, discarded, board.remainingCards()); // drawn when the card was picked
+            }
+            case Protocol.CARD_PICK_EXCHANGE -> {
+                hand.set(cardIndex, new Card(null, false, -1)); // the drawn card, value unknown
+                yield new Board(players, discarded, Math.max(0, board.remainingCards() - 1));
+            }
+            case Protocol.CARD_PICK_DISCARD_REVEAL ->
+                new Board(players, null, Math.max(0, board.remainingCards() - 1));
+            default -> board;
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package org.App.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One turn decided and played by an AI player. */
+@Name("org.App.AIDecision")
+@Label("AI Decision")
+@Category({ "Skyjo", "Game" })
+@Description("One turn decided and played by an AI player.")
+@StackTrace(false)
+public final class AIDecisionEvent extends Event {
+
+    @Label("Player")
+    public String player;
+
+    @Label("Strategy")
+    public String strategy;
+}
@@ -0,0 +1,27 @@
+package org.App.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Sending of one message to every connected client. */
+@Name("org.App.Broadcast")
+@Label("Broadcast")
+@Category({ "Skyjo", "Network" })
+@Description("Sending of one message to every connected client.")
+@StackTrace(false)
+public final class BroadcastEvent extends Event {
+
+    @Label("Type")
+    public String type;
+
+    @Label("Recipients")
+    public int recipients;
+
+    @Label("Batched")
+    @Description("Whether the message was added to the current command batch rather than queued directly")
+    public boolean batched;
+}
@@ -0,0 +1,23 @@
+package org.App.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Application of one game action to the game model. */
+@Name("org.App.GameAction")
+@Label("Game Action")
+@Category({ "Skyjo", "Game" })
+@Description("Application of one game action to the game model.")
+@StackTrace(false)
+public final class GameActionEvent extends Event {
+
+    @Label("Action")
+    public String action;
+
+    @Label("Player Id")
+    public int playerId;
+}
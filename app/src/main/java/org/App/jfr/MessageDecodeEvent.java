@@ -0,0 +1,28 @@
+package org.App.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Decoding of one inbound message or game state from its wire format. */
+@Name("org.App.MessageDecode")
+@Label("Message Decode")
+@Category({ "Skyjo", "Network" })
+@Description("Decoding of one inbound message or game state from its wire format.")
+@StackTrace(false)
+public final class MessageDecodeEvent extends Event {
+
+    @Label("Type")
+    public String type;
+
+    @Label("Format")
+    public String format;
+
+    @Label("Size")
+    @DataAmount
+    public int bytes;
+}
@@ -0,0 +1,27 @@
+package org.App.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Handling of one inbound message, from receipt to the end of its dispatch. */
+@Name("org.App.MessageReceived")
+@Label("Message Received")
+@Category({ "Skyjo", "Network" })
+@Description("Handling of one inbound message, from receipt to the end of its dispatch.")
+@StackTrace(false)
+public final class MessageReceivedEvent extends Event {
+
+    @Label("Side")
+    @Description("\"server\" or \"client\"")
+    public String side;
+
+    @Label("Type")
+    public String type;
+
+    @Label("Player Id")
+    public int playerId;
+}
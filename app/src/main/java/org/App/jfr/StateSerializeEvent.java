@@ -0,0 +1,29 @@
+package org.App.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Encoding of one game state version in every wire format in use. */
+@Name("org.App.StateSerialize")
+@Label("State Serialize")
+@Category({ "Skyjo", "Network" })
+@Description("Encoding of one game state version in every wire format in use.")
+@StackTrace(false)
+public final class StateSerializeEvent extends Event {
+
+    @Label("Version")
+    public long version;
+
+    @Label("Formats")
+    public String formats;
+
+    @Label("Size")
+    @Description("Total encoded size over all formats")
+    @DataAmount
+    public int bytes;
+}
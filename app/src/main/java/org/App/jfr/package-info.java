@@ -0,0 +1,22 @@
+/**
+ * Java Flight Recorder events for game actions and network messages.
+ * <p>
+ * Each event times one stage of a message's life: receive, decode, game logic,
+ * serialization and broadcast, plus AI decisions. A single recording started
+ * with {@code -XX:StartFlightRecording} or {@code jcmd <pid> JFR.start} shows
+ * where latency comes from; with no recording running, an event costs a
+ * branch and is usually not even allocated.
+ * </p>
+ * Events are emitted with the usual JFR idiom, setting fields only when the
+ * event is actually recorded:
+ * <pre>{@code
+ * MessageReceivedEvent event = new MessageReceivedEvent();
+ * event.begin();
+ * ... work ...
+ * if (event.shouldCommit()) {
+ *     event.type = type;
+ *     event.commit();
+ * }
+ * }</pre>
+ */
+package org.App.jfr;
@@ -0,0 +1,160 @@
+package org.App.loadtest;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.App.model.player.AIPlayer;
+import org.App.model.player.Difficulty;
+import org.App.network.GameState;
+import org.App.network.HeadlessClient;
+import org.App.network.Protocol;
+import org.App.network.WireFormat;
+import org.App.network.codec.Frame;
+
+/**
+ * One simulated player: a {@link HeadlessClient} that joins, plays each of its
+ * turns with an AI strategy and leaves when the game ends.
+ * <p>
+ * Everything runs on the client's reader thread, so the fields need no
+ * locking. The client-observed turn latency is the time from sending a turn
+ * to receiving the next {@code TURN} announcement, which covers the round trip
+ * and the server's handling of the turn.
+ * </p>
+ */
+final class BotClient implements HeadlessClient.Listener {
+    private final String name;
+    private final AIPlayer ai;
+    private final LoadStats stats;
+    private final long thinkNanos;
+    private final CountDownLatch joined;
+    private final CountDownLatch done = new CountDownLatch(1);
+    private HeadlessClient connection;
+
+    private int id = -1;
+    private GameState state;
+    private long turnSentAt;
+    private boolean retriedThisTurn;
+    private boolean finished;
+
+    /**
+     * @param name        The player name, unique within its game.
+     * @param difficulty  Selects the AI strategy.
+     * @param stats       Receives what the bot observes.
+     * @param thinkMillis Pause before each turn, 0 to play immediately.
+     * @param joined      Counted down once the server acknowledged the join.
+     */
+    BotClient(String name, Difficulty difficulty, LoadStats stats, long thinkMillis, CountDownLatch joined) {
+        this.name = name;
+        this.ai = new AIPlayer(0, name, difficulty);
+        this.stats = stats;
+        this.thinkNanos = TimeUnit.MILLISECONDS.toNanos(thinkMillis);
+        this.joined = joined;
+    }
+
+    /** Connects and joins. */
+    void connect(String host, int port, WireFormat format) throws IOException {
+        connection = new HeadlessClient(host, port, name, this);
+        connection.join(name, format);
+    }
+
+    /**
+     * Waits until the game ended or the connection closed.
+     *
+     * @return false on timeout.
+     */
+    boolean awaitDone(long timeout, TimeUnit unit) throws InterruptedException {
+        return done.await(timeout, unit);
+    }
+
+    void close() {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Override
+    public void onFrame(Frame frame) {
+        stats.botMessageReceived();
+        String[] parts = frame.parts();
+        switch (frame.type()) {
+            case Protocol.WIRE -> learnId(parts[1]);
+            case Protocol.PLAYER_JOIN -> {
+                if (id < 0 && parts.length > 2 && name.equals(parts[2])) {
+                    learnId(parts[1]);
+                }
+            }
+            case Protocol.GAME_STATE -> state = frame.state();
+            case Protocol.PLAYER_TURN -> onTurn(Integer.parseInt(parts[1]));
+            case Protocol.ERROR -> onError();
+            case Protocol.GAME_END -> {
+                finished = true;
+                connection.close();
+            }
+            default -> {
+                // HELD, START, LEFT: nothing to do for a bot
+            }
+        }
+    }
+
+    @Override
+    public void onClosed(IOException error) {
+        if (!finished) {
+            stats.disconnected();
+        }
+        done.countDown();
+    }
+
+    private void learnId(String value) {
+        if (id < 0) {
+            id = Integer.parseInt(value);
+            joined.countDown();
+        }
+    }
+
+    private void onTurn(int playerId) {
+        if (turnSentAt != 0) {
+            stats.clientTurnLatency(System.nanoTime() - turnSentAt);
+            turnSentAt = 0;
+        }
+        if (playerId != id) {
+            return;
+        }
+        retriedThisTurn = false;
+        if (thinkNanos > 0) {
+            try {
+                Thread.sleep(TimeUnit.NANOSECONDS.toMillis(thinkNanos));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        send(BotMovePlanner.plan(state, id, ai));
+    }
+
+    /** A rejected turn would stall the game: retry once with a move the server always accepts. */
+    private void onError() {
+        if (finished) {
+            return;
+        }
+        stats.error();
+        if (turnSentAt != 0 && !retriedThisTurn) {
+            retriedThisTurn = true;
+            send(BotMovePlanner.fallback(state, id));
+        }
+    }
+
+    private void send(BotMovePlanner.Move move) {
+        if (move == null) {
+            stats.error();
+            return;
+        }
+        try {
+            turnSentAt = System.nanoTime();
+            connection.send(move.type(), id, String.valueOf(move.cardIndex()));
+            stats.commandSent();
+        } catch (IOException e) {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package org.App.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.App.model.game.Card;
+import org.App.model.game.CardValue;
+import org.App.model.game.SkyjoGame;
+import org.App.model.player.AIPlayer;
+import org.App.model.player.Player;
+import org.App.network.GameState;
+import org.App.network.NetworkCardState;
+import org.App.network.NetworkPlayerState;
+import org.App.network.Protocol;
+
+/**
+ * Turns an {@link org.App.model.player.AIStrategy} decision into one compound
+ * protocol command.
+ * <p>
+ * Strategies play directly on a {@link SkyjoGame}. A network bot only has the
+ * {@link GameState} it received, so the planner builds a throwaway game from
+ * it: the bot's hand, with a random value for each face-down card, and the top
+ * of the discard pile, over a freshly shuffled deck standing in for the unknown
+ * draw pile. It lets the strategy play its turn there and reads back what it
+ * did: where the card came from and which slot was exchanged or revealed.
+ * </p>
+ * The server then plays that move with the real cards, so the bot plays
+ * with the strategy's logic but not with its exact knowledge, which is all a
+ * load test needs.
+ */
+final class BotMovePlanner {
+    /** Ids given to the hand in the throwaway game, distinct from every deck card id. */
+    private static final int HAND_ID_BASE = 10_000;
+    private static final CardValue[] VALUES = CardValue.values();
+
+    /**
+     * One turn, as sent to the server.
+     *
+     * @param type      {@link Protocol#CARD_PICK_EXCHANGE}, {@link Protocol#DISCARD_TAKE_EXCHANGE}
+     *                  or {@link Protocol#CARD_PICK_DISCARD_REVEAL}.
+     * @param cardIndex The slot exchanged or revealed.
+     */
+    record Move(String type, int cardIndex) {
+    }
+
+    private BotMovePlanner() {
+    }
+
+    /**
+     * Plans the bot's move for the current turn.
+     *
+     * @param state The latest state received.
+     * @param me    The bot's id.
+     * @param ai    The AI player holding the strategy; its hand is overwritten.
+     * @return The move, or null if the state does not contain the bot.
+     */
+    static Move plan(GameState state, int me, AIPlayer ai) {
+        NetworkPlayerState self = findPlayer(state, me);
+        if (self == null || self.getCards() == null) {
+            return null;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Card> hand = ai.getCartes();
+        hand.clear();
+        List<NetworkCardState> cards = self.getCards();
+        for (int i = 0; i < cards.size(); i++) {
+            NetworkCardState card = cards.get(i);
+            CardValue value = card.getValue() != null ? card.getValue() : VALUES[random.nextInt(VALUES.length)];
+            hand.add(new Card(value, card.isFaceVisible(), HAND_ID_BASE + i));
+        }
+        List<Card> before = new ArrayList<>(hand);
+
+        SkyjoGame shadow = new SkyjoGame(List.<Player>of(ai));
+        NetworkCardState top = state.getTopDiscard();
+        if (top != null && top.getValue() != null) {
+            shadow.addToDiscard(new Card(top.getValue(), true, top.getId()));
+        }
+        int deckBefore = shadow.getPickSize();
+
+        ai.playTurn(shadow);
+
+        boolean fromDeck = shadow.getPickSize() < deckBefore;
+        for (int i = 0; i < before.size() && i < hand.size(); i++) {
+            Card was = before.get(i);
+            Card now = hand.get(i);
+            if (now.id() != was.id()) {
+                return new Move(fromDeck ? Protocol.CARD_PICK_EXCHANGE : Protocol.DISCARD_TAKE_EXCHANGE, i);
+            }
+            if (now.faceVisible() != was.faceVisible()) {
+                return new Move(Protocol.CARD_PICK_DISCARD_REVEAL, i);
+            }
+        }
+        return fallback(state, me);
+    }
+
+    /**
+     * A move the server accepts whatever the state: reveal a hidden card if
+     * there is one, otherwise exchange the first slot. Used when the strategy's
+     * move cannot be read back, or was rejected.
+     *
+     * @param state The latest state received.
+     * @param me    The bot's id.
+     * @return The move, or null if the state does not contain the bot.
+     */
+    static Move fallback(GameState state, int me) {
+        NetworkPlayerState self = findPlayer(state, me);
+        if (self == null || self.getCards() == null) {
+            return null;
+        }
+        List<NetworkCardState> cards = self.getCards();
+        for (int i = 0; i < cards.size(); i++) {
+            if (!cards.get(i).isFaceVisible()) {
+                return new Move(Protocol.CARD_PICK_DISCARD_REVEAL, i);
+            }
+        }
+        return new Move(Protocol.CARD_PICK_EXCHANGE, 0);
+    }
+
+    private static NetworkPlayerState findPlayer(GameState state, int id) {
+        if (state == null || state.getPlayers() == null) {
+            return null;
+        }
+        for (NetworkPlayerState player : state.getPlayers()) {
+            if (player.getId() == id) {
+                return player;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,120 @@
+package org.App.loadtest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.App.network.metrics.Histogram;
+import org.App.network.metrics.ServerMetrics;
+
+/**
+ * What one load stage observed, on the bots' side and on the servers' side.
+ * Recorded concurrently by every bot and game; read once the stage is over.
+ */
+final class LoadStats {
+    private final int games;
+    private final int players;
+    private long elapsedNanos;
+    private final Histogram clientTurnLatency = new Histogram();
+    private final Histogram serverTurnDuration = new Histogram();
+    private final Histogram serverCommandProcessing = new Histogram();
+    private final Histogram serverCommandWait = new Histogram();
+    private final LongAdder botMessages = new LongAdder();
+    private final LongAdder commands = new LongAdder();
+    private final LongAdder serverMessages = new LongAdder();
+    private final LongAdder serverBytesSent = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder disconnects = new LongAdder();
+    private final LongAdder gamesCompleted = new LongAdder();
+    private final LongAdder gamesTimedOut = new LongAdder();
+
+    /**
+     * @param games   The number of concurrent games in the stage.
+     * @param players Players per game.
+     */
+    LoadStats(int games, int players) {
+        this.games = games;
+        this.players = players;
+    }
+
+    void botMessageReceived() {
+        botMessages.increment();
+    }
+
+    void commandSent() {
+        commands.increment();
+    }
+
+    void clientTurnLatency(long nanos) {
+        clientTurnLatency.record(nanos);
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    void disconnected() {
+        disconnects.increment();
+    }
+
+    /**
+     * Records the outcome of one game and adds its server's metrics.
+     *
+     * @param metrics   The metrics of the game's server.
+     * @param completed Whether every bot saw the end of the game in time.
+     */
+    void gameFinished(ServerMetrics metrics, boolean completed) {
+        (completed ? gamesCompleted : gamesTimedOut).increment();
+        metrics.getTurnDurations().values().forEach(serverTurnDuration::add);
+        serverCommandProcessing.add(metrics.getCommandProcessing());
+        serverCommandWait.add(metrics.getCommandWait());
+        metrics.getMessageCounts().values().forEach(serverMessages::add);
+        serverBytesSent.add(metrics.getBytesSent());
+    }
+
+    void stageFinished(long nanos) {
+        elapsedNanos = nanos;
+    }
+
+    long getGamesCompleted() {
+        return gamesCompleted.sum();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    Histogram getClientTurnLatency() {
+        return clientTurnLatency;
+    }
+
+    /**
+     * Formats the stage results for the console.
+     *
+     * @return A multi-line report.
+     */
+    String report() {
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        long commandCount = commands.sum();
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("== %d parties x %d joueurs (%d clients) en %.1f s: %d terminées, %d expirées%n",
+                games, players, games * players, seconds, gamesCompleted.sum(), gamesTimedOut.sum()));
+        out.append(String.format("   Débit serveur: %.0f msg/s reçus, %.0f Ko/s envoyés; bots: %.0f msg/s reçus%n",
+                serverMessages.sum() / seconds, serverBytesSent.sum() / 1024.0 / seconds, botMessages.sum() / seconds));
+        out.append(String.format("   Erreurs: %d (%.2f%% des tours), déconnexions: %d%n",
+                errors.sum(), commandCount == 0 ? 0.0 : 100.0 * errors.sum() / commandCount, disconnects.sum()));
+        appendLatency(out, "Tour vu par le client ", clientTurnLatency);
+        appendLatency(out, "Tour côté serveur     ", serverTurnDuration);
+        appendLatency(out, "Traitement commande   ", serverCommandProcessing);
+        appendLatency(out, "Attente verrou        ", serverCommandWait);
+        return out.toString();
+    }
+
+    private static void appendLatency(StringBuilder out, String label, Histogram histogram) {
+        out.append("   ").append(label).append(" n=").append(histogram.getCount());
+        if (histogram.getCount() > 0) {
+            out.append(String.format(" p50=%.2f ms p99=%.2f ms p99.9=%.2f ms max=%.2f ms",
+                    histogram.getPercentile(50) / 1e6, histogram.getPercentile(99) / 1e6,
+                    histogram.getPercentile(99.9) / 1e6, histogram.getMax() / 1e6));
+        }
+        out.append('\n');
+    }
+}
@@ -0,0 +1,145 @@
+package org.App.loadtest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.App.model.player.Difficulty;
+import org.App.network.GameServer;
+import org.App.network.ServerConfig;
+import org.App.network.WireFormat;
+
+/**
+ * Load generator: plays complete games between headless bots over TCP and
+ * reports latency, throughput and errors as the number of concurrent games
+ * ramps up.
+ * <p>
+ * Each game gets its own {@link GameServer} on a free local port, since a
+ * server hosts a single game. Bots speak the real protocol through
+ * {@link org.App.network.HeadlessClient} and play with the AI strategies; each
+ * runs on a virtual thread, so thousands fit in one JVM. A stage starts all of
+ * its games at once and ends when they are all over (or timed out).
+ * </p>
+ * Options, as {@code --key=value}:
+ * <ul>
+ * <li>{@code ramp}: concurrent games per stage (default {@code 1,10,50,100})</li>
+ * <li>{@code players}: players per game, 2 to 8 (default 4)</li>
+ * <li>{@code wire}: {@code text} or {@code binary} (default {@code binary})</li>
+ * <li>{@code difficulty}: {@code easy}, {@code medium} or {@code hard} (default {@code medium})</li>
+ * <li>{@code think-ms}: pause before each turn (default 0)</li>
+ * <li>{@code timeout-s}: time limit per stage (default 120)</li>
+ * </ul>
+ * Other options are passed to the servers' {@link ServerConfig}.
+ */
+public final class LoadTest {
+    private static final String HOST = "127.0.0.1";
+    private static final long JOIN_TIMEOUT_SECONDS = 10;
+
+    private int[] ramp = { 1, 10, 50, 100 };
+    private int players = 4;
+    private WireFormat wireFormat = WireFormat.BINARY;
+    private Difficulty difficulty = Difficulty.MEDIUM;
+    private long thinkMillis = 0;
+    private long timeoutSeconds = 120;
+    private final ServerConfig serverConfig = ServerConfig.fromSystemProperties();
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTest test = new LoadTest();
+        for (String arg : args) {
+            try {
+                test.applyArgument(arg);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Option ignorée " + arg + ": " + e.getMessage());
+            }
+        }
+        for (int games : test.ramp) {
+            System.out.print(test.runStage(games).report());
+        }
+        System.exit(0);
+    }
+
+    void applyArgument(String arg) {
+        int eq = arg.indexOf('=');
+        if (!arg.startsWith("--") || eq < 0) {
+            throw new IllegalArgumentException("expected --key=value");
+        }
+        String key = arg.substring(2, eq);
+        String value = arg.substring(eq + 1);
+        switch (key) {
+            case "ramp" -> ramp = parseRamp(value);
+            case "players" -> players = Math.clamp(Integer.parseInt(value), 2, 8);
+            case "wire" -> wireFormat = WireFormat.fromName(value);
+            case "difficulty" -> difficulty = Difficulty.valueOf(value.toUpperCase());
+            case "think-ms" -> thinkMillis = Long.parseLong(value);
+            case "timeout-s" -> timeoutSeconds = Long.parseLong(value);
+            default -> serverConfig.applyArgument(arg);
+        }
+    }
+
+    private static int[] parseRamp(String value) {
+        String[] steps = value.split(",");
+        int[] games = new int[steps.length];
+        for (int i = 0; i < steps.length; i++) {
+            games[i] = Integer.parseInt(steps[i].trim());
+        }
+        return games;
+    }
+
+    /**
+     * Plays {@code games} games at once.
+     *
+     * @return What the stage observed.
+     */
+    LoadStats runStage(int games) throws InterruptedException {
+        LoadStats stats = new LoadStats(games, players);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        long start = System.nanoTime();
+        List<Thread> threads = new ArrayList<>(games);
+        for (int g = 0; g < games; g++) {
+            int game = g;
+            threads.add(Thread.ofVirtual().name("skyjo-load-game-" + g).start(() -> runGame(game, stats, deadline)));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        stats.stageFinished(System.nanoTime() - start);
+        return stats;
+    }
+
+    private void runGame(int game, LoadStats stats, long deadline) {
+        GameServer server = new GameServer(0, serverConfig);
+        server.start();
+        CountDownLatch joined = new CountDownLatch(players);
+        List<BotClient> bots = new ArrayList<>(players);
+        boolean completed = false;
+        try {
+            for (int p = 0; p < players; p++) {
+                BotClient bot = new BotClient("bot-" + game + "-" + p, difficulty, stats, thinkMillis, joined);
+                bots.add(bot);
+                bot.connect(HOST, server.getLocalPort(), wireFormat);
+            }
+            if (!joined.await(JOIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                stats.error();
+                return;
+            }
+            server.startGame();
+            completed = true;
+            for (BotClient bot : bots) {
+                long remaining = deadline - System.nanoTime();
+                completed &= bot.awaitDone(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            }
+        } catch (IOException e) {
+            stats.error();
+            completed = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            completed = false;
+        } finally {
+            bots.forEach(BotClient::close);
+            server.stop();
+            stats.gameFinished(server.getMetrics(), completed);
+        }
+    }
+}
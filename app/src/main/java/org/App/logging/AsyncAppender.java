@@ -0,0 +1,247 @@
+package org.App.logging;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous appender backed by a bounded multi-producer ring buffer.
+ * <p>
+ * Logging threads only claim a slot and store the unformatted event; message
+ * formatting and all file I/O happen on a single background thread. When the
+ * ring is full, new events are dropped and counted rather than blocking the
+ * caller, so logging can never stall a game or network thread.
+ * </p>
+ * Events at or above the console level are also echoed to standard error,
+ * from the background thread.
+ */
+public final class AsyncAppender {
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    // An idle consumer is woken by the next append; the timeout is only a backstop
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    // While events keep coming, the file is still flushed at this interval
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    /** An unformatted log event, as stored in the ring. */
+    private record Event(long timestamp, Level level, String logger, String thread,
+            String template, Object[] args, Throwable error) {
+    }
+
+    private final Event[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // consumer thread only
+    private final LongAdder dropped = new LongAdder();
+
+    private final Writer file;
+    private final Level consoleLevel;
+    private final Thread consumer;
+    private volatile boolean running = true;
+    private volatile boolean idle; // the consumer is parked, or about to be, on an empty ring
+
+    /**
+     * Creates and starts an appender.
+     *
+     * @param capacity     The ring capacity, rounded up to a power of two.
+     * @param path         The log file, or null to log to the console only.
+     * @param consoleLevel Minimum level echoed to standard error.
+     */
+    public AsyncAppender(int capacity, Path path, Level consoleLevel) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new Event[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.file = openFile(path);
+        this.consoleLevel = consoleLevel;
+        this.consumer = new Thread(this::consume, "skyjo-log-writer");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    private static Writer openFile(Path path) {
+        if (path == null) {
+            return null;
+        }
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            return new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024);
+        } catch (IOException e) {
+            System.err.println("Cannot open log file " + path + ", logging to console only: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Enqueues an event without blocking.
+     *
+     * @return false if the ring was full and the event was dropped.
+     */
+    boolean append(Level level, String logger, String template, Object[] args, Throwable error) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = new Event(System.currentTimeMillis(), level, logger,
+                            Thread.currentThread().getName(), template, args, error);
+                    // A full store: it must be visible before idle is read, or the wake-up could be lost
+                    sequences.set(index, position + 1);
+                    if (idle) {
+                        LockSupport.unpark(consumer);
+                    }
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                dropped.increment();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /** Returns the number of events dropped because the ring was full. */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Stops the background thread after it has written every pending event.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(2_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void consume() {
+        StringBuilder line = new StringBuilder(256);
+        long reportedDrops = 0;
+        long flushedNanos = System.nanoTime();
+        while (true) {
+            Event event = poll();
+            if (event == null) {
+                long drops = dropped.sum();
+                if (drops > reportedDrops) {
+                    write(Level.WARN, "[log] " + (drops - reportedDrops) + " events dropped, ring buffer full");
+                    reportedDrops = drops;
+                }
+                flush();
+                flushedNanos = System.nanoTime();
+                if (!running) {
+                    return;
+                }
+                idle = true;
+                // An event appended before idle was set did not unpark us: check once more
+                if (!hasPending() && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+
+            line.setLength(0);
+            TIMESTAMP.formatTo(Instant.ofEpochMilli(event.timestamp()), line);
+            line.append(' ').append(String.format("%-5s", event.level()))
+                    .append(" [").append(event.thread()).append("] ")
+                    .append(event.logger()).append(" - ");
+            format(line, event.template(), event.args());
+            write(event.level(), line.toString());
+            if (event.error() != null) {
+                writeStackTrace(event.level(), event.error());
+            }
+            if (System.nanoTime() - flushedNanos >= FLUSH_INTERVAL_NANOS) {
+                flush();
+                flushedNanos = System.nanoTime();
+            }
+        }
+    }
+
+    private boolean hasPending() {
+        return sequences.get((int) (head & mask)) == head + 1;
+    }
+
+    private Event poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        Event event = slots[index];
+        slots[index] = null;
+        sequences.lazySet(index, head + slots.length);
+        head++;
+        return event;
+    }
+
+    /** Substitutes {@code {}} placeholders with the arguments, in order. */
+    static void format(StringBuilder out, String template, Object[] args) {
+        int argIndex = 0;
+        int start = 0;
+        int marker;
+        while (args != null && argIndex < args.length && (marker = template.indexOf("{}", start)) >= 0) {
+            out.append(template, start, marker).append(args[argIndex++]);
+            start = marker + 2;
+        }
+        out.append(template, start, template.length());
+    }
+
+    private void write(Level level, String text) {
+        if (file != null) {
+            try {
+                file.write(text);
+                file.write(System.lineSeparator());
+            } catch (IOException e) {
+                // Nothing sensible to do: the log itself is failing
+            }
+        }
+        if (level.compareTo(consoleLevel) >= 0 || file == null) {
+            System.err.println(text);
+        }
+    }
+
+    private void writeStackTrace(Level level, Throwable error) {
+        if (file != null) {
+            error.printStackTrace(new PrintWriter(file));
+        }
+        if (level.compareTo(consoleLevel) >= 0 || file == null) {
+            error.printStackTrace();
+        }
+    }
+
+    private void flush() {
+        if (file != null) {
+            try {
+                file.flush();
+            } catch (IOException e) {
+                // Ignore: see write()
+            }
+        }
+    }
+}
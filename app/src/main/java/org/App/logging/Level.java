@@ -0,0 +1,28 @@
+package org.App.logging;
+
+/**
+ * Severity levels, from the most verbose to the most severe.
+ *
+ * @see Logger
+ */
+public enum Level {
+    TRACE, DEBUG, INFO, WARN, ERROR, OFF;
+
+    /**
+     * Parses a level name, falling back to a default when the name is unknown.
+     *
+     * @param name     The level name (case-insensitive), may be null.
+     * @param fallback The level returned for null or unknown names.
+     * @return The parsed level.
+     */
+    public static Level fromName(String name, Level fallback) {
+        if (name == null) {
+            return fallback;
+        }
+        try {
+            return Level.valueOf(name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
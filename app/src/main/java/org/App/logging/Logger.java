@@ -0,0 +1,100 @@
+package org.App.logging;
+
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leveled logger writing through a shared {@link AsyncAppender}.
+ * <p>
+ * Messages use {@code {}} placeholders and are formatted on the appender
+ * thread, so a disabled or even an enabled log call costs the caller little
+ * more than an array allocation. A trailing {@link Throwable} argument is
+ * logged with its stack trace.
+ * </p>
+ * Configuration, read once from system properties:
+ * <ul>
+ * <li>{@code skyjo.log.level}: minimum level logged (default {@code INFO})</li>
+ * <li>{@code skyjo.log.file}: log file (default {@code logs/skyjo.log}, empty for console only)</li>
+ * <li>{@code skyjo.log.console}: minimum level echoed to standard error (default {@code WARN})</li>
+ * <li>{@code skyjo.log.payloads}: log full message payloads at {@code DEBUG} (default {@code false})</li>
+ * </ul>
+ */
+public final class Logger {
+    private static final Level LEVEL = Level.fromName(System.getProperty("skyjo.log.level"), Level.INFO);
+    private static final boolean PAYLOADS = Boolean.getBoolean("skyjo.log.payloads");
+    private static final ConcurrentHashMap<String, Logger> LOGGERS = new ConcurrentHashMap<>();
+
+    /** Lazily created so that merely loading the class does not start a thread. */
+    private static final class AppenderHolder {
+        static final AsyncAppender APPENDER = create();
+
+        private static AsyncAppender create() {
+            String file = System.getProperty("skyjo.log.file", "logs/skyjo.log");
+            AsyncAppender appender = new AsyncAppender(8192,
+                    file.isBlank() ? null : Path.of(file),
+                    Level.fromName(System.getProperty("skyjo.log.console"), Level.WARN));
+            Runtime.getRuntime().addShutdownHook(new Thread(appender::shutdown, "skyjo-log-shutdown"));
+            return appender;
+        }
+    }
+
+    private final String name;
+
+    private Logger(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the logger for a class.
+     *
+     * @param type The class that logs.
+     * @return The shared logger instance for that class.
+     */
+    public static Logger get(Class<?> type) {
+        return LOGGERS.computeIfAbsent(type.getSimpleName(), Logger::new);
+    }
+
+    public boolean isEnabled(Level level) {
+        return level.compareTo(LEVEL) >= 0 && level != Level.OFF;
+    }
+
+    /**
+     * Whether full message payloads (game state JSON, every line sent or
+     * received) should be logged. Off unless explicitly enabled, since it puts
+     * a log call on every message.
+     */
+    public boolean isPayloadEnabled() {
+        return PAYLOADS && isEnabled(Level.DEBUG);
+    }
+
+    public void trace(String template, Object... args) {
+        log(Level.TRACE, template, args);
+    }
+
+    public void debug(String template, Object... args) {
+        log(Level.DEBUG, template, args);
+    }
+
+    public void info(String template, Object... args) {
+        log(Level.INFO, template, args);
+    }
+
+    public void warn(String template, Object... args) {
+        log(Level.WARN, template, args);
+    }
+
+    public void error(String template, Object... args) {
+        log(Level.ERROR, template, args);
+    }
+
+    private void log(Level level, String template, Object[] args) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        Throwable error = null;
+        if (args.length > 0 && args[args.length - 1] instanceof Throwable t) {
+            error = t;
+        }
+        AppenderHolder.APPENDER.append(level, name, template, args, error);
+    }
+}
@@ -42,7 +42,8 @@ public final class SkyjoGame implements Serializable {
     private List<Card> pick;
     private final List<Card> discard;
     private int indexActualPlayer = 0;
-    private final Random random = new Random();
+    private final long seed;
+    private final Random random;
 
     private Card pickedCard;
     private boolean hasDiscard;
@@ -57,6 +58,8 @@ public final class SkyjoGame implements Serializable {
      * Used for serialization purposes.
      */
     public SkyjoGame() {
+        this.seed = 0;
+        this.random = new Random();
         this.players = new ArrayList<>();
         this.pick = new ArrayList<>();
         this.discard = new ArrayList<>();
@@ -68,13 +71,86 @@ public final class SkyjoGame implements Serializable {
      * @param players The list of players participating in the game.
      */
     public SkyjoGame(final List<Player> players) {
+        this(players, new Random().nextLong());
+    }
+
+    /**
+     * Constructs a new SkyjoGame whose shuffles and initial reveals are all
+     * drawn from the given seed: the same seed and the same moves always give
+     * the same game, which is what makes a recorded game replayable.
+     *
+     * @param players The list of players participating in the game.
+     * @param seed    The seed of the game's random generator.
+     */
+    public SkyjoGame(final List<Player> players, final long seed) {
+        this.seed = seed;
+        this.random = new Random(seed);
         this.players = List.copyOf(players);
         this.pick = createPick();
         this.discard = new ArrayList<>();
     }
 
+    /**
+     * Everything a game holds apart from its players' hands and scores, as
+     * returned by {@link #capture()}. Cards are immutable, so a capture only
+     * copies the piles, without touching the game.
+     *
+     * @param firstPlayerToRevealAllCards Index of that player, or -1.
+     */
+    public record State(long seed, List<Card> pick, List<Card> discard, Card pickedCard,
+            int indexActualPlayer, int startingPlayerIndex, boolean hasDiscard, int countReveal,
+            boolean hasPickedFromDiscard, int firstPlayerToRevealAllCards, boolean finalRound,
+            int finalRoundTurnsRemaining) {
+        public State {
+            pick = List.copyOf(pick);
+            discard = List.copyOf(discard);
+        }
+    }
+
+    /**
+     * Captures the state of the game, hands and scores excepted, which belong
+     * to the players.
+     *
+     * @return The state, independent of any later change to the game.
+     */
+    public State capture() {
+        final int firstToRevealAll = firstPlayerToRevealAllCards != null
+                ? players.indexOf(firstPlayerToRevealAllCards)
+                : -1;
+        return new State(seed, pick, discard, pickedCard, indexActualPlayer, startingPlayerIndex, hasDiscard,
+                countReveal, hasPickedFromDiscard, firstToRevealAll, isFinalRound, finalRoundTurnsRemaining);
+    }
+
+    /**
+     * Rebuilds a game from a captured state. The random generator restarts
+     * from the seed: a game in progress draws no more random numbers once
+     * dealt, so this only matters to a later {@link #startGame()}.
+     *
+     * @param players The players, in turn order, with their hands and scores already restored.
+     * @param state   The captured state.
+     * @return The game.
+     */
+    public static SkyjoGame restore(final List<Player> players, final State state) {
+        final SkyjoGame game = new SkyjoGame(players, state.seed());
+        game.pick = new ArrayList<>(state.pick());
+        game.discard.addAll(state.discard());
+        game.pickedCard = state.pickedCard();
+        game.indexActualPlayer = state.indexActualPlayer();
+        game.startingPlayerIndex = state.startingPlayerIndex();
+        game.hasDiscard = state.hasDiscard();
+        game.countReveal = state.countReveal();
+        game.hasPickedFromDiscard = state.hasPickedFromDiscard();
+        game.firstPlayerToRevealAllCards = state.firstPlayerToRevealAllCards() >= 0
+                ? game.players.get(state.firstPlayerToRevealAllCards())
+                : null;
+        game.isFinalRound = state.finalRound();
+        game.finalRoundTurnsRemaining = state.finalRoundTurnsRemaining();
+        return game;
+    }
+
     // ─── Getters ─────────────────────────────────────────────────────────
 
+    public long getSeed()               { return seed; }
     public int getStartingPlayerIndex() { return startingPlayerIndex; }
     public Card getPickedCard()         { return pickedCard; }
     public boolean hasDiscard()         { return hasDiscard; }
@@ -144,7 +220,7 @@ public final class SkyjoGame implements Serializable {
                             .mapToObj(i -> new Card(value, false, idHolder[0]++));
                 })
                 .collect(Collectors.toCollection(ArrayList::new));
-        Collections.shuffle(cards);
+        Collections.shuffle(cards, random);
         return cards;
     }
 
@@ -192,7 +268,7 @@ public final class SkyjoGame implements Serializable {
             return;
         }
         pick = new ArrayList<>(discard);
-        Collections.shuffle(pick);
+        Collections.shuffle(pick, random);
         discard.clear();
 
         if (!pick.isEmpty()) {
@@ -1,5 +1,6 @@
 package org.App.model.player;
 
+import org.App.jfr.AIDecisionEvent;
 import org.App.model.game.SkyjoGame;
 
 /**
@@ -72,6 +73,13 @@ public class AIPlayer extends AbstractPlayer {
      * @param game The current game instance.
      */
     public void playTurn(SkyjoGame game) {
+        AIDecisionEvent event = new AIDecisionEvent();
+        event.begin();
         strategy.playTurn(game, this);
+        if (event.shouldCommit()) {
+            event.player = getName();
+            event.strategy = strategy.getClass().getSimpleName();
+            event.commit();
+        }
     }
 }
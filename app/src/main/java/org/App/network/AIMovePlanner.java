@@ -0,0 +1,124 @@
+package org.App.network;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.App.model.game.Card;
+import org.App.model.game.SkyjoGame;
+import org.App.model.player.AIPlayer;
+import org.App.model.player.Difficulty;
+import org.App.model.player.HumanPlayer;
+import org.App.model.player.Player;
+
+/**
+ * Turns the decision of an {@link org.App.model.player.AIStrategy} into a
+ * {@link TurnAction} the server can validate, journal and replay.
+ * <p>
+ * Strategies play directly on a {@link SkyjoGame}. The planner gives them an
+ * exact copy of the game, taken under the server monitor, so the decision can
+ * run on the {@link AIPool} while the real game goes on being served; the AI
+ * decides exactly as it would in a local game. The move is read back from
+ * what the strategy changed in the copy: where the card came from and which
+ * slot was exchanged or revealed.
+ * </p>
+ */
+final class AIMovePlanner {
+
+    /**
+     * One turn of an AI seat.
+     *
+     * @param action    The action to play.
+     * @param cardIndex The slot exchanged or revealed, -1 for {@link TurnAction#SKIP}.
+     */
+    record Move(TurnAction action, int cardIndex) {
+    }
+
+    private final SkyjoGame copy;
+    private final AIPlayer ai;
+    private final List<Card> handBefore;
+    private final int pickBefore;
+    private final Move fallback;
+
+    /**
+     * Copies the game for a decision. Must be called under the server monitor.
+     *
+     * @param game       The game; its current player is the one to decide for.
+     * @param difficulty The strategy's difficulty.
+     */
+    AIMovePlanner(SkyjoGame game, Difficulty difficulty) {
+        Player current = game.getActualPlayer();
+        List<Player> players = new ArrayList<>(game.getPlayers().size());
+        AIPlayer self = null;
+        for (Player player : game.getPlayers()) {
+            Player copy = player == current
+                    ? new AIPlayer(player.getId(), player.getName(), difficulty)
+                    : new HumanPlayer(player.getId(), player.getName());
+            copy.getCartes().addAll(player.getCartes());
+            players.add(copy);
+            if (player == current) {
+                self = (AIPlayer) copy;
+            }
+        }
+        this.copy = SkyjoGame.restore(players, game.capture());
+        this.ai = self;
+        this.handBefore = List.copyOf(self.getCartes());
+        this.pickBefore = copy.getPickSize();
+        this.fallback = fallback(game);
+    }
+
+    /**
+     * Lets the strategy play on the copy. Runs on the compute pool.
+     *
+     * @return The move; the fallback when the strategy's move cannot be read back.
+     */
+    Move plan() {
+        ai.playTurn(copy);
+        List<Card> hand = ai.getCartes();
+        boolean fromDeck = copy.getPickSize() < pickBefore;
+        for (int i = 0; i < handBefore.size() && i < hand.size(); i++) {
+            Card was = handBefore.get(i);
+            Card now = hand.get(i);
+            if (now.id() != was.id()) {
+                return new Move(fromDeck ? TurnAction.PICK_EXCHANGE : TurnAction.TAKE_EXCHANGE, i);
+            }
+            if (now.faceVisible() != was.faceVisible() && fromDeck) {
+                return new Move(TurnAction.PICK_REVEAL, i);
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * A legal move whatever the strategy does: reveal a hidden card if there
+     * is one, otherwise exchange the first slot; skip the turn when both piles
+     * are empty. Played when the decision fails or is late.
+     */
+    Move fallback() {
+        return fallback;
+    }
+
+    /**
+     * Returns the fallback move of the current player, without copying the
+     * game. Must be called under the server monitor.
+     */
+    static Move fallback(SkyjoGame game) {
+        return fallback(game.getActualPlayer().getCartes(), game.getPickSize() > 0, game.getTopDiscard() != null);
+    }
+
+    private static Move fallback(List<Card> hand, boolean canPick, boolean canTakeDiscard) {
+        int hidden = -1;
+        for (int i = 0; i < hand.size(); i++) {
+            if (!hand.get(i).faceVisible()) {
+                hidden = i;
+                break;
+            }
+        }
+        if (canPick) {
+            return hidden >= 0 ? new Move(TurnAction.PICK_REVEAL, hidden) : new Move(TurnAction.PICK_EXCHANGE, 0);
+        }
+        if (canTakeDiscard) {
+            return new Move(TurnAction.TAKE_EXCHANGE, Math.max(hidden, 0));
+        }
+        return new Move(TurnAction.SKIP, -1);
+    }
+}
@@ -0,0 +1,109 @@
+package org.App.network;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.App.logging.Logger;
+import org.App.network.metrics.ServerMetrics;
+
+/**
+ * Bounded compute pool for the decisions of server-side AI seats.
+ * <p>
+ * Decisions run on a few dedicated threads, never on the connection threads
+ * nor under the server monitor, so a slow strategy delays its own seat and
+ * nothing else. Each decision has a deadline: past it, or when the pool's
+ * queue is full, the fallback move given with the decision is played
+ * instead. A late result is dropped; its thread is interrupted but a
+ * strategy is not required to notice.
+ * </p>
+ */
+final class AIPool {
+    private static final Logger LOG = Logger.get(AIPool.class);
+    // Decisions waiting for a thread; beyond this they are answered with their fallback
+    private static final int MAX_QUEUED = 256;
+
+    private final ThreadPoolExecutor executor;
+    private final TimerWheel timer;
+    private final long deadlineMillis;
+    private final ServerMetrics metrics;
+
+    /**
+     * @param threads        The number of compute threads.
+     * @param deadlineMillis The time a decision may take, queueing included.
+     * @param timer          Fires the deadlines.
+     * @param metrics        Records decision times and missed deadlines.
+     */
+    AIPool(int threads, long deadlineMillis, TimerWheel timer, ServerMetrics metrics) {
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED),
+                task -> Thread.ofPlatform().name("skyjo-ai-" + count.incrementAndGet()).daemon().unstarted(task));
+        this.timer = timer;
+        this.deadlineMillis = deadlineMillis;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Runs a decision. Exactly one of its result or the fallback is handed to
+     * {@code then}, on a thread of its own, which may take the server monitor.
+     *
+     * @param decision The decision; works on its own copy of the game.
+     * @param fallback The move to play if the decision fails or is late.
+     * @param then     Plays the move.
+     */
+    <T> void decide(Callable<T> decision, T fallback, Consumer<T> then) {
+        long submitted = System.nanoTime();
+        AtomicBoolean delivered = new AtomicBoolean();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                T move;
+                try {
+                    move = decision.call();
+                } catch (Exception e) {
+                    if (!delivered.compareAndSet(false, true)) {
+                        return; // cancelled at the deadline, which already played the fallback
+                    }
+                    LOG.warn("AI decision failed, fallback move played: {}", e.toString());
+                    metrics.aiDecided(System.nanoTime() - submitted);
+                    deliver(then, fallback);
+                    return;
+                }
+                if (delivered.compareAndSet(false, true)) {
+                    metrics.aiDecided(System.nanoTime() - submitted);
+                    deliver(then, move);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.warn("AI pool saturated, fallback move played");
+            delivered.set(true);
+            metrics.aiDeadlineMissed();
+            deliver(then, fallback);
+            return;
+        }
+        timer.schedule(() -> {
+            if (delivered.compareAndSet(false, true)) {
+                task.cancel(true);
+                metrics.aiDeadlineMissed();
+                LOG.warn("AI decision missed its {} ms deadline, fallback move played", deadlineMillis);
+                deliver(then, fallback);
+            }
+        }, deadlineMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static <T> void deliver(Consumer<T> then, T move) {
+        Thread.ofVirtual().name("skyjo-ai-move").start(() -> then.accept(move));
+    }
+
+    /** Stops the compute threads; pending decisions are dropped. */
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,50 +1,185 @@
 package org.App.network;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.net.ProtocolException;
 import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+import org.App.logging.Logger;
+import org.App.network.codec.Frame;
+import org.App.network.codec.FrameReader;
 
 public class ClientHandler implements Runnable {
+    private static final Logger LOG = Logger.get(ClientHandler.class);
+
     private Socket socket;
     private GameServer server;
-    private PrintWriter out;
-    private BufferedReader in;
+    private OutputStream out;
+    private FrameReader in;
     private String name;
-    private int id;
+    private volatile int id;
+    private volatile WireFormat wireFormat = WireFormat.TEXT;
+    private OutboundQueue outbound;
+
+    // Heartbeat: anything received counts as a sign of life, PONGs also measure the round trip
+    private final long heartbeatIntervalMillis;
+    private final long idleTimeoutNanos;
+    private TimerWheel timer;
+    private volatile TimerWheel.Timeout heartbeat;
+    private volatile long lastSeenNanos = System.nanoTime();
+    private volatile long rttNanos = -1;
+    private volatile boolean closed;
+
+    // Flood protection: checked on the listener thread, before a message reaches the server
+    private final RateLimiter limiter;
+    private final int maxDroppedMessages;
+    private int droppedMessages;
 
     public ClientHandler(Socket socket, GameServer server, String name) {
+        this(socket, server, name, new ServerConfig());
+    }
+
+    public ClientHandler(Socket socket, GameServer server, String name, ServerConfig config) {
         this.name = name;
         this.socket = socket;
         this.server = server;
         this.id = -1; // Assigned later by server via setId()
+        this.heartbeatIntervalMillis = config.getHeartbeatIntervalMillis();
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.getIdleTimeoutMillis());
+        this.limiter = new RateLimiter(config);
+        this.maxDroppedMessages = config.getMaxDroppedMessages();
         try {
-            out = new PrintWriter(socket.getOutputStream(), true);
-            in  = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            out = socket.getOutputStream(); // Unbuffered: the writer gathers what it drains into a single call
+            in  = new FrameReader(socket.getInputStream(), config.getMaxMessageBytes());
+            outbound = new OutboundQueue(name, out, this::getWireFormat, config, this::close,
+                    server.getMetrics()::bytesSent);
+            outbound.start();
         } catch(IOException e) {
-            System.err.println("Error setting up client handler: " + e.getMessage());
+            LOG.error("Error setting up client handler: {}", e.getMessage());
         }
     }
 
     public String getName() {
         return name;
     }
-    
+
     @Override
     public void run() {
-        String inputLine;
+        Frame frame;
         try {
-            while ((inputLine = in.readLine()) != null) {
-                server.onClientMessage(this, inputLine);
+            while ((frame = in.read()) != null) {
+                lastSeenNanos = System.nanoTime();
+                String[] parts = frame.parts();
+                // Heartbeats are answered here, without going through the game lock or the rate limits
+                if (Protocol.PONG.equals(parts[0])) {
+                    onPong(parts);
+                } else if (Protocol.PING.equals(parts[0])) {
+                    send(Protocol.PONG, -1, parts.length > 2 ? parts[2] : "");
+                } else if (limiter.tryAcquire(parts[0])) {
+                    server.onClientMessage(this, parts);
+                } else if (dropped()) {
+                    break;
+                }
             }
+        } catch (ProtocolException e) {
+            LOG.warn("Closing the connection to {}: {}", name, e.getMessage());
+            server.getMetrics().connectionFlooding();
         } catch(IOException e) {
-            System.err.println("Error reading from client: " + e.getMessage());
+            LOG.info("Connection to {} closed: {}", name, e.getMessage());
         } finally {
-            try {
-                socket.close();
-            } catch(IOException e) { }
+            close();
+            server.handleClientDisconnect(this);
+        }
+    }
+
+    /**
+     * Counts a message dropped by the rate limits, without a reply: answering
+     * a flood would only double it.
+     *
+     * @return true if the connection sent too many and must be closed.
+     */
+    private boolean dropped() {
+        server.getMetrics().messageDropped();
+        droppedMessages++;
+        if (maxDroppedMessages > 0 && droppedMessages >= maxDroppedMessages) {
+            LOG.warn("{} keeps exceeding its message rate, closing the connection", name);
+            server.getMetrics().connectionFlooding();
+            return true;
         }
+        return false;
+    }
+
+    /**
+     * Starts sending {@link Protocol#PING}s at the configured interval. A
+     * connection that sends nothing, not even a PONG, for the idle timeout is
+     * closed, which ends its read loop and removes it from the game.
+     *
+     * @param timer The server's timer.
+     */
+    public void startHeartbeat(TimerWheel timer) {
+        this.timer = timer;
+        heartbeat = timer.schedule(this::heartbeat, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the last measured heartbeat round trip time.
+     *
+     * @return The round trip in nanoseconds, or -1 before the first PONG.
+     */
+    public long getRttNanos() {
+        return rttNanos;
+    }
+
+    /** Runs on the timer thread: must not block. */
+    private void heartbeat() {
+        if (closed) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - lastSeenNanos > idleTimeoutNanos) {
+            LOG.info("No activity from {} for {} ms, closing the connection", name,
+                    TimeUnit.NANOSECONDS.toMillis(now - lastSeenNanos));
+            server.getMetrics().connectionReaped();
+            close();
+            return;
+        }
+        // The token is our own clock, echoed back: no per-connection bookkeeping
+        send(Protocol.PING, -1, Long.toString(now));
+        heartbeat = timer.schedule(this::heartbeat, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void onPong(String[] parts) {
+        if (parts.length < 3) {
+            return;
+        }
+        try {
+            long rtt = System.nanoTime() - Long.parseLong(parts[2]);
+            if (rtt >= 0 && rtt <= idleTimeoutNanos) {
+                rttNanos = rtt;
+                server.getMetrics().heartbeatRtt(rtt);
+            }
+        } catch (NumberFormatException e) {
+            // not one of our tokens
+        }
+    }
+
+    /**
+     * Closes the connection. Messages already queued are still attempted by the
+     * writer, which exits once the socket is gone.
+     */
+    public void close() {
+        closed = true;
+        TimerWheel.Timeout pending = heartbeat;
+        if (pending != null) {
+            pending.cancel();
+        }
+        if (outbound != null) {
+            outbound.close();
+        }
+        try {
+            socket.close();
+        } catch(IOException e) { }
     }
 
     public void setName(String name) {
@@ -58,14 +193,58 @@ public class ClientHandler implements Runnable {
     public void setId(int id) {
         this.id = id;
     }
-    
+
+    public WireFormat getWireFormat() {
+        return wireFormat;
+    }
+
+    /**
+     * Switches the outbound encoding. Inbound messages are accepted in either
+     * format regardless of this setting.
+     *
+     * @param wireFormat The format to use for subsequent messages.
+     */
+    public void setWireFormat(WireFormat wireFormat) {
+        this.wireFormat = wireFormat;
+    }
+
+    /**
+     * Sends a raw text-protocol message. Kept for callers that already hold a
+     * formatted line; binary connections get it re-encoded as a frame.
+     *
+     * @param message The formatted message.
+     */
     public void sendMessage(String message) {
-        System.out.println("SERVER SENDING TO " + name + ": " + message);
-        if (out != null) {
-            out.println(message);
-            out.flush(); // Important to flush!
-        } else {
-            System.err.println("Cannot send message to " + name + " - connection lost");
+        send(EncodedMessage.ofText(message));
+    }
+
+    /**
+     * Sends a message in this connection's wire format.
+     *
+     * @param type     The message type.
+     * @param playerId The player id, or -1.
+     * @param data     The message data.
+     */
+    public void send(String type, int playerId, String... data) {
+        send(EncodedMessage.of(type, playerId, data));
+    }
+
+    /**
+     * Queues a shared, pre-encoded message for this connection's writer.
+     * Never blocks on the network: the bytes are written by the writer thread,
+     * directly from the shared encoding.
+     *
+     * @param message The message to send.
+     * @return false if the connection is closed or was dropped as too slow.
+     */
+    public boolean send(EncodedMessage message) {
+        if (LOG.isPayloadEnabled()) {
+            LOG.debug("Sending to {}: {}", name, message);
+        }
+        if (outbound == null) {
+            LOG.warn("Cannot send message to {} - connection lost", name);
+            return false;
         }
+        return outbound.offer(message);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,244 @@
+package org.App.network;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.App.network.codec.BinaryCodec;
+import org.App.network.codec.ByteBufferPool;
+
+/**
+ * An outbound message that is encoded at most once per wire format and then
+ * shared by every recipient.
+ * <p>
+ * Encodings are produced lazily, the first time a recipient in that format
+ * needs them, and kept as private byte arrays that are written straight to
+ * each socket. A broadcast to N clients therefore costs one encoding per
+ * format in use plus N writes, instead of N encodings.
+ * </p>
+ */
+public final class EncodedMessage {
+
+    private final String type;
+    private final Supplier<byte[]> textSource; // the complete line, newline included
+    private final Supplier<byte[]> binarySource;
+    private final List<EncodedMessage> batched; // the messages of a BATCH, null otherwise
+    private final boolean carriesState;
+
+    private byte[] text;
+    private byte[] binary;
+    private EncodedMessage stripped; // withoutState() of a batch, shared by every queue
+    private boolean strippedKnown;
+
+    private EncodedMessage(String type, Supplier<byte[]> textSource, Supplier<byte[]> binarySource) {
+        this(type, textSource, binarySource, null);
+    }
+
+    private EncodedMessage(String type, Supplier<byte[]> textSource, Supplier<byte[]> binarySource,
+            List<EncodedMessage> batched) {
+        this.type = type;
+        this.textSource = textSource;
+        this.binarySource = binarySource;
+        this.batched = batched;
+        this.carriesState = batched == null
+                ? Protocol.GAME_STATE.equals(type)
+                : batched.stream().anyMatch(EncodedMessage::isCoalescable);
+    }
+
+    /**
+     * Creates a generic message.
+     *
+     * @param type     The message type.
+     * @param playerId The player id, or -1.
+     * @param data     The message data.
+     * @return The message.
+     */
+    public static EncodedMessage of(String type, int playerId, String... data) {
+        return new EncodedMessage(type,
+                () -> line(Protocol.formatMessage(type, playerId, data)),
+                () -> frame(BinaryCodec.encode(type, playerId, data)));
+    }
+
+    /**
+     * Creates a {@code STATE} message from encoders that read the live game.
+     * The caller must {@link #prepare} every format its recipients use while
+     * the game cannot change, since the writer threads encode lazily.
+     *
+     * @param textLine Produces the complete text line, newline included.
+     * @param binary   Produces the binary frame.
+     * @return The message.
+     */
+    public static EncodedMessage ofState(Supplier<byte[]> textLine, Supplier<ByteBuffer> binary) {
+        return new EncodedMessage(Protocol.GAME_STATE, textLine, () -> frame(binary.get()));
+    }
+
+    /**
+     * Wraps an already formatted text line. Binary recipients get it re-encoded.
+     *
+     * @param line The formatted text message.
+     * @return The message.
+     */
+    public static EncodedMessage ofText(String line) {
+        String[] parts = Protocol.parseMessage(line);
+        return new EncodedMessage(parts[0], () -> line(line), () -> {
+            String[] data = new String[Math.max(0, parts.length - 2)];
+            System.arraycopy(parts, 2, data, 0, data.length);
+            return frame(BinaryCodec.encode(parts[0], parts.length > 1 ? Integer.parseInt(parts[1]) : -1, data));
+        });
+    }
+
+    /**
+     * Creates a {@link Protocol#BATCH}: a header announcing how many messages
+     * follow, then the messages themselves, written to the socket in one go.
+     * Each message reuses its own encoding, so messages shared by several
+     * batches are still encoded only once.
+     *
+     * @param messages The messages, in delivery order.
+     * @return The batch.
+     */
+    public static EncodedMessage batch(List<EncodedMessage> messages) {
+        EncodedMessage header = of(Protocol.BATCH, -1, String.valueOf(messages.size()));
+        return new EncodedMessage(Protocol.BATCH,
+                () -> concat(header, messages, WireFormat.TEXT),
+                () -> concat(header, messages, WireFormat.BINARY),
+                List.copyOf(messages));
+    }
+
+    /** Copies a pooled frame into a private array and returns the buffer to the pool. */
+    private static byte[] frame(ByteBuffer frame) {
+        byte[] bytes = new byte[frame.remaining()];
+        frame.get(bytes);
+        ByteBufferPool.shared().release(frame);
+        return bytes;
+    }
+
+    private static byte[] line(String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        byte[] line = Arrays.copyOf(bytes, bytes.length + 1);
+        line[bytes.length] = '\n';
+        return line;
+    }
+
+    private static byte[] concat(EncodedMessage header, List<EncodedMessage> messages, WireFormat format) {
+        int size = header.size(format);
+        for (EncodedMessage message : messages) {
+            size += message.size(format);
+        }
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.put(header.bytes(format));
+        for (EncodedMessage message : messages) {
+            out.put(message.bytes(format));
+        }
+        return out.array();
+    }
+
+    /** Returns the message type. */
+    public String type() {
+        return type;
+    }
+
+    /**
+     * Whether a newer state makes this message, or part of it, obsolete while
+     * it is still queued. True for {@code STATE}, which is a full snapshot,
+     * and for a {@link Protocol#BATCH} that contains one.
+     */
+    public boolean isCoalescable() {
+        return carriesState;
+    }
+
+    /**
+     * Returns what is left of this message once its state is superseded: the
+     * other messages of a batch, in the same order. The stripped batch is
+     * built once, so every lagging recipient still writes the same bytes.
+     *
+     * @return The remaining message, or null if nothing but the state was sent.
+     */
+    public EncodedMessage withoutState() {
+        if (!carriesState) {
+            return this;
+        }
+        if (batched == null) {
+            return null;
+        }
+        synchronized (this) {
+            if (!strippedKnown) {
+                List<EncodedMessage> rest = batched.stream().filter(message -> !message.isCoalescable()).toList();
+                stripped = switch (rest.size()) {
+                    case 0 -> null;
+                    case 1 -> rest.get(0);
+                    default -> batch(rest);
+                };
+                strippedKnown = true;
+            }
+            return stripped;
+        }
+    }
+
+    /**
+     * Writes the encoding for the given format, encoding it first if no other
+     * recipient needed it yet. The shared bytes are written as-is.
+     *
+     * @param out    The destination stream.
+     * @param format The recipient's wire format.
+     * @throws IOException if the write fails.
+     */
+    public void writeTo(OutputStream out, WireFormat format) throws IOException {
+        out.write(bytes(format));
+    }
+
+    /**
+     * Copies the encoding for the given format into an array, encoding it
+     * first if no other recipient needed it yet.
+     *
+     * @param dest     The destination array, large enough for {@link #size}.
+     * @param position Where the copy starts.
+     * @param format   The recipient's wire format.
+     * @return The position right after the copy.
+     */
+    public int copyTo(byte[] dest, int position, WireFormat format) {
+        byte[] bytes = bytes(format);
+        System.arraycopy(bytes, 0, dest, position, bytes.length);
+        return position + bytes.length;
+    }
+
+    /**
+     * Returns the encoded size for the given format.
+     *
+     * @param format The wire format.
+     * @return The number of bytes written by {@link #writeTo}.
+     */
+    public int size(WireFormat format) {
+        return bytes(format).length;
+    }
+
+    /**
+     * Encodes the message for the given format now rather than on first write.
+     *
+     * @param format The wire format.
+     */
+    public void prepare(WireFormat format) {
+        bytes(format);
+    }
+
+    private synchronized byte[] bytes(WireFormat format) {
+        if (format == WireFormat.BINARY) {
+            if (binary == null) {
+                binary = binarySource.get();
+            }
+            return binary;
+        }
+        if (text == null) {
+            text = textSource.get();
+        }
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes(WireFormat.TEXT), 0, bytes(WireFormat.TEXT).length - 1, StandardCharsets.UTF_8);
+    }
+}
@@ -1,139 +1,327 @@
 package org.App.network;
 
-import java.io.BufferedReader;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.App.jfr.MessageDecodeEvent;
+import org.App.jfr.MessageReceivedEvent;
+import org.App.logging.Logger;
+import org.App.model.game.CardValue;
+import org.App.network.codec.BinaryCodec;
+import org.App.network.codec.ByteBufferPool;
+import org.App.network.codec.Frame;
+import org.App.network.codec.FrameReader;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import javafx.application.Platform;
 
 public class GameClient {
+    private static final Logger LOG = Logger.get(GameClient.class);
+
+    /** Wire format requested at JOIN; set {@code -Dskyjo.wire=text} to keep the readable format for debugging. */
+    private static final WireFormat PREFERRED_WIRE_FORMAT =
+            WireFormat.fromName(System.getProperty("skyjo.wire", WireFormat.BINARY.name()));
+
     private Socket socket;
-    private PrintWriter out;
-    private BufferedReader in;
+    private OutputStream out;
+    private FrameReader in;
     private Thread listenerThread;
     private NetworkEventListener listener;
+    private volatile WireFormat wireFormat = WireFormat.TEXT;
+
+    // Session resume: after a drop, reconnect and present the token received at JOIN
+    private static final int RESUME_ATTEMPTS = 6;
+    private static final long RESUME_FIRST_DELAY_MILLIS = 250;
+    private static final long RESUME_MAX_DELAY_MILLIS = 4_000;
+    // The server joined first, then the standbys to fall back to; resumes start with the last one reached
+    private final List<InetSocketAddress> servers;
+    private volatile int currentServer;
+    private volatile String sessionToken;
+    private volatile boolean closing;
+    // Reconnections since the server last confirmed our session; reset by SESSION
+    private volatile int resumeAttempts;
 
-    // Jackson ObjectMapper for JSON serialization
-    private final com.fasterxml.jackson.databind.ObjectMapper objectMapper = new com.fasterxml.jackson.databind.ObjectMapper();
+    // Cached reader for the END results; game states go through GameStateReader
+    private static final ObjectReader RESULTS_READER = new ObjectMapper().reader();
     
     public GameClient(String host, int port) {
+        this.servers = new ArrayList<>();
+        servers.add(InetSocketAddress.createUnresolved(host, port));
+        servers.addAll(fallbackServers());
         try {
-            socket = new Socket(host, port);
-            out    = new PrintWriter(socket.getOutputStream(), true);
-            in     = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            connect(servers.getFirst());
             startListening();
         } catch (IOException e) {
-            System.err.println("Error connecting to server: " + e.getMessage());
+            LOG.error("Error connecting to server: {}", e.getMessage());
         }
     }
 
+    /**
+     * Standby servers to resume on when the server is unreachable, from
+     * {@code -Dskyjo.fallback=host:port,host:port}.
+     */
+    private static List<InetSocketAddress> fallbackServers() {
+        List<InetSocketAddress> fallbacks = new ArrayList<>();
+        for (String address : System.getProperty("skyjo.fallback", "").split(",")) {
+            int separator = address.lastIndexOf(':');
+            if (separator <= 0) {
+                continue;
+            }
+            try {
+                fallbacks.add(InetSocketAddress.createUnresolved(address.substring(0, separator).trim(),
+                        Integer.parseInt(address.substring(separator + 1).trim())));
+            } catch (IllegalArgumentException e) {
+                LOG.warn("Ignoring invalid fallback server {}", address);
+            }
+        }
+        return fallbacks;
+    }
+
+    private synchronized void connect(InetSocketAddress server) throws IOException {
+        socket = new Socket(server.getHostString(), server.getPort());
+        out    = new BufferedOutputStream(socket.getOutputStream());
+        in     = new FrameReader(socket.getInputStream());
+        wireFormat = WireFormat.TEXT; // until the server acknowledges our format again
+    }
+
     public void setListener(NetworkEventListener listener) {
         this.listener = listener;
     }
     
     private void startListening() {
         listenerThread = new Thread(() -> {
-            String message;
-            try {
-                while ((message = in.readLine()) != null) {
-                    System.out.println("CLIENT RECEIVED: " + message);  // Add this debug line
-                    String[] parts = Protocol.parseMessage(message);
-                    String type = parts[0];
-                    
-                    if (listener != null) {
-                        switch (type) {
-                            case Protocol.GAME_START:
-                                System.out.println("📱 CLIENT: La partie commence!");
-                                // Informer le listener que la partie commence
-                                if (listener != null) {
-                                    try {
-                                        Platform.runLater(() -> {
-                                            listener.onGameStarted();
-                                        });
-                                    } catch (Exception e) {
-                                        System.err.println("Error notifying game start: " + e.getMessage());
-                                    }
-                                }
-                                break;
-                            case Protocol.GAME_STATE:
-                                System.out.println("Received GAME_STATE message");  // Add this debug line
-                                try {
-                                    GameState updatedGame = deserializeGameState(parts[2]);
-                                    
-                                    // Au premier état de jeu, identifions notre ID en inspectant le tableau de joueurs
-                                    String localName = NetworkManager.getInstance().getLocalPlayerName();
-                                    int localId = NetworkManager.getInstance().getLocalPlayerId();
-                                    
-                                    // Si notre ID est encore incertain ou si plusieurs joueurs ont le même nom
-                                    if (localId == -1 || needsIdVerification(updatedGame, localName, localId)) {
-                                        findOurIdInGameState(updatedGame, localName);
-                                    }
-                                    
-                                    listener.onGameStateUpdated(updatedGame);
-                                } catch (Exception e) {
-                                    System.err.println("Error processing game state: " + e);
-                                    e.printStackTrace();
-                                }
-                                break;
-                            case Protocol.PLAYER_TURN:
-                                int playerId = Integer.parseInt(parts[1]);
-                                listener.onPlayerTurnChanged(playerId);
-                                break;
-                            case Protocol.PLAYER_JOIN:
-                                String playerName = parts[2];
-                                int joinerId = Integer.parseInt(parts[1]);
-                                if (playerName.equals(NetworkManager.getInstance().getLocalPlayerName())) {
-                                    NetworkManager.getInstance().setLocalPlayerId(joinerId);
-                                    System.out.println("📱 CLIENT: Mon ID a été défini à " + joinerId + " (nom: " + playerName + ")");
-                                } else {
-                                    System.out.println("📱 CLIENT: Joueur " + playerName + " a rejoint avec ID " + joinerId);
-                                }
-                                listener.onPlayerJoined(playerName);
-                                break;
-                            case Protocol.GAME_END:
-                                if (parts.length > 2) {
-                                    try {
-                                        // Parse the results JSON
-                                        String resultsJson = parts[2];
-                                        com.fasterxml.jackson.databind.JsonNode root = objectMapper.readTree(resultsJson);
-                                        
-                                        // Get the winner
-                                        String winnerName = root.get("winner").asText();
-                                        
-                                        // Build the scores map
-                                        java.util.Map<String, Integer> scores = new java.util.HashMap<>();
-                                        com.fasterxml.jackson.databind.JsonNode ranking = root.get("ranking");
-                                        for (com.fasterxml.jackson.databind.JsonNode playerNode : ranking) {
-                                            String name = playerNode.get("name").asText();
-                                            int score = playerNode.get("score").asInt();
-                                            scores.put(name, score);
-                                        }
-                                        
-                                        listener.onGameEnd(winnerName, scores);
-                                    } catch (Exception e) {
-                                        System.err.println("Error processing game end: " + e);
-                                        e.printStackTrace();
-                                    }
-                                }
-                                break;
-                            default:
-                                System.out.println("Unhandled message type: " + type);
-                                break;
+            do {
+                Frame frame;
+                try {
+                    while ((frame = in.read()) != null) {
+                        if (Protocol.BATCH.equals(frame.type())) {
+                            dispatchBatch(frame);
+                        } else {
+                            dispatch(frame);
                         }
                     }
+                    LOG.info("Connection closed by the server");
+                } catch (IOException e) {
+                    LOG.warn("Listener error: {}", e.getMessage());
                 }
-            } catch (IOException e) {
-                System.err.println("Listener error: " + e.getMessage());
-                if (listener != null) {
-                    listener.onDisconnected();
-                }
+            } while (!closing && resume());
+            if (!closing && listener != null) {
+                listener.onDisconnected();
             }
         });
         listenerThread.start();
     }
 
+    /**
+     * Reconnects after a drop and asks for our seat back. The server answers
+     * with the messages we missed and a fresh snapshot of the game, which go
+     * through the normal dispatch. Each attempt tries the last server reached,
+     * then the others: a standby that took over holds our seat with the same
+     * token.
+     *
+     * @return false if there is no session to resume or the server stays unreachable.
+     */
+    private boolean resume() {
+        String token = sessionToken;
+        if (token == null) {
+            return false;
+        }
+        while (resumeAttempts < RESUME_ATTEMPTS && !closing) {
+            int attempt = ++resumeAttempts;
+            try {
+                Thread.sleep(Math.min(RESUME_FIRST_DELAY_MILLIS << (attempt - 1), RESUME_MAX_DELAY_MILLIS));
+                for (int i = 0; i < servers.size(); i++) {
+                    int index = (currentServer + i) % servers.size();
+                    try {
+                        connect(servers.get(index));
+                    } catch (IOException e) {
+                        LOG.info("Reconnection attempt {} to {} failed: {}", attempt, servers.get(index), e.getMessage());
+                        continue;
+                    }
+                    currentServer = index;
+                    sendMessage(Protocol.formatMessage(Protocol.RESUME, -1, token, PREFERRED_WIRE_FORMAT.name()));
+                    LOG.info("Reconnected to {}, resuming session (attempt {})", servers.get(index), attempt);
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the messages announced by a {@link Protocol#BATCH} header and
+     * dispatches them in order, before anything else is read from the socket.
+     */
+    private void dispatchBatch(Frame header) throws IOException {
+        int count = header.parts().length > 2 ? Integer.parseInt(header.parts()[2]) : 0;
+        for (int i = 0; i < count; i++) {
+            Frame frame = in.read();
+            if (frame == null) {
+                throw new EOFException("Connection closed inside a batch");
+            }
+            dispatch(frame);
+        }
+    }
+
+    private void dispatch(Frame frame) {
+        MessageReceivedEvent event = new MessageReceivedEvent();
+        event.begin();
+        handle(frame);
+        if (event.shouldCommit()) {
+            event.side = "client";
+            event.type = frame.type();
+            event.playerId = frame.parts().length > 1 ? parsePlayerId(frame.parts()[1]) : -1;
+            event.commit();
+        }
+    }
+
+    private static int parsePlayerId(String id) {
+        try {
+            return Integer.parseInt(id);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void handle(Frame frame) {
+        String[] parts = frame.parts();
+        String type = parts[0];
+        if (LOG.isPayloadEnabled()) {
+            LOG.debug("Received: {}", String.join("|", parts));
+        }
+
+        if (Protocol.PING.equals(type)) {
+            // Heartbeat: echo the server's token so it can measure the round trip
+            sendMessage(Protocol.formatMessage(Protocol.PONG, -1, parts.length > 2 ? parts[2] : ""));
+            return;
+        }
+
+        if (Protocol.SESSION.equals(type)) {
+            // Our seat's token: kept to resume after a dropped connection
+            sessionToken = parts.length > 2 ? parts[2] : null;
+            resumeAttempts = 0;
+            NetworkManager.getInstance().setLocalPlayerId(Integer.parseInt(parts[1]));
+            return;
+        }
+
+        if (resumeAttempts > 0 && Protocol.ERROR.equals(type)) {
+            // The seat was released: resuming again is pointless
+            LOG.warn("Session could not be resumed: {}", parts.length > 2 ? parts[2] : "");
+            sessionToken = null;
+            try { socket.close(); } catch(IOException e) { }
+            return;
+        }
+
+        if (Protocol.WIRE.equals(type)) {
+            // The server accepted our format: switch our outbound encoding too
+            wireFormat = WireFormat.fromName(parts.length > 2 ? parts[2] : null);
+            return;
+        }
+
+        if (listener != null) {
+            switch (type) {
+                case Protocol.GAME_START:
+                    LOG.info("La partie commence!");
+                    // Informer le listener que la partie commence
+                    if (listener != null) {
+                        try {
+                            Platform.runLater(() -> {
+                                listener.onGameStarted();
+                            });
+                        } catch (Exception e) {
+                            LOG.error("Error notifying game start", e);
+                        }
+                    }
+                    break;
+                case Protocol.GAME_STATE:
+                    try {
+                        GameState updatedGame = frame.state() != null
+                                ? frame.state()
+                                : deserializeGameState(parts[2]);
+                        
+                        // Au premier état de jeu, identifions notre ID en inspectant le tableau de joueurs
+                        String localName = NetworkManager.getInstance().getLocalPlayerName();
+                        int localId = NetworkManager.getInstance().getLocalPlayerId();
+                        
+                        // Si notre ID est encore incertain ou si plusieurs joueurs ont le même nom
+                        if (localId == -1 || needsIdVerification(updatedGame, localName, localId)) {
+                            findOurIdInGameState(updatedGame, localName);
+                        }
+                        
+                        listener.onGameStateUpdated(updatedGame);
+                    } catch (Exception e) {
+                        LOG.error("Error processing game state", e);
+                    }
+                    break;
+                case Protocol.PLAYER_TURN:
+                    int playerId = Integer.parseInt(parts[1]);
+                    listener.onPlayerTurnChanged(playerId);
+                    break;
+                case Protocol.ERROR:
+                    listener.onError(parts.length > 2 ? parts[2] : "");
+                    break;
+                case Protocol.HELD_CARD:
+                    if (parts.length > 2) {
+                        listener.onHeldCard(Integer.parseInt(parts[1]), CardValue.valueOf(parts[2]));
+                    }
+                    break;
+                case Protocol.PLAYER_JOIN:
+                    String playerName = parts[2];
+                    int joinerId = Integer.parseInt(parts[1]);
+                    if (playerName.equals(NetworkManager.getInstance().getLocalPlayerName())) {
+                        NetworkManager.getInstance().setLocalPlayerId(joinerId);
+                        LOG.info("Mon ID a été défini à {} (nom: {})", joinerId, playerName);
+                    } else {
+                        LOG.info("Joueur {} a rejoint avec ID {}", playerName, joinerId);
+                    }
+                    listener.onPlayerJoined(playerName);
+                    break;
+                case Protocol.GAME_END:
+                    if (parts.length > 2) {
+                        try {
+                            // Parse the results JSON
+                            String resultsJson = parts[2];
+                            JsonNode root = RESULTS_READER.readTree(resultsJson);
+                            
+                            // Get the winner
+                            String winnerName = root.get("winner").asText();
+                            
+                            // Build the scores map
+                            java.util.Map<String, Integer> scores = new java.util.HashMap<>();
+                            JsonNode ranking = root.get("ranking");
+                            for (JsonNode playerNode : ranking) {
+                                String name = playerNode.get("name").asText();
+                                int score = playerNode.get("score").asInt();
+                                scores.put(name, score);
+                            }
+                            
+                            listener.onGameEnd(winnerName, scores);
+                        } catch (Exception e) {
+                            LOG.error("Error processing game end", e);
+                        }
+                    }
+                    break;
+                default:
+                    LOG.debug("Unhandled message type: {}", type);
+                    break;
+            }
+        }
+    }
+
     public void setLocalPlayerName(String name) {
         
     }
@@ -141,24 +329,62 @@ public class GameClient {
 
     private GameState deserializeGameState(String jsonState) {
         try {
-            return objectMapper.readValue(jsonState, GameState.class);
+            // A fresh state per message: it is handed over to the FX thread
+            MessageDecodeEvent event = new MessageDecodeEvent();
+            event.begin();
+            GameState state = GameStateReader.read(jsonState);
+            if (event.shouldCommit()) {
+                event.type = Protocol.GAME_STATE;
+                event.format = "JSON";
+                event.bytes = jsonState.length();
+                event.commit();
+            }
+            return state;
         } catch (IOException e) {
-            System.err.println("Error deserializing game state: " + e.getMessage());
+            LOG.error("Error deserializing game state: {}", e.getMessage());
             return new GameState(); // Retourner un état vide en cas d'erreur
         }
     }
     
-    public void sendMessage(String message) {
-        System.out.println("CLIENT SENDING: " + message);
-        if (out != null) {
-            out.println(message);
+    /**
+     * Returns the wire format this client asks for when joining.
+     * The server confirms it with a {@link Protocol#WIRE} message.
+     */
+    public WireFormat getPreferredWireFormat() {
+        return PREFERRED_WIRE_FORMAT;
+    }
+
+    public synchronized void sendMessage(String message) {
+        if (LOG.isPayloadEnabled()) {
+            LOG.debug("Sending: {}", message);
+        }
+        if (out == null) {
+            LOG.warn("Cannot send message - not connected");
+            return;
+        }
+        try {
+            if (wireFormat == WireFormat.BINARY) {
+                String[] parts = Protocol.parseMessage(message);
+                String[] data = new String[Math.max(0, parts.length - 2)];
+                System.arraycopy(parts, 2, data, 0, data.length);
+                ByteBuffer frame = BinaryCodec.encode(parts[0], Integer.parseInt(parts[1]), data);
+                try {
+                    out.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+                } finally {
+                    ByteBufferPool.shared().release(frame);
+                }
+            } else {
+                out.write(message.getBytes(StandardCharsets.UTF_8));
+                out.write('\n');
+            }
             out.flush(); // Important to flush!
-        } else {
-            System.err.println("Cannot send message - not connected");
+        } catch (IOException e) {
+            LOG.warn("Error sending message: {}", e.getMessage());
         }
     }
     
     public void disconnect() {
+        closing = true;
         try { socket.close(); } catch(IOException e) { }
     }
     
@@ -169,6 +395,14 @@ public class GameClient {
         void onDisconnected();
         void onGameEnd(String winnerName, java.util.Map<String, Integer> scores);
         void onGameStarted();
+
+        /** The server revealed the card the local player is holding; nobody else receives it. */
+        default void onHeldCard(int playerId, CardValue value) {
+        }
+
+        /** The server refused one of our commands. */
+        default void onError(String message) {
+        }
     }
 
     /**
@@ -220,7 +454,7 @@ public class GameClient {
         
         // Si l'ID est valide, on le garde
         if (idFound) {
-            System.out.println("📱 CLIENT: ID vérifié et confirmé: " + currentId);
+            LOG.debug("ID vérifié et confirmé: {}", currentId);
             return;
         }
         
@@ -237,14 +471,14 @@ public class GameClient {
         
         if (sameNameCount == 1) {
             NetworkManager.getInstance().setLocalPlayerId(potentialId);
-            System.out.println("📱 CLIENT: ID trouvé par nom: " + potentialId);
+            LOG.info("ID trouvé par nom: {}", potentialId);
             return;
         }
         
         // Stratégie 3: Si plusieurs joueurs ont le même nom, on génère un avertissement
         if (sameNameCount > 1) {
-            System.err.println("⚠️ ATTENTION: Plusieurs joueurs (" + sameNameCount + 
-                               ") ont le même nom '" + localName + "'. Impossible de déterminer avec certitude l'ID.");
+            LOG.warn("Plusieurs joueurs ({}) ont le même nom '{}'. Impossible de déterminer avec certitude l'ID.",
+                    sameNameCount, localName);
         }
     }
 }
\ No newline at end of file
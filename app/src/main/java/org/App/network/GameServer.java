@@ -1,53 +1,248 @@
 package org.App.network;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 
+import org.App.jfr.BroadcastEvent;
+import org.App.jfr.GameActionEvent;
+import org.App.jfr.MessageReceivedEvent;
+import org.App.jfr.StateSerializeEvent;
+import org.App.logging.Logger;
 import org.App.model.game.Card;
+import org.App.model.game.InvalidMoveException;
 import org.App.model.game.SkyjoGame;
+import org.App.model.player.AIPlayer;
+import org.App.model.player.Difficulty;
 import org.App.model.player.HumanPlayer;
 import org.App.model.player.Player;
-
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.App.network.codec.BinaryCodec;
+import org.App.network.journal.Journal;
+import org.App.network.journal.JournalEvent;
+import org.App.network.journal.ReplicationFollower;
+import org.App.network.journal.ReplicationPublisher;
+import org.App.network.journal.RoomRecovery;
+import org.App.network.journal.RoomSnapshot;
+import org.App.network.journal.SnapshotWriter;
+import org.App.network.metrics.ServerMetrics;
 
 public class GameServer {
+    private static final Logger LOG = Logger.get(GameServer.class);
+
     private ServerSocket serverSocket;
+    private final ServerConfig config;
     private final List<ClientHandler> clients = new CopyOnWriteArrayList<>(); // Thread-safe list
     private SkyjoGame game;
-    private boolean gameStarted = false;
+    private volatile boolean gameStarted = false;
     private boolean isRunning = true;
     private int playerIdCounter = 0;
 
-    // Jackson ObjectMapper for JSON serialization
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Incremented on every broadcast state change; the encoded state is cached per version
+    private long stateVersion = 0;
+    private EncodedMessage stateMessage;
+    private long stateMessageVersion = -1;
+
+    // Messages of the command being handled, sent as one batch per client when it completes
+    private OutboundBatch batch;
+
+    // Name of the single game this server hosts, as reported in the metrics
+    private static final String ROOM_NAME = "main";
+    private long turnStartedNanos;
+    private final ServerMetrics metrics = new ServerMetrics(clients::size, () -> gameStarted ? 1 : 0);
+
+    // Seats by token, and by player id for the connected and held ones
+    private final Map<String, Session> sessionsByToken = new HashMap<>();
+    private final Map<Integer, Session> sessionsById = new HashMap<>();
+
+    // Seats played by the server, by player id, in the order they were added
+    private final Map<Integer, AISeat> aiSeats = new LinkedHashMap<>();
+    // Journaled in place of a session token for AI seats, which nobody can resume
+    private static final String AI_TOKEN_PREFIX = "ai:";
+    private final AIPool aiPool;
+
+    // Incremented on every turn, so that a timer or decision arriving after its turn ended is dropped
+    private long turnNumber;
+    // The current turn's time limit, on the server's timer wheel; null for AI seats or without a limit
+    private TimerWheel.Timeout turnTimeout;
+    // Whether the current player already discarded their drawn card and must reveal one
+    private boolean discardedThisTurn;
+    // Set when the current player ran out of time: the server plays for them and ignores their commands
+    private boolean turnTimedOut;
+
+    private record AISeat(int id, String name, Difficulty difficulty) {
+    }
+
+    // Quick-play queue; the matcher fills the room whenever it is free
+    private final Matchmaker<QuickPlayer> matchmaker;
+    // Connections in the queue, so that nobody queues twice; safe without the monitor
+    private final Set<ClientHandler> queued = ConcurrentHashMap.newKeySet();
+    // Whether the players of the current game were seated by the matcher, and leave the room when it ends
+    private boolean matchedRoom;
+
+    private record QuickPlayer(ClientHandler client, String name, WireFormat format) {
+    }
+
+    // Every accepted command, to replay games after a crash; null when disabled
+    private final Journal journal;
+
+    // Copies of the game in progress, written in the background so a recovery replays only a short tail
+    private final SnapshotWriter snapshots;
+    private int eventsSinceSnapshot;
+
+    // Streams the journal events to standby servers; null unless replication is enabled
+    private final ReplicationPublisher replication;
+    // On a standby, follows the primary until it is gone; null otherwise
+    private ReplicationFollower primary;
+
+    // Read-only viewers, served by their own thread so they never slow the players down
+    private final SpectatorFeed spectators;
+
+    // Heartbeats of every connection; tasks only queue messages or close sockets
+    private final TimerWheel timer = new TimerWheel("skyjo-timer", 100, TimeUnit.MILLISECONDS, 512);
+
+    // Streams the JSON state into a reused buffer; only used under the server monitor
+    private final GameStateWriter stateWriter = new GameStateWriter();
+
+    // An idle game is written to this file and dropped from the heap until the next command; null when awake
+    private volatile Path hibernated;
+    private long lastActivityNanos = System.nanoTime();
 
     public GameServer(int port) {
+        this(port, ServerConfig.fromSystemProperties());
+    }
+
+    public GameServer(int port, ServerConfig config) {
+        this.config = config;
+        this.spectators = new SpectatorFeed(config);
+        this.journal = openJournal(config);
+        this.snapshots = journal != null && config.getSnapshotEvery() > 0
+                ? new SnapshotWriter(journal.getDirectory(), ROOM_NAME)
+                : null;
+        this.replication = openReplication(config);
+        this.aiPool = new AIPool(config.getAiThreads(), config.getAiDeadlineMillis(), timer, metrics);
+        this.matchmaker = new Matchmaker<>(config.getMatchmakingIntervalMillis(),
+                player -> queued.contains(player.client()), this::formRoom);
+        if (config.getHibernateAfterMillis() > 0) {
+            scheduleIdleCheck();
+        }
         try {
             serverSocket = new ServerSocket(port);
-            System.out.println("Game server started on port " + port);
+            LOG.info("Game server started on port {}", port);
+        } catch (IOException e) {
+            LOG.error("Cannot start server: {}", e.getMessage());
+        }
+    }
+
+    private static Journal openJournal(ServerConfig config) {
+        if (config.getJournalDirectory().isEmpty()) {
+            return null;
+        }
+        try {
+            Journal journal = new Journal(Path.of(config.getJournalDirectory()),
+                    config.getJournalSegmentBytes(), config.getJournalSyncMillis());
+            LOG.info("Journal in {}", journal.getDirectory());
+            return journal;
+        } catch (IOException e) {
+            LOG.error("Cannot open the journal, games will not be recorded: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private ReplicationPublisher openReplication(ServerConfig config) {
+        if (config.getReplicationPort() < 0) {
+            return null;
+        }
+        try {
+            ReplicationPublisher publisher = new ReplicationPublisher(config.getReplicationPort(), this, () -> {
+                wake();
+                return captureRoom();
+            });
+            LOG.info("Replication to standby servers on port {}", publisher.getLocalPort());
+            return publisher;
         } catch (IOException e) {
-            System.err.println("Cannot start server: " + e.getMessage());
+            LOG.error("Cannot open the replication port, no standby can follow: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /** Returns the port actually bound, useful when constructed with port 0. */
+    public int getLocalPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /** Returns the replication port actually bound, or -1 without replication. */
+    public int getReplicationPort() {
+        return replication != null ? replication.getLocalPort() : -1;
+    }
+
+    /** Returns the number of standby servers currently following this one. */
+    public int getStandbyCount() {
+        return replication != null ? replication.followerCount() : 0;
+    }
+
+    /**
+     * Starts serving. A standby ({@link ServerConfig#getStandbyOf()}) only
+     * follows its primary: it starts accepting players when it takes over.
+     */
+    public synchronized void start() {
+        if (replication != null) {
+            replication.start();
+        }
+        String standbyOf = config.getStandbyOf();
+        if (!standbyOf.isEmpty()) {
+            int separator = standbyOf.lastIndexOf(':');
+            InetSocketAddress address = new InetSocketAddress(standbyOf.substring(0, separator),
+                    Integer.parseInt(standbyOf.substring(separator + 1)));
+            primary = new ReplicationFollower(address, config.getStandbyTimeoutMillis(), this::takeOver);
+            LOG.info("Standing by for {}", standbyOf);
+            return;
         }
+        acceptConnections();
     }
 
-    public void start() {
+    /**
+     * Runs on a standby when its primary is gone: the replicated game becomes
+     * this server's, with its seats held for the players to resume, and
+     * connections are accepted from now on. Those that arrived meanwhile
+     * waited in the listen backlog.
+     */
+    private synchronized void takeOver(RoomRecovery.Recovered recovered) {
+        if (!isRunning) {
+            return;
+        }
+        primary = null;
+        adopt(recovered);
+        LOG.info("Took over from the primary{}", gameStarted ? ", game in progress restored" : "");
+        acceptConnections();
+    }
+
+    private void acceptConnections() {
+        matchmaker.start();
         new Thread(() -> {
             while (isRunning && !serverSocket.isClosed()) {
                 try {
                     Socket clientSocket = serverSocket.accept();
                     String name = "Player" + (clients.size() + 1); // Nom par défaut
-                    ClientHandler handler = new ClientHandler(clientSocket, this, name);
+                    ClientHandler handler = new ClientHandler(clientSocket, this, name, config);
+                    handler.startHeartbeat(timer);
                     new Thread(handler).start();
-                    System.out.println("New client connected: " + name);
+                    LOG.info("New client connected: {}", name);
                 } catch (IOException e) {
                     if (isRunning) {
-                        System.err.println("Error accepting client: " + e.getMessage());
+                        LOG.warn("Error accepting client: {}", e.getMessage());
                     }
                 }
             }
@@ -56,14 +251,19 @@ public class GameServer {
 
     public synchronized void stop() {
         isRunning = false;
+        timer.stop();
+        aiPool.shutdown();
+        matchmaker.close();
+        spectators.close();
         try {
             // Notify all clients that server is shutting down
-            broadcast(Protocol.formatMessage(Protocol.ERROR, -1, "Server shutting down"));
+            broadcast(Protocol.ERROR, -1, "Server shutting down");
             
             // Close all client connections
             for (ClientHandler client : clients) {
                 try {
-                    client.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Server closed"));
+                    client.send(Protocol.ERROR, -1, "Server closed");
+                    client.close();
                 } catch (Exception e) {
                     // Ignore errors during shutdown
                 }
@@ -75,16 +275,327 @@ public class GameServer {
             // Close server socket
             if (serverSocket != null && !serverSocket.isClosed()) {
                 serverSocket.close();
-                System.out.println("Server socket closed successfully");
+                LOG.info("Server socket closed successfully");
+            }
+        } catch (IOException e) {
+            LOG.error("Error stopping server: {}", e.getMessage());
+        }
+        if (primary != null) {
+            primary.close();
+        }
+        if (replication != null) {
+            replication.close();
+        }
+        if (snapshots != null) {
+            snapshots.close();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+        if (hibernated != null) {
+            deleteQuietly(hibernated);
+        }
+    }
+
+    /** Checks for an idle game a few times per hibernation delay; the check itself runs off the timer thread. */
+    private void scheduleIdleCheck() {
+        long interval = Math.max(1, config.getHibernateAfterMillis() / 4);
+        timer.schedule(() -> Thread.ofVirtual().name("skyjo-hibernate").start(() -> {
+            if (checkIdle()) {
+                scheduleIdleCheck();
+            }
+        }), interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Lets go of an idle game. A finished one is simply dropped; one in
+     * progress is copied under the monitor, written to a temporary file
+     * outside of it, and only dropped if nothing happened in the meantime. It
+     * is read back before the next command is handled.
+     *
+     * @return false once the server is stopped.
+     */
+    private boolean checkIdle() {
+        RoomSnapshot room;
+        SkyjoGame idleGame;
+        long idleSince;
+        synchronized (this) {
+            if (!isRunning) {
+                return false;
+            }
+            long idle = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastActivityNanos);
+            if (game == null || hibernated != null || idle < config.getHibernateAfterMillis()) {
+                return true;
+            }
+            if (!gameStarted) {
+                game = null;
+                stateMessage = null;
+                return true;
+            }
+            room = captureRoom();
+            idleGame = game;
+            idleSince = lastActivityNanos;
+        }
+        Path file;
+        try {
+            Path directory = config.getHibernateDirectory().isEmpty()
+                    ? Path.of(System.getProperty("java.io.tmpdir"))
+                    : Files.createDirectories(Path.of(config.getHibernateDirectory()));
+            file = Files.createTempFile(directory, "skyjo-room-", ".hibernated");
+            room.write(file);
+        } catch (IOException e) {
+            LOG.warn("Cannot hibernate the idle game, kept in memory: {}", e.getMessage());
+            return true;
+        }
+        if (hibernate(file, idleGame, idleSince)) {
+            LOG.info("Game idle, hibernated to {}", file);
+        } else {
+            deleteQuietly(file); // the game moved on while it was written
+        }
+        return true;
+    }
+
+    /** Drops the game from the heap if it is still the one written to the file, untouched since. */
+    private synchronized boolean hibernate(Path file, SkyjoGame idleGame, long idleSince) {
+        if (!isRunning || game != idleGame || lastActivityNanos != idleSince) {
+            return false;
+        }
+        hibernated = file;
+        game = null;
+        stateMessage = null;
+        return true;
+    }
+
+    /**
+     * Reads back a hibernated game before the monitor is taken, so that a
+     * command waking the game up does not hold up the others while it reads
+     * the file. A failed read is left to {@link #wake()}, which reports it.
+     */
+    private void wakeAhead() {
+        Path file = hibernated;
+        if (file == null) {
+            return;
+        }
+        RoomSnapshot room;
+        try {
+            room = RoomSnapshot.read(file);
+        } catch (IOException e) {
+            return;
+        }
+        if (room == null) {
+            return;
+        }
+        synchronized (this) {
+            if (hibernated != file) {
+                return; // woken up by another command
+            }
+            hibernated = null;
+            game = room.restore();
+        }
+        LOG.info("Hibernated game woken up");
+        deleteQuietly(file);
+    }
+
+    /** Reads back a hibernated game, if any, when {@link #wakeAhead()} could not. */
+    private void wake() {
+        if (hibernated == null) {
+            return;
+        }
+        Path file = hibernated;
+        hibernated = null;
+        try {
+            RoomSnapshot room = RoomSnapshot.read(file);
+            if (room == null) {
+                throw new IOException("File missing");
             }
+            game = room.restore();
+            Files.deleteIfExists(file);
+            LOG.info("Hibernated game woken up");
+        } catch (IOException e) {
+            LOG.error("Cannot wake the hibernated game up from {}: {}", file, e.getMessage());
+            gameStarted = false;
+            batched(() -> broadcast(Protocol.GAME_END, -1, "Game could not be restored"));
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
         } catch (IOException e) {
-            System.err.println("Error stopping server: " + e.getMessage());
+            LOG.warn("Cannot delete {}: {}", file, e.getMessage());
         }
     }
 
+    /**
+     * Restores the game that was in progress when a previous server using the
+     * same journal stopped, from its latest snapshot and the journal events
+     * written after it. Its players' seats are held as if their connections
+     * had just dropped: they take them back with {@link Protocol#RESUME} and
+     * the token they already have. Call before {@link #start()}.
+     *
+     * @return true if a game was restored.
+     */
+    public synchronized boolean recover() {
+        if (journal == null || gameStarted) {
+            return false;
+        }
+        RoomRecovery.Recovered recovered;
+        try {
+            recovered = RoomRecovery.recover(journal.getDirectory(), ROOM_NAME);
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Cannot recover the game in progress: {}", e.getMessage());
+            return false;
+        }
+        return adopt(recovered);
+    }
+
+    /**
+     * Makes a recovered or replicated game this server's. Its seats are held
+     * as if their connections had just dropped.
+     *
+     * @return false if there is no game to go on with.
+     */
+    private boolean adopt(RoomRecovery.Recovered recovered) {
+        if (recovered.game() == null || recovered.seats().size() < 2) {
+            return false;
+        }
+        game = recovered.game();
+        gameStarted = true;
+        for (Player player : game.getPlayers()) {
+            playerIdCounter = Math.max(playerIdCounter, player.getId() + 1);
+        }
+        for (JournalEvent.Seat seat : recovered.seats()) {
+            if (seat.token().startsWith(AI_TOKEN_PREFIX)) {
+                Difficulty difficulty = Difficulty.valueOf(seat.token().substring(AI_TOKEN_PREFIX.length()));
+                aiSeats.put(seat.playerId(), new AISeat(seat.playerId(), seat.name(), difficulty));
+                continue;
+            }
+            Session session = new Session(seat.token(), seat.playerId(), seat.name());
+            session.hold(scheduleSeatExpiry(session));
+            sessionsById.put(seat.playerId(), session);
+            sessionsByToken.put(seat.token(), session);
+        }
+        turnStartedNanos = System.nanoTime();
+        snapshot();
+        LOG.info("Game restored with {} seats, {} to play", recovered.seats().size(),
+                game.getActualPlayer().getName());
+        driveTurn();
+        return true;
+    }
+
     public synchronized void startGame() {
-        if (clients.size() < 2) {
-            broadcast(Protocol.formatMessage(Protocol.ERROR, -1, "Not enough players"));
+        batched(this::doStartGame);
+    }
+
+    /** Returns whether the game is written out to disk rather than kept in memory. */
+    public boolean isHibernated() {
+        return hibernated != null;
+    }
+
+    /** Returns the number of players waiting for a quick-play game. */
+    public int getQueuedPlayers() {
+        return queued.size();
+    }
+
+    /**
+     * Puts a connection in the quick-play queue. Runs on the connection's
+     * thread, without the server monitor: joining the queue never waits for
+     * a command being handled.
+     */
+    private void quickPlay(ClientHandler sender, String[] parts) {
+        if (parts.length < 4) {
+            sender.send(Protocol.ERROR, -1, "Invalid quick play message");
+            return;
+        }
+        int seats;
+        try {
+            seats = Integer.parseInt(parts[3]);
+        } catch (NumberFormatException e) {
+            sender.send(Protocol.ERROR, -1, "Invalid quick play message");
+            return;
+        }
+        if (clients.contains(sender) || spectators.isSpectator(sender)) {
+            sender.send(Protocol.ERROR, -1, "Already in the room");
+            return;
+        }
+        if (!queued.add(sender)) {
+            sender.send(Protocol.ERROR, -1, "Already queued");
+            return;
+        }
+        WireFormat format = parts.length >= 5 ? WireFormat.fromName(parts[4]) : WireFormat.TEXT;
+        if (!matchmaker.enqueue(new QuickPlayer(sender, parts[2], format), seats)) {
+            queued.remove(sender);
+            sender.send(Protocol.ERROR, -1, "Seats must be between " + Matchmaker.MIN_SEATS
+                    + " and " + Matchmaker.MAX_SEATS);
+            return;
+        }
+        sender.send(Protocol.QUEUED, -1, String.valueOf(seats));
+    }
+
+    /**
+     * Called by the matcher with a full group: seats its players and starts
+     * their game, if the room is free.
+     *
+     * @return false if the room is taken: a game is running or players are already in it.
+     */
+    private synchronized boolean formRoom(List<QuickPlayer> players) {
+        if (!isRunning || gameStarted || !clients.isEmpty() || !aiSeats.isEmpty()) {
+            return false;
+        }
+        batched(() -> {
+            for (QuickPlayer player : players) {
+                queued.remove(player.client());
+                handlePlayerJoin(player.client(), player.name(), player.format());
+            }
+            LOG.info("Quick play: room formed with {} players", players.size());
+            matchedRoom = true;
+            doStartGame();
+        });
+        return true;
+    }
+
+    /**
+     * Once a matched game is over, its players leave the room so that the
+     * matcher can fill it again; they stay connected and may queue again.
+     */
+    private void releaseMatchedRoom() {
+        if (!matchedRoom) {
+            return;
+        }
+        matchedRoom = false;
+        for (ClientHandler client : clients) {
+            client.setId(-1);
+        }
+        clients.clear();
+        sessionsById.clear();
+        sessionsByToken.clear();
+    }
+
+    /**
+     * Adds a seat played by the server to the next game. Its decisions run on
+     * the {@link AIPool}, off the connection threads.
+     *
+     * @param difficulty The strategy of the seat.
+     * @return false if a game is already running.
+     */
+    public synchronized boolean addAIPlayer(Difficulty difficulty) {
+        if (gameStarted) {
+            return false;
+        }
+        batched(() -> {
+            int id = playerIdCounter++;
+            AISeat seat = new AISeat(id, "IA " + (aiSeats.size() + 1), difficulty);
+            aiSeats.put(id, seat);
+            record(new JournalEvent.Join(id, seat.name()));
+            broadcast(Protocol.PLAYER_JOIN, id, seat.name());
+            LOG.info("AI seat {} added ({})", seat.name(), difficulty);
+        });
+        return true;
+    }
+
+    private void doStartGame() {
+        if (clients.isEmpty() || clients.size() + aiSeats.size() < 2) {
+            broadcast(Protocol.ERROR, -1, "Not enough players");
             return;
         }
 
@@ -92,27 +603,36 @@ public class GameServer {
         for (ClientHandler client : clients) {
             players.add(new HumanPlayer(client.getId(), client.getName()));
         }
+        for (AISeat seat : aiSeats.values()) {
+            players.add(new AIPlayer(seat.id(), seat.name(), seat.difficulty()));
+        }
 
         game = new SkyjoGame(players);
         game.startGame();
         gameStarted = true;
+        List<JournalEvent.Seat> seats = new ArrayList<>(players.size());
+        for (Player player : players) {
+            seats.add(new JournalEvent.Seat(player.getId(), player.getName(), seatToken(player.getId())));
+        }
+        record(new JournalEvent.Start(game.getSeed(), seats));
 
         // Envoyer l'état initial à tous les joueurs
         broadcastGameState();
         
         // Notify players that the game has started
-        broadcast(Protocol.formatMessage(Protocol.GAME_START, -1));
+        broadcast(Protocol.GAME_START, -1);
 
         // Désigner le premier joueur
-        System.out.println("SERVER: Révélation des cartes initiales pour déterminer le premier joueur");
+        LOG.debug("Révélation des cartes initiales pour déterminer le premier joueur");
         game.revealInitialCards();
         
         // S'assurer que l'état mise à jour est envoyé après la révélation des cartes initiales
-        System.out.println("SERVER: Diffusion de l'état du jeu après révélation des cartes initiales");
+        LOG.debug("Diffusion de l'état du jeu après révélation des cartes initiales");
         broadcastGameState();
         
-        System.out.println("SERVER: Premier joueur: " + game.getActualPlayer().getName() + " (ID: " + game.getActualPlayer().getId() + ")");
-        broadcast(Protocol.formatMessage(Protocol.PLAYER_TURN, game.getActualPlayer().getId()));
+        LOG.info("Premier joueur: {} (ID: {})", game.getActualPlayer().getName(), game.getActualPlayer().getId());
+        snapshot();
+        startTurn();
     }
 
     /**
@@ -121,91 +641,436 @@ public class GameServer {
      * @param message The message to broadcast.
      */
     public synchronized void broadcast(String message) {
-        System.out.println("SERVER BROADCASTING: " + message);
+        broadcast(EncodedMessage.ofText(message));
+    }
+
+    /**
+     * Broadcast a message to all connected clients, each in its negotiated wire format.
+     * @param type The message type.
+     * @param playerId The player id, or -1.
+     * @param data The message data.
+     */
+    public synchronized void broadcast(String type, int playerId, String... data) {
+        broadcast(EncodedMessage.of(type, playerId, data));
+    }
+
+    /**
+     * Broadcast a pre-encoded message. Each wire format is encoded once and the
+     * same bytes are written to every client using it.
+     * @param message The message to broadcast.
+     */
+    public synchronized void broadcast(EncodedMessage message) {
+        if (LOG.isPayloadEnabled()) {
+            LOG.debug("Broadcasting: {}", message);
+        }
+        BroadcastEvent event = new BroadcastEvent();
+        event.begin();
+        for (Session session : sessionsById.values()) {
+            if (session.isAway()) {
+                session.missed(message);
+            }
+        }
+        spectators.publish(message);
+        if (batch != null) {
+            for (ClientHandler client : clients) {
+                batch.add(client, message);
+            }
+            commit(event, message, true);
+            return;
+        }
         List<ClientHandler> disconnectedClients = new ArrayList<>();
         
         for (ClientHandler client : clients) {
             try {
-                client.sendMessage(message);
+                if (!client.send(message)) {
+                    disconnectedClients.add(client);
+                }
             } catch (Exception e) {
-                System.err.println("Error broadcasting to client: " + e.getMessage());
+                LOG.warn("Error broadcasting to client {}: {}", client.getName(), e.getMessage());
                 disconnectedClients.add(client);
             }
         }
         
+        commit(event, message, false);
         // Remove disconnected clients
         clients.removeAll(disconnectedClients);
     }
 
+    private void commit(BroadcastEvent event, EncodedMessage message, boolean batched) {
+        if (event.shouldCommit()) {
+            event.type = message.type();
+            event.recipients = clients.size();
+            event.batched = batched;
+            event.commit();
+        }
+    }
+
+    /**
+     * Sends a message to one client, as part of the current batch if a command
+     * is being handled.
+     */
+    private void send(ClientHandler client, String type, int playerId, String... data) {
+        send(client, EncodedMessage.of(type, playerId, data));
+    }
+
+    private void send(ClientHandler client, EncodedMessage message) {
+        if (batch != null) {
+            batch.add(client, message);
+        } else {
+            client.send(message);
+        }
+    }
+
+    /**
+     * Runs a command, collecting everything it sends so that each client gets
+     * all of it in a single write once the command completes, instead of one
+     * write per message. Nested calls join the outer batch.
+     */
+    private void batched(Runnable command) {
+        if (batch != null) {
+            command.run();
+            return;
+        }
+        wake();
+        lastActivityNanos = System.nanoTime();
+        batch = new OutboundBatch();
+        try {
+            command.run();
+        } finally {
+            OutboundBatch completed = batch;
+            batch = null;
+            clients.removeAll(completed.flush());
+        }
+    }
+
     public synchronized void handleClientDisconnect(ClientHandler client) {
+        batched(() -> removeClient(client));
+    }
+
+    private void removeClient(ClientHandler client) {
+        queued.remove(client); // dropped from the matchmaking queue on its next pass
+        if (spectators.remove(client)) {
+            LOG.info("Spectator {} left", client.getName());
+            return;
+        }
         clients.remove(client);
-        broadcast(Protocol.formatMessage(Protocol.PLAYER_LEFT, -1, client.getName()));
+        if (client.getId() < 0) {
+            return; // never joined: nobody knows about it
+        }
+        Session session = sessionsById.get(client.getId());
+        if (session != null && session.connection() != client) {
+            return; // this seat was already resumed on another connection
+        }
+        if (session != null && gameStarted && game != null && config.getSessionGraceMillis() > 0) {
+            holdSeat(session);
+            return;
+        }
+        leave(client.getId(), client.getName());
+    }
+
+    /** Keeps a dropped player's seat until they resume or the grace period ends. */
+    private void holdSeat(Session session) {
+        LOG.info("Connection of {} lost, seat held for {} ms", session.name(), config.getSessionGraceMillis());
+        broadcast(Protocol.PLAYER_AWAY, session.playerId(), session.name());
+        session.hold(scheduleSeatExpiry(session));
+    }
+
+    /** The expiry takes the monitor, so it runs on its own thread rather than the timer wheel's. */
+    private TimerWheel.Timeout scheduleSeatExpiry(Session session) {
+        return timer.schedule(() -> Thread.ofVirtual().name("skyjo-seat-expiry").start(() -> expireSeat(session)),
+                config.getSessionGraceMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** Runs off the timer thread when a held seat was not resumed in time. */
+    private synchronized void expireSeat(Session session) {
+        if (session.isAway() && sessionsById.get(session.playerId()) == session) {
+            LOG.info("Seat of {} released", session.name());
+            batched(() -> leave(session.playerId(), session.name()));
+        }
+    }
+
+    /** Removes a player for good. */
+    private void leave(int playerId, String name) {
+        Session session = sessionsById.remove(playerId);
+        if (session != null) {
+            sessionsByToken.remove(session.token());
+        }
+        record(new JournalEvent.Leave(playerId));
+        broadcast(Protocol.PLAYER_LEFT, -1, name);
         
         // If game has started and a player disconnects, we may need to handle that
         if (gameStarted && game != null) {
             // Check if we need to end the game due to too few players
-            if (clients.size() < 2) {
-                broadcast(Protocol.formatMessage(Protocol.GAME_END, -1, "Not enough players remaining"));
+            int humans = clients.size() + heldSeats();
+            if (humans == 0 || humans + aiSeats.size() < 2) {
+                record(new JournalEvent.End());
+                broadcast(Protocol.GAME_END, -1, "Not enough players remaining");
                 gameStarted = false;
+                releaseMatchedRoom();
             } else {
                 // Otherwise, we might need to skip this player's turn if it's their turn
-                if (game.getActualPlayer().getId() == client.getId()) {
-                    game.nextPlayer();
-                    broadcastGameState();
-                    broadcast(Protocol.formatMessage(Protocol.PLAYER_TURN, game.getActualPlayer().getId()));
+                if (game.getActualPlayer().getId() == playerId) {
+                    if (game.getPickedCard() != null) {
+                        // A card they drew is discarded, or the next player could not draw
+                        play(TurnAction.DISCARD, game.getActualPlayer(), -1);
+                    }
+                    play(TurnAction.SKIP, game.getActualPlayer(), -1);
                 }
             }
         }
     }
 
+    private int heldSeats() {
+        int held = 0;
+        for (Session session : sessionsById.values()) {
+            if (session.isAway()) {
+                held++;
+            }
+        }
+        return held;
+    }
+
+    /**
+     * Gives a held seat to a new connection: the player gets the messages they
+     * missed, then a snapshot of the game (state, turn and held card).
+     */
+    private void handleResume(ClientHandler sender, String token, WireFormat wireFormat) {
+        Session session = sessionsByToken.get(token);
+        if (session == null) {
+            send(sender, Protocol.ERROR, -1, "Unknown or expired session");
+            return;
+        }
+        ClientHandler previous = session.connection();
+        if (previous != null) {
+            // The old connection is half-open and not reaped yet: the new one wins
+            clients.remove(previous);
+            previous.close();
+        }
+        List<EncodedMessage> missed = session.resume(sender);
+        sender.setId(session.playerId());
+        sender.setName(session.name());
+        clients.add(sender);
+        if (wireFormat != sender.getWireFormat()) {
+            sender.send(Protocol.WIRE, sender.getId(), wireFormat.name());
+            sender.setWireFormat(wireFormat);
+        }
+        send(sender, Protocol.SESSION, session.playerId(), session.token());
+        for (EncodedMessage message : missed) {
+            send(sender, message);
+        }
+        if (previous == null) {
+            for (ClientHandler client : clients) {
+                if (client != sender) {
+                    send(client, Protocol.PLAYER_BACK, session.playerId(), session.name());
+                }
+            }
+        }
+        if (gameStarted && game != null) {
+            send(sender, currentStateMessage());
+            Card held = game.getPickedCard();
+            int current = game.getActualPlayer().getId();
+            if (held != null && current == session.playerId()) {
+                send(sender, Protocol.HELD_CARD, current, held.valeur().name());
+            }
+            send(sender, Protocol.PLAYER_TURN, current);
+        }
+        LOG.info("{} resumed their seat (id {})", session.name(), session.playerId());
+    }
+
+    /**
+     * Lets a connection that has not joined watch the game. It gets the
+     * players, then the public state and turn, and from then on what is
+     * broadcast to the players, through the {@link SpectatorFeed}. Held card
+     * values are never sent to spectators.
+     */
+    private void handleSpectate(ClientHandler sender, WireFormat wireFormat) {
+        if (sender.getId() >= 0) {
+            send(sender, Protocol.ERROR, -1, "Already seated");
+            return;
+        }
+        if (wireFormat != sender.getWireFormat()) {
+            sender.send(Protocol.WIRE, -1, wireFormat.name());
+            sender.setWireFormat(wireFormat);
+        }
+        List<EncodedMessage> snapshot = new ArrayList<>();
+        for (Session session : sessionsById.values()) {
+            snapshot.add(EncodedMessage.of(Protocol.PLAYER_JOIN, session.playerId(), session.name()));
+            if (session.isAway()) {
+                snapshot.add(EncodedMessage.of(Protocol.PLAYER_AWAY, session.playerId(), session.name()));
+            }
+        }
+        for (AISeat seat : aiSeats.values()) {
+            snapshot.add(EncodedMessage.of(Protocol.PLAYER_JOIN, seat.id(), seat.name()));
+        }
+        if (gameStarted && game != null) {
+            EncodedMessage state = currentStateMessage();
+            state.prepare(wireFormat);
+            snapshot.add(state);
+            snapshot.add(EncodedMessage.of(Protocol.PLAYER_TURN, game.getActualPlayer().getId()));
+        }
+        if (!spectators.add(sender, snapshot)) {
+            send(sender, Protocol.ERROR, -1, "Too many spectators");
+            return;
+        }
+        LOG.info("{} is watching the game ({} spectators)", sender.getName(), spectators.size());
+    }
+
+    /**
+     * Sends the public state, shared by every client, followed by the small
+     * per-viewer part: only the current player gets the value of the card they
+     * are holding, which is not part of the public state.
+     */
     private void broadcastGameState() {
-        // Convertir l'état du jeu en chaîne JSON ou format personnalisé
-        String gameState = serializeGameState(game);
-        broadcast(Protocol.formatMessage(Protocol.GAME_STATE, -1, gameState));
+        stateVersion++;
+        broadcast(currentStateMessage());
+
+        Card held = game.getPickedCard();
+        if (held != null) {
+            int holderId = game.getActualPlayer().getId();
+            for (ClientHandler client : clients) {
+                if (client.getId() == holderId) {
+                    send(client, Protocol.HELD_CARD, holderId, held.valeur().name());
+                }
+            }
+        }
     }
 
-    private String serializeGameState(SkyjoGame game) {
-        try {
-            // Créez un objet qui contient uniquement les informations nécessaires
-            GameState gameState = new GameState(
-                    game.getPlayers(),
-                    game.getDiscard().isEmpty() ? null : game.getTopDiscard(),
-                    game.getPick().size(),
-                    game.getActualPlayer().getId(),
-                    game.isFinalRound());
+    /**
+     * Returns the encoded state for the current state version. Each format in
+     * use is encoded once per version, straight from the game, however many
+     * clients receive it.
+     */
+    private EncodedMessage currentStateMessage() {
+        EnumSet<WireFormat> formats = EnumSet.noneOf(WireFormat.class);
+        for (ClientHandler client : clients) {
+            formats.add(client.getWireFormat());
+        }
+        formats.addAll(spectators.formats());
+        boolean newVersion = stateMessage == null || stateMessageVersion != stateVersion;
+        if (newVersion) {
+            stateMessage = EncodedMessage.ofState(
+                    () -> stateWriter.writeStateLine(game),
+                    () -> BinaryCodec.encodeState(game));
+            stateMessageVersion = stateVersion;
+        }
+        // The encoders read the live game: encode now, while we hold the monitor
+        StateSerializeEvent event = new StateSerializeEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int bytes = 0;
+        for (WireFormat format : formats) {
+            stateMessage.prepare(format);
+            bytes += stateMessage.size(format);
+        }
+        if (newVersion) {
+            metrics.stateEncoded(System.nanoTime() - start, bytes);
+            if (event.shouldCommit()) {
+                event.version = stateVersion;
+                event.formats = formats.toString();
+                event.bytes = bytes;
+                event.commit();
+            }
+        }
+        return stateMessage;
+    }
+
+    public void onClientMessage(ClientHandler sender, String message) {
+        onClientMessage(sender, Protocol.parseMessage(message));
+    }
+
+    /**
+     * Handles an inbound message that has already been split into parts,
+     * whichever wire format it arrived in.
+     * @param sender The client that sent the message.
+     * @param parts The message parts: type, player id, then data.
+     */
+    public void onClientMessage(ClientHandler sender, String[] parts) {
+        MessageReceivedEvent event = new MessageReceivedEvent();
+        event.begin();
+        long received = System.nanoTime();
+        metrics.messageReceived(parts[0]);
+        String rejected = precheck(sender, parts);
+        if (rejected != null) {
+            sender.send(Protocol.ERROR, -1, rejected);
+            return;
+        }
+        if (Protocol.QUICK_PLAY.equals(parts[0])) {
+            quickPlay(sender, parts);
+            return;
+        }
+        wakeAhead();
+        synchronized (this) {
+            long started = System.nanoTime();
+            batched(() -> handleMessage(sender, parts));
+            metrics.commandHandled(started - received, System.nanoTime() - started);
+        }
+        if (event.shouldCommit()) {
+            event.side = "server";
+            event.type = parts[0];
+            event.playerId = sender.getId();
+            event.commit();
+        }
+    }
+
+    /** Returns the server's instrumentation. */
+    public ServerMetrics getMetrics() {
+        return metrics;
+    }
 
-            return objectMapper.writeValueAsString(gameState);
-        } catch (JsonProcessingException e) {
-            System.err.println("Error serializing game state: " + e.getMessage());
-            return "{}"; // Retourner un objet JSON vide en cas d'erreur
+    /**
+     * Rejects what can be rejected without the server monitor: malformed
+     * messages, player ids that are not the sender's, spectators trying to
+     * play. Such messages never wait for the game lock.
+     *
+     * @return The error to send back, or null if the message may be handled.
+     */
+    private String precheck(ClientHandler sender, String[] parts) {
+        if (parts.length < 2) {
+            return "Invalid message format";
+        }
+        int playerId;
+        try {
+            playerId = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            return "Invalid message format";
+        }
+        // Verify that the sender is allowed to send messages for this player ID
+        if (playerId != -1 && playerId != sender.getId() && !parts[0].equals(Protocol.PLAYER_JOIN)) {
+            return "Unauthorized player ID";
         }
+        if (spectators.isSpectator(sender)) {
+            return "Spectators cannot play";
+        }
+        return null;
     }
 
-    public synchronized void onClientMessage(ClientHandler sender, String message) {
+    private void handleMessage(ClientHandler sender, String[] parts) {
+        GameActionEvent event = new GameActionEvent();
+        event.begin();
         try {
-            String[] parts = Protocol.parseMessage(message);
-            if (parts.length < 2) {
-                sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Invalid message format"));
-                return;
-            }
-            
             String type = parts[0];
             int playerId = Integer.parseInt(parts[1]);
 
-            // Verify that the sender is allowed to send messages for this player ID
-            if (playerId != -1 && playerId != sender.getId() && !type.equals(Protocol.PLAYER_JOIN)) {
-                sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Unauthorized player ID"));
-                return;
-            }
-
             switch (type) {
                 case Protocol.PLAYER_JOIN:
                     if (parts.length >= 3) {
-                        handlePlayerJoin(sender, parts[2]);
+                        WireFormat requested = parts.length >= 4 ? WireFormat.fromName(parts[3]) : WireFormat.TEXT;
+                        handlePlayerJoin(sender, parts[2], requested);
                     } else {
-                        sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Invalid player join message"));
+                        send(sender, Protocol.ERROR, -1, "Invalid player join message");
                     }
                     break;
+                case Protocol.RESUME:
+                    if (parts.length >= 3) {
+                        WireFormat requested = parts.length >= 4 ? WireFormat.fromName(parts[3]) : WireFormat.TEXT;
+                        handleResume(sender, parts[2], requested);
+                    } else {
+                        send(sender, Protocol.ERROR, -1, "Invalid resume message");
+                    }
+                    break;
+                case Protocol.SPECTATE:
+                    handleSpectate(sender, parts.length >= 3 ? WireFormat.fromName(parts[2]) : WireFormat.TEXT);
+                    break;
                 case Protocol.CARD_PICK:
                     handleCardPick(sender);
                     break;
@@ -213,31 +1078,46 @@ public class GameServer {
                     handleCardDiscard(sender);
                     break;
                 case Protocol.CARD_REVEAL:
-                    if (parts.length >= 3) {
-                        int cardIndex = Integer.parseInt(parts[2]);
-                        handleCardReveal(sender, playerId, cardIndex);
-                    } else {
-                        sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Invalid card reveal message"));
-                    }
+                    handleCardReveal(playerId, cardIndex(parts, "Invalid card reveal message"));
                     break;
                 case Protocol.CARD_EXCHANGE:
-                    if (parts.length >= 3) {
-                        int cardIndex = Integer.parseInt(parts[2]);
-                        handleCardExchange(sender, playerId, cardIndex);
-                    } else {
-                        sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Invalid card exchange message"));
-                    }
+                    handleCardExchange(playerId, cardIndex(parts, "Invalid card exchange message"));
+                    break;
+                case Protocol.CARD_PICK_EXCHANGE:
+                    handlePickAndExchange(sender.getId(), cardIndex(parts, "Invalid pick and exchange message"));
+                    break;
+                case Protocol.DISCARD_TAKE_EXCHANGE:
+                    handleTakeDiscardAndExchange(sender.getId(), cardIndex(parts, "Invalid take and exchange message"));
+                    break;
+                case Protocol.CARD_PICK_DISCARD_REVEAL:
+                    handlePickDiscardAndReveal(sender.getId(), cardIndex(parts, "Invalid pick and reveal message"));
                     break;
                 default:
-                    sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Unknown message type: " + type));
+                    send(sender, Protocol.ERROR, -1, "Unknown message type: " + type);
                     break;
             }
+        } catch (InvalidMoveException e) {
+            send(sender, Protocol.ERROR, -1, e.getMessage());
         } catch (Exception e) {
-            System.err.println("Error processing message: " + e.getMessage());
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Error processing message"));
+            LOG.warn("Error processing message from {}: {}", sender.getName(), e.getMessage());
+            send(sender, Protocol.ERROR, -1, "Error processing message");
+        } finally {
+            if (event.shouldCommit()) {
+                event.action = parts[0];
+                event.playerId = sender.getId();
+                event.commit();
+            }
         }
     }
 
+    /** Reads the card index carried by a turn action. */
+    private static int cardIndex(String[] parts, String error) {
+        if (parts.length < 3) {
+            throw new InvalidMoveException(error);
+        }
+        return Integer.parseInt(parts[2]);
+    }
+
     public synchronized int getClientId(ClientHandler client) {
         int index = clients.indexOf(client);
         return index >= 0 ? index : -1;
@@ -260,263 +1140,386 @@ public class GameServer {
         return game != null && game.getActualPlayer().getId() == playerId;
     }
 
-    private void handleCardDiscard(ClientHandler sender) {
-        if (!gameStarted || game == null) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Game not started"));
+    private void handlePlayerJoin(ClientHandler sender, String playerName, WireFormat wireFormat) {
+        if (gameStarted) {
+            send(sender, Protocol.ERROR, -1, "Game already started");
             return;
         }
 
-        int playerId = sender.getId();
-        if (!isPlayerTurn(playerId)) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Not your turn"));
-            return;
+        // Set the player's name
+        sender.setName(playerName);
+        
+        // Assign a unique ID to the client
+        if (!clients.contains(sender)) {
+            sender.setId(playerIdCounter++);
+            clients.add(sender);
         }
+        record(new JournalEvent.Join(sender.getId(), playerName));
 
-        Player player = findPlayerById(playerId);
-        if (player == null) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Player not found"));
-            return;
+        // Acknowledge the negotiated format before switching the outbound encoding.
+        // Sent directly, ahead of the batch, which is written in the new format.
+        if (wireFormat != sender.getWireFormat()) {
+            sender.send(Protocol.WIRE, sender.getId(), wireFormat.name());
+            sender.setWireFormat(wireFormat);
+        }
+        
+        // Token to take the seat back if the connection drops
+        Session session = new Session(sender.getId(), playerName, sender);
+        Session replaced = sessionsById.put(sender.getId(), session);
+        if (replaced != null) {
+            sessionsByToken.remove(replaced.token());
         }
+        sessionsByToken.put(session.token(), session);
+        send(sender, Protocol.SESSION, sender.getId(), session.token());
 
-        try {
-            Card pickedCard = game.getPickedCard();
-            if (pickedCard == null) {
-                sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "No card picked to discard"));
-                return;
+        // Notify all clients about the new player
+        broadcast(Protocol.PLAYER_JOIN, sender.getId(), playerName);
+        
+        // Send the current player list to the new player
+        for (ClientHandler client : clients) {
+            if (client != sender) {
+                send(sender, Protocol.PLAYER_JOIN, client.getId(), client.getName());
             }
-            game.addToDiscard(pickedCard);
-            game.setPickedCard(null);
-            game.setHasDiscard(true);
-
-            // Broadcast updated state — player must now reveal a card before turn ends
-            broadcastGameState();
-            // Do NOT advance to next player: the client must send a REVEAL message next
-        } catch (Exception e) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Error discarding card: " + e.getMessage()));
+        }
+        for (AISeat seat : aiSeats.values()) {
+            send(sender, Protocol.PLAYER_JOIN, seat.id(), seat.name());
         }
     }
 
-    private void handleCardReveal(ClientHandler sender, int playerId, int cardIndex) {
-        if (!gameStarted || game == null) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Game not started"));
-            return;
-        }
+    // ─── Turn actions ───────────────────────────────────────────────────
+    // Each handler validates the whole command before touching the game, so a
+    // rejected command never leaves a half-played turn behind. Rejections are
+    // thrown as InvalidMoveException and reported to the sender.
 
-        if (!isPlayerTurn(playerId)) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Not your turn"));
-            return;
-        }
+    private void handleCardPick(ClientHandler sender) {
+        int playerId = sender.getId();
+        Player player = requireTurn(playerId);
+        requireNoPickedCard();
+        requireCardsInPick();
 
-        Player player = findPlayerById(playerId);
-        if (player == null) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Player not found"));
-            return;
+        // Notify all clients about the picked card
+        broadcast(Protocol.CARD_PICK, playerId);
+        play(TurnAction.PICK, player, -1);
+    }
+
+    private void handleCardDiscard(ClientHandler sender) {
+        Player player = requireTurn(sender.getId());
+        requirePickedCard("No card picked to discard");
+
+        // Do NOT advance to next player: the client must send a REVEAL message next
+        play(TurnAction.DISCARD, player, -1);
+    }
+
+    private void handleCardReveal(int playerId, int cardIndex) {
+        Player player = requireTurn(playerId);
+        requireHiddenCard(player, cardIndex);
+        requireNoPickedCard();
+        if (!discardedThisTurn) {
+            throw new InvalidMoveException("Discard the picked card before revealing");
         }
 
-        try {
-            // Check if the card index is valid
-            if (cardIndex < 0 || cardIndex >= player.getCartes().size()) {
-                sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Invalid card index"));
-                return;
-            }
-            
-            // Implement the reveal card logic in your game model
-            game.revealCard(player, cardIndex);
-            
-            // Broadcast the updated game state to all clients
-            broadcastGameState();
+        play(TurnAction.REVEAL, player, cardIndex);
+    }
 
-            // Check columns and final round
-            game.checkColumns();
-            game.checkAndEnterFinalRound();
+    private void handleCardExchange(int playerId, int cardIndex) {
+        Player player = requireTurn(playerId);
+        requireCardIndex(player, cardIndex);
+        requirePickedCard("No card picked to exchange");
 
-            if (game.isFinalRound()) {
-                game.decrementFinalRoundTurns();
-            }
+        play(TurnAction.EXCHANGE, player, cardIndex);
+    }
 
-            // Check if the game is finished after this move
-            if (game.isGameOver()) {
-                sendFinalResults();
-                gameStarted = false;
-            } else {
-                // Move to next player
-                game.nextPlayer();
-                broadcast(Protocol.formatMessage(Protocol.PLAYER_TURN, game.getActualPlayer().getId()));
-            }
-        } catch (Exception e) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Error revealing card: " + e.getMessage()));
-        }
+    /**
+     * {@link Protocol#CARD_PICK_EXCHANGE}: draws from the deck and exchanges
+     * the drawn card with the given slot, in one command.
+     */
+    private void handlePickAndExchange(int playerId, int cardIndex) {
+        Player player = requireTurn(playerId);
+        requireCardIndex(player, cardIndex);
+        requireNoPickedCard();
+        requireCardsInPick();
+
+        play(TurnAction.PICK_EXCHANGE, player, cardIndex);
     }
 
-    private void handleCardExchange(ClientHandler sender, int playerId, int cardIndex) {
-        if (!gameStarted || game == null) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Game not started"));
-            return;
+    /**
+     * {@link Protocol#DISCARD_TAKE_EXCHANGE}: takes the top of the discard pile
+     * into the given slot, in one command.
+     */
+    private void handleTakeDiscardAndExchange(int playerId, int cardIndex) {
+        Player player = requireTurn(playerId);
+        requireCardIndex(player, cardIndex);
+        requireNoPickedCard();
+        if (game.getTopDiscard() == null) {
+            throw new InvalidMoveException("Discard pile is empty");
         }
 
-        if (!isPlayerTurn(playerId)) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Not your turn"));
+        play(TurnAction.TAKE_EXCHANGE, player, cardIndex);
+    }
+
+    /**
+     * {@link Protocol#CARD_PICK_DISCARD_REVEAL}: draws from the deck, discards
+     * the drawn card and reveals the given slot, in one command.
+     */
+    private void handlePickDiscardAndReveal(int playerId, int cardIndex) {
+        Player player = requireTurn(playerId);
+        requireHiddenCard(player, cardIndex);
+        requireNoPickedCard();
+        requireCardsInPick();
+
+        play(TurnAction.PICK_REVEAL, player, cardIndex);
+    }
+
+    /**
+     * Applies a validated action to the game and journals it, then sends the
+     * new state and, when the turn is over, either the next player's turn or
+     * the final results.
+     */
+    private void play(TurnAction action, Player player, int cardIndex) {
+        TurnAction.Outcome outcome = action.apply(game, player, cardIndex);
+        discardedThisTurn = action == TurnAction.DISCARD;
+        record(new JournalEvent.Action(action, player.getId(), cardIndex));
+        if (outcome != TurnAction.Outcome.GAME_OVER && snapshots != null
+                && eventsSinceSnapshot >= config.getSnapshotEvery()) {
+            snapshot();
+        }
+        if (outcome == TurnAction.Outcome.SAME_TURN) {
+            broadcastGameState();
             return;
         }
+        metrics.turnCompleted(ROOM_NAME, System.nanoTime() - turnStartedNanos);
+        if (outcome == TurnAction.Outcome.GAME_OVER) {
+            record(new JournalEvent.End());
+            sendFinalResults();
+            gameStarted = false;
+            releaseMatchedRoom();
+        } else {
+            broadcastGameState();
+            startTurn();
+        }
+    }
 
-        Player player = findPlayerById(playerId);
-        if (player == null) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Player not found"));
+    /** Appends to the journal, if any. A failure is logged: the game goes on unrecorded. */
+    private void record(JournalEvent event) {
+        if (replication != null) {
+            replication.publish(event);
+        }
+        if (journal == null) {
             return;
         }
-
+        long start = System.nanoTime();
         try {
-            // Check if the card index is valid
-            if (cardIndex < 0 || cardIndex >= player.getCartes().size()) {
-                sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Invalid card index"));
-                return;
-            }
+            journal.append(event);
+        } catch (IOException e) {
+            LOG.error("Cannot write to the journal: {}", e.getMessage());
+        }
+        metrics.journalAppended(System.nanoTime() - start);
+        eventsSinceSnapshot++;
+    }
 
-            // Check if player has a picked card to exchange
-            if (game.getPickedCard() == null) {
-                sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "No card picked to exchange"));
-                return;
-            }
+    /**
+     * Hands a copy of the game in progress to the snapshot writer. Only the
+     * copy is made here; encoding and writing happen on the writer's thread.
+     */
+    private void snapshot() {
+        if (snapshots == null) {
+            return;
+        }
+        snapshots.submit(captureRoom());
+        eventsSinceSnapshot = 0;
+    }
 
-            // Implement the exchange card logic
-            game.exchangeOrRevealCard(player, game.getPickedCard(), cardIndex);
-            game.setPickedCard(null);
+    /** Copies the game in progress and its seats, or returns null if there is none. Under the monitor. */
+    private RoomSnapshot captureRoom() {
+        if (!gameStarted || game == null) {
+            return null;
+        }
+        List<JournalEvent.Seat> seats = new ArrayList<>(sessionsById.size());
+        for (Session session : sessionsById.values()) {
+            seats.add(new JournalEvent.Seat(session.playerId(), session.name(), session.token()));
+        }
+        for (AISeat seat : aiSeats.values()) {
+            seats.add(new JournalEvent.Seat(seat.id(), seat.name(), seatToken(seat.id())));
+        }
+        return RoomSnapshot.capture(journal != null ? journal.position() : Journal.Position.START, seats, game);
+    }
 
-            // Broadcast updated state
-            broadcastGameState();
+    /** Announces the current player's turn and starts timing it. */
+    private void startTurn() {
+        turnStartedNanos = System.nanoTime();
+        broadcast(Protocol.PLAYER_TURN, game.getActualPlayer().getId());
+        driveTurn();
+    }
 
-            // Check columns and final round
-            game.checkColumns();
-            game.checkAndEnterFinalRound();
+    /**
+     * Gets the current turn going: an AI seat is asked for its move, anybody
+     * else gets the configured time limit. Both are tied to the turn number,
+     * so whatever arrives after the turn ended is ignored.
+     */
+    private void driveTurn() {
+        turnNumber++;
+        discardedThisTurn = false;
+        turnTimedOut = false;
+        if (turnTimeout != null) {
+            turnTimeout.cancel();
+            turnTimeout = null;
+        }
+        AISeat seat = aiSeats.get(game.getActualPlayer().getId());
+        if (seat != null) {
+            decideWithAi(seat.difficulty());
+        } else if (config.getTurnTimeMillis() > 0) {
+            long turn = turnNumber;
+            // The wheel's thread must not wait for the monitor: the expiry runs on its own thread
+            turnTimeout = timer.schedule(
+                    () -> Thread.ofVirtual().name("skyjo-turn-timer").start(() -> turnExpired(turn)),
+                    config.getTurnTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
 
-            if (game.isFinalRound()) {
-                game.decrementFinalRoundTurns();
+    /** Runs off the timer thread when a player lets their turn time run out. */
+    private synchronized void turnExpired(long turn) {
+        if (turn != turnNumber || !isRunning) {
+            return;
+        }
+        batched(() -> {
+            if (turn != turnNumber || !gameStarted || game == null) {
+                return;
             }
-
-            // Check if the game is finished after this move
-            if (game.isGameOver()) {
-                sendFinalResults();
-                gameStarted = false;
+            Player player = game.getActualPlayer();
+            LOG.info("Turn of {} timed out, the server plays for them", player.getName());
+            metrics.turnTimedOut();
+            turnTimedOut = true;
+            turnTimeout = null;
+            int hidden = firstHiddenCard(player);
+            if (game.getPickedCard() != null) {
+                // Finish what they started: discard the drawn card and reveal, or keep it
+                if (hidden >= 0) {
+                    play(TurnAction.DISCARD, player, -1);
+                    play(TurnAction.REVEAL, player, hidden);
+                } else {
+                    play(TurnAction.EXCHANGE, player, 0);
+                }
+            } else if (discardedThisTurn) {
+                play(hidden >= 0 ? TurnAction.REVEAL : TurnAction.SKIP, player, hidden);
+            } else if (config.getTurnTimeoutAi() != null) {
+                decideWithAi(config.getTurnTimeoutAi());
             } else {
-                // Move to next player
-                game.nextPlayer();
-                broadcast(Protocol.formatMessage(Protocol.PLAYER_TURN, game.getActualPlayer().getId()));
+                AIMovePlanner.Move move = AIMovePlanner.fallback(game);
+                play(move.action(), player, move.cardIndex());
             }
-        } catch (Exception e) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Error exchanging card: " + e.getMessage()));
-        }
+        });
     }
 
-    private void handlePlayerJoin(ClientHandler sender, String playerName) {
-        if (gameStarted) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Game already started"));
-            return;
+    private static int firstHiddenCard(Player player) {
+        List<Card> cards = player.getCartes();
+        for (int i = 0; i < cards.size(); i++) {
+            if (!cards.get(i).faceVisible()) {
+                return i;
+            }
         }
+        return -1;
+    }
 
-        // Set the player's name
-        sender.setName(playerName);
-        
-        // Assign a unique ID to the client
-        if (!clients.contains(sender)) {
-            sender.setId(playerIdCounter++);
-            clients.add(sender);
+    /** Returns the token journaled for a seat: its session's, or the difficulty of an AI seat. */
+    private String seatToken(int playerId) {
+        AISeat ai = aiSeats.get(playerId);
+        if (ai != null) {
+            return AI_TOKEN_PREFIX + ai.difficulty().name();
         }
-        
-        // Notify all clients about the new player
-        broadcast(Protocol.formatMessage(Protocol.PLAYER_JOIN, sender.getId(), playerName));
-        
-        // Send the current player list to the new player
-        for (ClientHandler client : clients) {
-            if (client != sender) {
-                sender.sendMessage(Protocol.formatMessage(
-                    Protocol.PLAYER_JOIN, client.getId(), client.getName()));
+        Session session = sessionsById.get(playerId);
+        return session != null ? session.token() : "";
+    }
+
+    /**
+     * Hands a copy of the game to the {@link AIPool} to decide the current
+     * player's move: an AI seat's, or a timed-out player's. The move comes
+     * back through {@link #playAiMove}.
+     */
+    private void decideWithAi(Difficulty difficulty) {
+        long turn = turnNumber;
+        int playerId = game.getActualPlayer().getId();
+        AIMovePlanner planner = new AIMovePlanner(game, difficulty);
+        aiPool.decide(planner::plan, planner.fallback(), move -> playAiMove(turn, playerId, move));
+    }
+
+    /** Runs on its own thread once an AI has decided. */
+    private synchronized void playAiMove(long turn, int playerId, AIMovePlanner.Move move) {
+        batched(() -> {
+            if (turn != turnNumber || !gameStarted || game == null || !isPlayerTurn(playerId)) {
+                return; // the game moved on meanwhile
             }
-        }
+            play(move.action(), game.getActualPlayer(), move.cardIndex());
+        });
     }
 
-    private void handleCardPick(ClientHandler sender) {
+    /**
+     * Checks that a game is running and that it is this player's turn.
+     *
+     * @return The player.
+     * @throws InvalidMoveException otherwise.
+     */
+    private Player requireTurn(int playerId) {
         if (!gameStarted || game == null) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Game not started"));
-            return;
+            throw new InvalidMoveException("Game not started");
         }
-
-        int playerId = sender.getId();
         if (!isPlayerTurn(playerId)) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Not your turn"));
-            return;
+            throw new InvalidMoveException("Not your turn");
+        }
+        if (turnTimedOut) {
+            throw new InvalidMoveException("Turn timed out");
         }
-
         Player player = findPlayerById(playerId);
         if (player == null) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Player not found"));
-            return;
+            throw new InvalidMoveException("Player not found");
         }
+        return player;
+    }
 
-        try {
-            // Check if pick pile has cards
-            if (game.getPick().isEmpty()) {
-                sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Pick pile is empty"));
-                return;
-            }
-            
-            // Implement the pick card logic
-            Card pickedCard = game.pickCard();
-            
-            if (pickedCard != null) {
-                // Notify all clients about the picked card
-                broadcast(Protocol.formatMessage(Protocol.CARD_PICK, playerId));
-                
-                // Send the updated game state
-                broadcastGameState();
-            } else {
-                sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Failed to pick a card"));
-            }
-        } catch (Exception e) {
-            sender.sendMessage(Protocol.formatMessage(Protocol.ERROR, -1, "Error picking card: " + e.getMessage()));
+    private static void requireCardIndex(Player player, int cardIndex) {
+        if (cardIndex < 0 || cardIndex >= player.getCartes().size()) {
+            throw new InvalidMoveException("Invalid card index");
+        }
+    }
+
+    private static void requireHiddenCard(Player player, int cardIndex) {
+        requireCardIndex(player, cardIndex);
+        if (player.getCartes().get(cardIndex).faceVisible()) {
+            throw new InvalidMoveException("Card already revealed");
+        }
+    }
+
+    private void requirePickedCard(String message) {
+        if (game.getPickedCard() == null) {
+            throw new InvalidMoveException(message);
+        }
+    }
+
+    private void requireNoPickedCard() {
+        if (game.getPickedCard() != null) {
+            throw new InvalidMoveException("A card has already been picked");
+        }
+    }
+
+    private void requireCardsInPick() {
+        if (game.getPickSize() == 0) {
+            throw new InvalidMoveException("Pick pile is empty");
         }
     }
 
     // Nouvelle méthode pour envoyer les résultats finaux
     private void sendFinalResults() {
         try {
-            // Révéler toutes les cartes
-            game.revealAllCards();
-            
             // Obtenir le classement final
             Map<Player, Integer> finalRanking = game.getRanking();
             
-            // Construire un message JSON avec les résultats
-            StringBuilder results = new StringBuilder();
-            results.append("{\"ranking\":[");
-            
-            int count = 0;
-            String winnerName = "";
-            
-            for (Map.Entry<Player, Integer> entry : finalRanking.entrySet()) {
-                if (count == 0) {
-                    winnerName = entry.getKey().getName();
-                }
-                
-                results.append("{\"name\":\"").append(entry.getKey().getName())
-                       .append("\",\"score\":").append(entry.getValue()).append("}");
-                
-                if (count < finalRanking.size() - 1) {
-                    results.append(",");
-                }
-                count++;
-            }
-            
-            results.append("],\"winner\":\"").append(winnerName).append("\"}");
-            
             // Envoyer les résultats à tous les clients
-            broadcast(Protocol.formatMessage(Protocol.GAME_END, -1, results.toString()));
+            broadcast(Protocol.GAME_END, -1, stateWriter.writeResults(finalRanking));
             
             // Mettre à jour l'état du jeu une dernière fois
             broadcastGameState();
             
         } catch (Exception e) {
-            System.err.println("Error sending final results: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error sending final results", e);
         }
     }
 }
\ No newline at end of file
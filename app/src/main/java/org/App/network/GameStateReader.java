@@ -0,0 +1,135 @@
+package org.App.network;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.App.model.game.CardValue;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Streaming parser for the JSON game state written by {@link GameStateWriter}.
+ * <p>
+ * Walks the tokens directly into the target {@link GameState} instead of going
+ * through Jackson data binding. Unknown fields are skipped, so older clients
+ * keep working when the server adds fields.
+ * </p>
+ */
+public final class GameStateReader {
+    private static final ObjectReader READER = new ObjectMapper().reader();
+    private static final CardValue[] CARD_VALUES = CardValue.values();
+    private static final int EXPECTED_CARDS = 12;
+
+    private GameStateReader() {
+    }
+
+    /**
+     * Parses a state into a new {@link GameState}.
+     *
+     * @param json The JSON document.
+     * @return The parsed state.
+     * @throws IOException if the document is malformed.
+     */
+    public static GameState read(String json) throws IOException {
+        GameState state = new GameState();
+        readInto(json, state);
+        return state;
+    }
+
+    /**
+     * Parses a state into an existing {@link GameState}, overwriting its fields.
+     *
+     * @param json   The JSON document.
+     * @param target The state to fill.
+     * @throws IOException if the document is malformed.
+     */
+    public static void readInto(String json, GameState target) throws IOException {
+        try (JsonParser parser = READER.createParser(json)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            target.setTopDiscard(null);
+            target.setCurrentPlayerName(null);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case GameStateWriter.PLAYERS -> target.setPlayers(readPlayers(parser, token));
+                    case GameStateWriter.TOP_DISCARD -> target.setTopDiscard(
+                            token == JsonToken.VALUE_NULL ? null : readCard(parser, token));
+                    case GameStateWriter.REMAINING_CARDS -> target.setRemainingCards(parser.getIntValue());
+                    case GameStateWriter.CURRENT_PLAYER_ID -> target.setCurrentPlayerId(parser.getIntValue());
+                    case GameStateWriter.FINAL_ROUND -> target.setFinalRound(parser.getBooleanValue());
+                    case GameStateWriter.CURRENT_PLAYER_NAME -> target.setCurrentPlayerName(parser.getValueAsString());
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private static List<NetworkPlayerState> readPlayers(JsonParser parser, JsonToken token) throws IOException {
+        expect(parser, token, JsonToken.START_ARRAY);
+        List<NetworkPlayerState> players = new ArrayList<>(8);
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            expect(parser, token, JsonToken.START_OBJECT);
+            NetworkPlayerState player = new NetworkPlayerState();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case GameStateWriter.ID -> player.setId(parser.getIntValue());
+                    case GameStateWriter.NAME -> player.setName(parser.getValueAsString());
+                    case GameStateWriter.SCORE -> player.setScore(parser.getIntValue());
+                    case GameStateWriter.CARDS -> player.setCards(readCards(parser, value));
+                    default -> parser.skipChildren();
+                }
+            }
+            players.add(player);
+        }
+        return players;
+    }
+
+    private static List<NetworkCardState> readCards(JsonParser parser, JsonToken token) throws IOException {
+        expect(parser, token, JsonToken.START_ARRAY);
+        List<NetworkCardState> cards = new ArrayList<>(EXPECTED_CARDS);
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            cards.add(readCard(parser, token));
+        }
+        return cards;
+    }
+
+    private static NetworkCardState readCard(JsonParser parser, JsonToken token) throws IOException {
+        expect(parser, token, JsonToken.START_OBJECT);
+        NetworkCardState card = new NetworkCardState();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case GameStateWriter.VALUE -> card.setValue(value == JsonToken.VALUE_NULL ? null : cardValue(parser));
+                case GameStateWriter.FACE_VISIBLE -> card.setFaceVisible(parser.getBooleanValue());
+                case GameStateWriter.ID -> card.setId(parser.getIntValue());
+                default -> parser.skipChildren();
+            }
+        }
+        return card;
+    }
+
+    private static CardValue cardValue(JsonParser parser) throws IOException {
+        String name = parser.getText();
+        for (CardValue value : CARD_VALUES) {
+            if (value.name().equals(name)) {
+                return value;
+            }
+        }
+        throw new JsonParseException(parser, "Unknown card value: " + name);
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.App.network;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.App.model.game.Card;
+import org.App.model.game.SkyjoGame;
+import org.App.model.player.Player;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Streams the game state as JSON straight from a {@link SkyjoGame}.
+ * <p>
+ * Produces the same document as serializing a {@link GameState} with Jackson,
+ * without building the intermediate {@link NetworkPlayerState} and
+ * {@link NetworkCardState} objects; as in {@link NetworkCardState#fromCard},
+ * face-down cards are written with a null value. Output goes into a buffer
+ * that is reused from one call to the next, so an instance must only be used
+ * by one thread at a time (the server uses it under its monitor).
+ * </p>
+ *
+ * @see GameStateReader
+ */
+public final class GameStateWriter {
+    static final String PLAYERS = "players";
+    static final String TOP_DISCARD = "topDiscard";
+    static final String REMAINING_CARDS = "remainingCards";
+    static final String CURRENT_PLAYER_ID = "currentPlayerId";
+    static final String FINAL_ROUND = "finalRound";
+    static final String CURRENT_PLAYER_NAME = "currentPlayerName";
+    static final String ID = "id";
+    static final String NAME = "name";
+    static final String SCORE = "score";
+    static final String CARDS = "cards";
+    static final String VALUE = "value";
+    static final String FACE_VISIBLE = "faceVisible";
+
+    private static final ObjectWriter WRITER = new ObjectMapper().writer();
+    private static final byte[] STATE_PREFIX =
+            (Protocol.formatMessage(Protocol.GAME_STATE, -1) + "|").getBytes(StandardCharsets.UTF_8);
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(4096);
+
+    /**
+     * Writes the complete {@code STATE} text line for the game, newline included.
+     *
+     * @param game The game to describe.
+     * @return The encoded line.
+     */
+    public byte[] writeStateLine(SkyjoGame game) {
+        buffer.reset();
+        buffer.writeBytes(STATE_PREFIX);
+        try (JsonGenerator json = WRITER.createGenerator(buffer)) {
+            writeState(json, game);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory buffer: cannot happen
+        }
+        buffer.write('\n');
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Writes the final ranking sent with {@code END}:
+     * {@code {"ranking":[{"name":..,"score":..},..],"winner":..}}.
+     *
+     * @param ranking Players and scores, best first.
+     * @return The JSON document.
+     */
+    public String writeResults(Map<Player, Integer> ranking) {
+        buffer.reset();
+        try (JsonGenerator json = WRITER.createGenerator(buffer)) {
+            String winner = "";
+            json.writeStartObject();
+            json.writeArrayFieldStart("ranking");
+            for (Map.Entry<Player, Integer> entry : ranking.entrySet()) {
+                if (winner.isEmpty()) {
+                    winner = entry.getKey().getName();
+                }
+                json.writeStartObject();
+                json.writeStringField(NAME, entry.getKey().getName());
+                json.writeNumberField(SCORE, entry.getValue());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeStringField("winner", winner);
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void writeState(JsonGenerator json, SkyjoGame game) throws IOException {
+        Player current = game.getActualPlayer();
+        json.writeStartObject();
+        json.writeArrayFieldStart(PLAYERS);
+        for (Player player : game.getPlayers()) {
+            json.writeStartObject();
+            json.writeNumberField(ID, player.getId());
+            json.writeStringField(NAME, player.getName());
+            json.writeNumberField(SCORE, player.getCumulativeScore());
+            json.writeArrayFieldStart(CARDS);
+            List<Card> cards = player.getCartes();
+            for (int i = 0; i < cards.size(); i++) {
+                writeCard(json, cards.get(i));
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+
+        Card topDiscard = game.getTopDiscard();
+        json.writeFieldName(TOP_DISCARD);
+        if (topDiscard != null) {
+            writeCard(json, topDiscard);
+        } else {
+            json.writeNull();
+        }
+        json.writeNumberField(REMAINING_CARDS, game.getPickSize());
+        json.writeNumberField(CURRENT_PLAYER_ID, current.getId());
+        json.writeBooleanField(FINAL_ROUND, game.isFinalRound());
+        json.writeStringField(CURRENT_PLAYER_NAME, current.getName());
+        json.writeEndObject();
+    }
+
+    private static void writeCard(JsonGenerator json, Card card) throws IOException {
+        json.writeStartObject();
+        if (card.faceVisible()) {
+            json.writeStringField(VALUE, card.valeur().name());
+        } else {
+            json.writeNullField(VALUE);
+        }
+        json.writeBooleanField(FACE_VISIBLE, card.faceVisible());
+        json.writeNumberField(ID, card.id());
+        json.writeEndObject();
+    }
+}
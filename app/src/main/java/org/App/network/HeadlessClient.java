@@ -0,0 +1,173 @@
+package org.App.network;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.App.network.codec.BinaryCodec;
+import org.App.network.codec.ByteBufferPool;
+import org.App.network.codec.Frame;
+import org.App.network.codec.FrameReader;
+
+/**
+ * Protocol client without any UI: no JavaFX thread, no {@link NetworkManager}
+ * singleton.
+ * <p>
+ * Speaks the same protocol as {@link GameClient}: it unpacks
+ * {@link Protocol#BATCH} messages, answers {@link Protocol#PING}s, follows the
+ * {@link Protocol#WIRE} acknowledgement and decodes text {@code STATE}
+ * messages, so its listener
+ * sees one {@link Frame} per message with {@link Frame#state()} set for every
+ * game state, whatever the wire format. Frames are delivered on the client's
+ * own reader thread, a virtual thread, so thousands of instances can run in
+ * one JVM (this is what the load test does).
+ * </p>
+ */
+public final class HeadlessClient implements Closeable {
+
+    /** Receives the messages of one client, on its reader thread. */
+    public interface Listener {
+        void onFrame(Frame frame);
+
+        /**
+         * The connection is gone.
+         *
+         * @param error The read error, or null at a clean end of stream.
+         */
+        void onClosed(IOException error);
+    }
+
+    private final Socket socket;
+    private final OutputStream out;
+    private final FrameReader in;
+    private final Listener listener;
+    private volatile WireFormat wireFormat = WireFormat.TEXT;
+
+    /**
+     * Connects and starts reading. Nothing is sent until {@link #join} or
+     * {@link #spectate}.
+     *
+     * @param host     The server host.
+     * @param port     The server port.
+     * @param name     Used to name the reader thread.
+     * @param listener Receives the inbound messages.
+     * @throws IOException if the connection fails.
+     */
+    public HeadlessClient(String host, int port, String name, Listener listener) throws IOException {
+        this.socket = new Socket(host, port);
+        this.socket.setTcpNoDelay(true);
+        this.out = new BufferedOutputStream(socket.getOutputStream());
+        this.in = new FrameReader(socket.getInputStream());
+        this.listener = listener;
+        Thread.ofVirtual().name("skyjo-headless-" + name).start(this::readLoop);
+    }
+
+    /**
+     * Joins the game, asking for a wire format.
+     *
+     * @param playerName The player name.
+     * @param format     The requested wire format, confirmed by the server with {@link Protocol#WIRE}.
+     */
+    public void join(String playerName, WireFormat format) throws IOException {
+        send(Protocol.PLAYER_JOIN, -1, playerName, format.name());
+    }
+
+    /**
+     * Asks for a quick-play game: the server queues the player, confirms with
+     * {@link Protocol#QUEUED}, and seats them in a game that starts by itself
+     * once enough players want the same seat count.
+     *
+     * @param playerName The player name.
+     * @param seats      The number of players wanted in the game.
+     * @param format     The requested wire format, confirmed by the server with {@link Protocol#WIRE}.
+     */
+    public void quickPlay(String playerName, int seats, WireFormat format) throws IOException {
+        send(Protocol.QUICK_PLAY, -1, playerName, String.valueOf(seats), format.name());
+    }
+
+    /**
+     * Watches the game as a spectator instead of joining it.
+     *
+     * @param format The requested wire format, confirmed by the server with {@link Protocol#WIRE}.
+     */
+    public void spectate(WireFormat format) throws IOException {
+        send(Protocol.SPECTATE, -1, format.name());
+    }
+
+    /**
+     * Sends a message in the current wire format.
+     *
+     * @param type     The message type.
+     * @param playerId The player id, or -1.
+     * @param data     The message data.
+     * @throws IOException if the write fails.
+     */
+    public synchronized void send(String type, int playerId, String... data) throws IOException {
+        if (wireFormat == WireFormat.BINARY) {
+            ByteBuffer frame = BinaryCodec.encode(type, playerId, data);
+            try {
+                out.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+            } finally {
+                ByteBufferPool.shared().release(frame);
+            }
+        } else {
+            out.write(Protocol.formatMessage(type, playerId, data).getBytes(StandardCharsets.UTF_8));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // already closed
+        }
+    }
+
+    private void readLoop() {
+        IOException error = null;
+        try {
+            Frame frame;
+            while ((frame = in.read()) != null) {
+                if (Protocol.BATCH.equals(frame.type())) {
+                    int count = frame.parts().length > 2 ? Integer.parseInt(frame.parts()[2]) : 0;
+                    for (int i = 0; i < count; i++) {
+                        Frame inner = in.read();
+                        if (inner == null) {
+                            throw new EOFException("Connection closed inside a batch");
+                        }
+                        deliver(inner);
+                    }
+                } else {
+                    deliver(frame);
+                }
+            }
+        } catch (IOException e) {
+            error = e;
+        } finally {
+            close();
+        }
+        listener.onClosed(error);
+    }
+
+    private void deliver(Frame frame) throws IOException {
+        String[] parts = frame.parts();
+        if (Protocol.PING.equals(frame.type())) {
+            send(Protocol.PONG, -1, parts.length > 2 ? parts[2] : "");
+            return;
+        }
+        if (Protocol.WIRE.equals(frame.type())) {
+            wireFormat = WireFormat.fromName(parts.length > 2 ? parts[2] : null);
+        } else if (Protocol.GAME_STATE.equals(frame.type()) && frame.state() == null && parts.length > 2) {
+            frame = new Frame(parts, GameStateReader.read(parts[2]));
+        }
+        listener.onFrame(frame);
+    }
+}
@@ -0,0 +1,163 @@
+package org.App.network;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+import org.App.logging.Logger;
+
+/**
+ * Quick-play queue: players wait in a bucket per wanted seat count, and a
+ * matcher thread forms a room from each bucket as soon as it holds enough
+ * of them.
+ * <p>
+ * Joining the queue is a lock-free append to the bucket, done on the
+ * connection thread without the server monitor. Only the matcher takes
+ * players out, every few milliseconds, so a burst of arrivals is matched in
+ * one pass and the monitor is taken once per room formed, not once per
+ * player. Players who left the queue are dropped lazily, when the matcher
+ * reaches them.
+ * </p>
+ *
+ * @param <P> The waiting players.
+ */
+final class Matchmaker<P> {
+    private static final Logger LOG = Logger.get(Matchmaker.class);
+    static final int MIN_SEATS = 2;
+    static final int MAX_SEATS = 8;
+
+    /** The players waiting for a given seat count, oldest first. */
+    private static final class Bucket<P> {
+        final ConcurrentLinkedDeque<P> waiting = new ConcurrentLinkedDeque<>();
+        // Counted apart: the size of a concurrent deque is a full traversal
+        final AtomicInteger size = new AtomicInteger();
+    }
+
+    private final List<Bucket<P>> buckets = new ArrayList<>();
+    private final Predicate<P> waiting;
+    private final Predicate<List<P>> formRoom;
+    private final long intervalNanos;
+    private Thread matcher;
+    private volatile boolean closed;
+
+    /**
+     * @param intervalMillis How often the matcher looks at the buckets.
+     * @param waiting        Whether a queued player is still waiting; false once they disconnected.
+     * @param formRoom       Seats a full group and starts its game; false if no room is free,
+     *                       the group then keeps its place at the head of the queue.
+     */
+    Matchmaker(long intervalMillis, Predicate<P> waiting, Predicate<List<P>> formRoom) {
+        for (int seats = 0; seats <= MAX_SEATS; seats++) {
+            buckets.add(new Bucket<>());
+        }
+        this.waiting = waiting;
+        this.formRoom = formRoom;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, intervalMillis));
+    }
+
+    /** Starts the matcher thread. */
+    synchronized void start() {
+        if (matcher == null && !closed) {
+            matcher = Thread.ofPlatform().name("skyjo-matcher").daemon().start(this::matchLoop);
+        }
+    }
+
+    /**
+     * Puts a player in the queue. Safe from any thread.
+     *
+     * @param player The player.
+     * @param seats  The number of players they want in their game.
+     * @return false if the seat count is not between {@value #MIN_SEATS} and {@value #MAX_SEATS}.
+     */
+    boolean enqueue(P player, int seats) {
+        if (seats < MIN_SEATS || seats > MAX_SEATS) {
+            return false;
+        }
+        Bucket<P> bucket = buckets.get(seats);
+        bucket.waiting.offer(player);
+        bucket.size.incrementAndGet();
+        return true;
+    }
+
+    /** Returns the number of players in the queue, including those who left and are not dropped yet. */
+    int queued() {
+        int total = 0;
+        for (Bucket<P> bucket : buckets) {
+            total += Math.max(0, bucket.size.get());
+        }
+        return total;
+    }
+
+    /**
+     * Forms every room the queue allows right now. Called by the matcher
+     * thread; only one thread may call it at a time.
+     *
+     * @return The number of rooms formed.
+     */
+    int matchOnce() {
+        int formed = 0;
+        for (int seats = MIN_SEATS; seats <= MAX_SEATS; seats++) {
+            Bucket<P> bucket = buckets.get(seats);
+            while (bucket.size.get() >= seats) {
+                List<P> group = take(bucket, seats);
+                if (group.size() < seats) {
+                    putBack(bucket, group); // some had left: not enough any more
+                    break;
+                }
+                if (!formRoom.test(group)) {
+                    putBack(bucket, group);
+                    return formed; // no free room: try again next pass
+                }
+                formed++;
+            }
+        }
+        return formed;
+    }
+
+    /** Stops the matcher; the players still queued are left waiting. */
+    void close() {
+        closed = true;
+        Thread thread;
+        synchronized (this) {
+            thread = matcher;
+        }
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private List<P> take(Bucket<P> bucket, int seats) {
+        List<P> group = new ArrayList<>(seats);
+        P player;
+        while (group.size() < seats && (player = bucket.waiting.poll()) != null) {
+            bucket.size.decrementAndGet();
+            if (waiting.test(player)) {
+                group.add(player);
+            }
+        }
+        return group;
+    }
+
+    /** Puts a group back at the head of its bucket, in its original order. */
+    private static <P> void putBack(Bucket<P> bucket, List<P> group) {
+        for (int i = group.size() - 1; i >= 0; i--) {
+            bucket.waiting.offerFirst(group.get(i));
+            bucket.size.incrementAndGet();
+        }
+    }
+
+    private void matchLoop() {
+        while (!closed) {
+            LockSupport.parkNanos(this, intervalNanos);
+            try {
+                matchOnce();
+            } catch (RuntimeException e) {
+                LOG.warn("Matchmaking pass failed: {}", e.toString());
+            }
+        }
+    }
+}
@@ -16,9 +16,13 @@ public class NetworkCardState implements Serializable {
     public NetworkCardState() {
     }
     
+    /**
+     * Public projection of a card: the value of a face-down card is left out
+     * so that clients never learn what they are not allowed to see.
+     */
     public static NetworkCardState fromCard(Card card) {
         NetworkCardState state = new NetworkCardState();
-        state.value = card.valeur();
+        state.value = card.faceVisible() ? card.valeur() : null;
         state.faceVisible = card.faceVisible();
         state.id = card.id();
         return state;
@@ -58,4 +58,8 @@ public class NetworkPlayerState implements Serializable {
     public List<NetworkCardState> getCards() {
         return cards;
     }
+
+    public void setCards(List<NetworkCardState> cards) {
+        this.cards = cards;
+    }
 }
\ No newline at end of file
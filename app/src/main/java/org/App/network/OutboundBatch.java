@@ -0,0 +1,61 @@
+package org.App.network;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the messages produced by one server command, per recipient, so
+ * that each client receives them as a single {@link Protocol#BATCH} write.
+ * <p>
+ * A coalescable message ({@code STATE}) replaces the pending one of the same
+ * type in place: the client only sees the final state of the command, at the
+ * position of the first update. Recipients with the same message sequence,
+ * typically everyone after a broadcast-only command, share one batch.
+ * </p>
+ * Not thread-safe: used under the server monitor.
+ */
+final class OutboundBatch {
+    private final Map<ClientHandler, List<EncodedMessage>> pending = new LinkedHashMap<>();
+
+    void add(ClientHandler client, EncodedMessage message) {
+        List<EncodedMessage> messages = pending.computeIfAbsent(client, c -> new ArrayList<>(4));
+        if (message.isCoalescable()) {
+            for (int i = 0; i < messages.size(); i++) {
+                if (messages.get(i).type().equals(message.type())) {
+                    messages.set(i, message);
+                    return;
+                }
+            }
+        }
+        messages.add(message);
+    }
+
+    /**
+     * Queues the collected messages on each client's connection.
+     *
+     * @return The clients whose connection refused the messages.
+     */
+    List<ClientHandler> flush() {
+        // Keyed by the message list itself: EncodedMessage uses identity equality
+        Map<List<EncodedMessage>, EncodedMessage> batches = new HashMap<>();
+        List<ClientHandler> failed = new ArrayList<>();
+        for (Map.Entry<ClientHandler, List<EncodedMessage>> entry : pending.entrySet()) {
+            List<EncodedMessage> messages = entry.getValue();
+            EncodedMessage message = messages.size() == 1
+                    ? messages.get(0)
+                    : batches.computeIfAbsent(messages, EncodedMessage::batch);
+            try {
+                if (!entry.getKey().send(message)) {
+                    failed.add(entry.getKey());
+                }
+            } catch (Exception e) {
+                failed.add(entry.getKey());
+            }
+        }
+        pending.clear();
+        return failed;
+    }
+}
@@ -0,0 +1,227 @@
+package org.App.network;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+import org.App.logging.Logger;
+
+/**
+ * Bounded per-connection queue of outbound messages, drained by a dedicated writer thread.
+ * <p>
+ * {@link #offer} never blocks on the network, so the server can broadcast while
+ * holding its monitor without being stalled by one slow TCP peer. How a slow
+ * peer is handled depends on the configured {@link SlowConsumerPolicy}; when
+ * the policy gives up on a connection, the {@code onSlowConsumer} callback is
+ * invoked outside of the queue lock.
+ * </p>
+ */
+public final class OutboundQueue {
+    private static final Logger LOG = Logger.get(OutboundQueue.class);
+
+    private final String name;
+    private final OutputStream out;
+    private final Supplier<WireFormat> wireFormat;
+    private final Runnable onSlowConsumer;
+    private final LongConsumer onWritten;
+    private final int capacity;
+    private final int highWaterMark;
+    private final long graceNanos;
+    private final SlowConsumerPolicy policy;
+
+    private final ArrayDeque<EncodedMessage> pending = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private long overHighWaterSince = -1;
+    private boolean closed;
+
+    // Gathers the messages drained together into one socket write; only used by the writer thread
+    private byte[] scratch = new byte[8 * 1024];
+
+    /**
+     * Creates a queue. Call {@link #start()} to launch the writer.
+     *
+     * @param name           The connection name, used for the writer thread name.
+     * @param out            The socket output stream.
+     * @param wireFormat     Supplies the connection's current wire format.
+     * @param config         The server configuration.
+     * @param onSlowConsumer Invoked once when the policy decides to drop the connection.
+     */
+    public OutboundQueue(String name, OutputStream out, Supplier<WireFormat> wireFormat,
+            ServerConfig config, Runnable onSlowConsumer) {
+        this(name, out, wireFormat, config, onSlowConsumer, bytes -> { });
+    }
+
+    /**
+     * Creates a queue that reports the number of bytes written by each batch.
+     *
+     * @param onWritten Receives the size of every batch written to the socket.
+     */
+    public OutboundQueue(String name, OutputStream out, Supplier<WireFormat> wireFormat,
+            ServerConfig config, Runnable onSlowConsumer, LongConsumer onWritten) {
+        this.name = name;
+        this.onWritten = onWritten;
+        this.out = out;
+        this.wireFormat = wireFormat;
+        this.onSlowConsumer = onSlowConsumer;
+        this.capacity = config.getOutboundQueueCapacity();
+        this.highWaterMark = config.getOutboundHighWaterMark();
+        this.graceNanos = config.getOutboundHighWaterGraceMillis() * 1_000_000L;
+        this.policy = config.getSlowConsumerPolicy();
+    }
+
+    /** Starts the writer thread. */
+    public void start() {
+        Thread.ofVirtual().name("skyjo-writer-" + name).start(this::drain);
+    }
+
+    /**
+     * Queues a message without blocking.
+     *
+     * @param message The message to send.
+     * @return false if the queue is closed or the message was rejected.
+     */
+    public boolean offer(EncodedMessage message) {
+        boolean slowConsumer = false;
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            if (policy == SlowConsumerPolicy.DROP_INTERMEDIATE && message.isCoalescable()) {
+                removeSuperseded();
+            }
+            if (pending.size() >= capacity) {
+                slowConsumer = true;
+            } else {
+                pending.addLast(message);
+                notEmpty.signal();
+                slowConsumer = policy == SlowConsumerPolicy.DISCONNECT && staysOverHighWater();
+            }
+            if (slowConsumer) {
+                close();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (slowConsumer) {
+            LOG.warn("Client {} is not keeping up with its messages, disconnecting", name);
+            onSlowConsumer.run();
+            return false;
+        }
+        return true;
+    }
+
+    /** Returns the number of messages waiting to be written. */
+    public int size() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting messages. The writer flushes what is already queued and exits.
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the queued states, a newer one being on its way. A queued batch
+     * keeps its other messages, in place. Caller holds the lock.
+     */
+    private void removeSuperseded() {
+        for (int i = pending.size(); i > 0; i--) {
+            EncodedMessage queued = pending.pollFirst();
+            EncodedMessage kept = queued.withoutState();
+            if (kept != null) {
+                pending.addLast(kept);
+            }
+        }
+    }
+
+    /** Tracks how long the queue has been above the high-water mark. Caller holds the lock. */
+    private boolean staysOverHighWater() {
+        if (pending.size() <= highWaterMark) {
+            overHighWaterSince = -1;
+            return false;
+        }
+        long now = System.nanoTime();
+        if (overHighWaterSince < 0) {
+            overHighWaterSince = now;
+        }
+        return now - overHighWaterSince > graceNanos;
+    }
+
+    /**
+     * Writes the drained messages in a single call, so that they leave in as
+     * few packets as their size allows rather than one per message.
+     *
+     * @return The number of bytes written.
+     */
+    private int write(List<EncodedMessage> messages, WireFormat format) throws IOException {
+        if (messages.size() == 1) {
+            EncodedMessage message = messages.get(0);
+            message.writeTo(out, format);
+            return message.size(format);
+        }
+        int size = 0;
+        for (EncodedMessage message : messages) {
+            size += message.size(format);
+        }
+        if (scratch.length < size) {
+            scratch = new byte[Math.max(size, scratch.length * 2)];
+        }
+        int position = 0;
+        for (EncodedMessage message : messages) {
+            position = message.copyTo(scratch, position, format);
+        }
+        out.write(scratch, 0, size);
+        return size;
+    }
+
+    private void drain() {
+        List<EncodedMessage> batch = new ArrayList<>();
+        while (true) {
+            lock.lock();
+            try {
+                while (pending.isEmpty() && !closed) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                if (pending.isEmpty()) {
+                    return; // closed and fully drained
+                }
+                batch.addAll(pending);
+                pending.clear();
+                overHighWaterSince = -1;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                onWritten.accept(write(batch, wireFormat.get()));
+            } catch (IOException e) {
+                LOG.info("Error sending message to {}: {}", name, e.getMessage());
+                close();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
@@ -13,6 +13,31 @@ public class Protocol {
     public static final String GAME_END = "END";
     public static final String ERROR = "ERROR";
     public static final String PLAYER_LEFT = "LEFT";
+    // Accusé de réception du format négocié au JOIN (voir WireFormat)
+    public static final String WIRE = "WIRE";
+    // Commandes composées: un tour complet en un seul message (data = index de la carte)
+    public static final String CARD_PICK_EXCHANGE = "PICK_EXCHANGE";          // pioche + échange
+    public static final String DISCARD_TAKE_EXCHANGE = "TAKE_EXCHANGE";       // prise de la défausse + échange
+    public static final String CARD_PICK_DISCARD_REVEAL = "PICK_REVEAL";      // pioche + défausse + révélation
+    // Carte tenue par le joueur courant, envoyée à lui seul: HELD|playerId|VALEUR
+    public static final String HELD_CARD = "HELD";
+    // En-tête de lot: BATCH|-1|n, suivi des n messages produits par une même action
+    public static final String BATCH = "BATCH";
+    // Battement de cœur: PING|-1|jeton, auquel le pair répond PONG|-1|jeton (même jeton)
+    public static final String PING = "PING";
+    public static final String PONG = "PONG";
+    // Reprise de session: SESSION|id|jeton après le JOIN, RESUME|-1|jeton|FORMAT pour reprendre sa place
+    public static final String SESSION = "SESSION";
+    public static final String RESUME = "RESUME";
+    // Connexion d'un joueur perdue (place gardée) puis reprise: AWAY|id|nom, BACK|id|nom
+    public static final String PLAYER_AWAY = "AWAY";
+    public static final String PLAYER_BACK = "BACK";
+    // Spectateur: SPECTATE|-1|FORMAT, reçoit l'état public sans prendre de place
+    public static final String SPECTATE = "SPECTATE";
+    // Partie rapide: QUICK|-1|nom|places|FORMAT met le joueur en file d'attente, confirmé par QUEUED|-1|places;
+    // la partie démarre d'elle-même dès que la file compte assez de joueurs pour ce nombre de places
+    public static final String QUICK_PLAY = "QUICK";
+    public static final String QUEUED = "QUEUED";
     
     // Format: TYPE|playerId|[données supplémentaires selon le type]
     public static String formatMessage(String type, int playerId, String... data) {
@@ -0,0 +1,95 @@
+package org.App.network;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets limiting what one connection may send.
+ * <p>
+ * Every message but the heartbeats, which the connection answers itself,
+ * takes a token from the connection's bucket, the ceiling for all types.
+ * Each game command also takes one from a bucket of its own type, so that
+ * repeating one command cannot use the whole budget; the session commands
+ * ({@code JOIN}, {@code RESUME}, {@code SPECTATE}, {@code QUICK}), which are
+ * costlier for the server and have no reason to be repeated, share a much
+ * smaller bucket. A message finding an empty bucket is dropped before it
+ * reaches the server.
+ * </p>
+ * Not thread-safe: one limiter per connection, used by its listener thread.
+ */
+final class RateLimiter {
+    private static final List<String> SESSION_COMMANDS = List.of(Protocol.PLAYER_JOIN, Protocol.RESUME,
+            Protocol.SPECTATE, Protocol.QUICK_PLAY);
+    private static final List<String> GAME_COMMANDS = List.of(Protocol.CARD_PICK, Protocol.CARD_DISCARD,
+            Protocol.CARD_REVEAL, Protocol.CARD_EXCHANGE, Protocol.CARD_PICK_EXCHANGE,
+            Protocol.DISCARD_TAKE_EXCHANGE, Protocol.CARD_PICK_DISCARD_REVEAL);
+
+    /** Refills continuously at a fixed rate, up to its burst size. */
+    private static final class TokenBucket {
+        private final double perNano;
+        private final double burst;
+        private double tokens;
+        private long refilledNanos;
+
+        TokenBucket(double perSecond, int burst, long now) {
+            this.perNano = perSecond / TimeUnit.SECONDS.toNanos(1);
+            this.burst = burst;
+            this.tokens = burst;
+            this.refilledNanos = now;
+        }
+
+        boolean tryTake(long now) {
+            tokens = Math.min(burst, tokens + (now - refilledNanos) * perNano);
+            refilledNanos = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+
+    private final TokenBucket messages;
+    // Fixed when built: the types without a bucket only count against the connection's
+    private final Map<String, TokenBucket> byType = new HashMap<>();
+
+    /**
+     * @param config The message, session command and game command rates; a rate of 0 or less disables the limit.
+     */
+    RateLimiter(ServerConfig config) {
+        long now = System.nanoTime();
+        this.messages = config.getMessageRate() > 0
+                ? new TokenBucket(config.getMessageRate(), config.getMessageBurst(), now)
+                : null;
+        if (config.getSessionCommandRate() > 0) {
+            TokenBucket sessionCommands = new TokenBucket(config.getSessionCommandRate(),
+                    config.getSessionCommandBurst(), now);
+            for (String type : SESSION_COMMANDS) {
+                byType.put(type, sessionCommands);
+            }
+        }
+        if (config.getGameCommandRate() > 0) {
+            for (String type : GAME_COMMANDS) {
+                byType.put(type, new TokenBucket(config.getGameCommandRate(), config.getGameCommandBurst(), now));
+            }
+        }
+    }
+
+    /**
+     * Takes the tokens a message needs.
+     *
+     * @param type The message type.
+     * @return false if the message must be dropped.
+     */
+    boolean tryAcquire(String type) {
+        long now = System.nanoTime();
+        // The type first: a flood of one command must not drain the budget of the others
+        TokenBucket bucket = byType.get(type);
+        if (bucket != null && !bucket.tryTake(now)) {
+            return false;
+        }
+        return messages == null || messages.tryTake(now);
+    }
+}
@@ -0,0 +1,469 @@
+package org.App.network;
+
+import org.App.model.player.Difficulty;
+
+/**
+ * Tunable server settings.
+ * <p>
+ * Defaults can be overridden with {@code -Dskyjo.server.<key>=<value>} system
+ * properties or with {@code --<key>=<value>} arguments to the server launcher.
+ * Arguments take precedence over system properties.
+ * </p>
+ *
+ * @see GameServer
+ */
+public class ServerConfig {
+    private static final String PROPERTY_PREFIX = "skyjo.server.";
+
+    private int outboundQueueCapacity = 256;
+    private int outboundHighWaterMark = 64;
+    private long outboundHighWaterGraceMillis = 5_000;
+    private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.DROP_INTERMEDIATE;
+    private long heartbeatIntervalMillis = 5_000;
+    private long idleTimeoutMillis = 15_000;
+    private long sessionGraceMillis = 60_000;
+    private int maxSpectators = 500;
+    private long spectatorIntervalMillis = 100;
+    private String journalDirectory = "";
+    private int journalSegmentBytes = 8 * 1024 * 1024;
+    private long journalSyncMillis = 5;
+    private int snapshotEvery = 32;
+    private int replicationPort = -1;
+    private String standbyOf = "";
+    private long standbyTimeoutMillis = 1_000;
+    private long hibernateAfterMillis = 600_000;
+    private String hibernateDirectory = "";
+    private int aiThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private long aiDeadlineMillis = 2_000;
+    private long turnTimeMillis = 60_000;
+    private Difficulty turnTimeoutAi;
+    private long matchmakingIntervalMillis = 5;
+    private int maxMessageBytes = 4096;
+    private double messageRate = 40;
+    private int messageBurst = 80;
+    private double sessionCommandRate = 1;
+    private int sessionCommandBurst = 5;
+    private double gameCommandRate = 10;
+    private int gameCommandBurst = 20;
+    private int maxDroppedMessages = 100;
+    private int metricsPort = -1;
+    private String metricsHost = "127.0.0.1";
+
+    /** Creates a configuration with the built-in defaults. */
+    public ServerConfig() {
+    }
+
+    /**
+     * Creates a configuration from the {@code skyjo.server.*} system properties.
+     *
+     * @return The configuration.
+     */
+    public static ServerConfig fromSystemProperties() {
+        ServerConfig config = new ServerConfig();
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(PROPERTY_PREFIX)) {
+                config.set(name.substring(PROPERTY_PREFIX.length()), System.getProperty(name));
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Applies a {@code --key=value} command-line argument.
+     *
+     * @param argument The argument, including the leading dashes.
+     * @throws IllegalArgumentException if the argument is malformed or unknown.
+     */
+    public void applyArgument(String argument) {
+        int separator = argument.indexOf('=');
+        if (!argument.startsWith("--") || separator < 0) {
+            throw new IllegalArgumentException("Expected --key=value but got: " + argument);
+        }
+        set(argument.substring(2, separator), argument.substring(separator + 1));
+    }
+
+    /**
+     * Sets a setting by its external key.
+     *
+     * @param key   The setting key, e.g. {@code slow-consumer}.
+     * @param value The value to parse.
+     * @throws IllegalArgumentException if the key is unknown or the value invalid.
+     */
+    public void set(String key, String value) {
+        switch (key) {
+            case "outbound-queue-capacity" -> outboundQueueCapacity = Integer.parseInt(value);
+            case "outbound-high-water" -> outboundHighWaterMark = Integer.parseInt(value);
+            case "outbound-grace-ms" -> outboundHighWaterGraceMillis = Long.parseLong(value);
+            case "slow-consumer" -> slowConsumerPolicy = SlowConsumerPolicy.fromName(value);
+            case "heartbeat-interval-ms" -> heartbeatIntervalMillis = Long.parseLong(value);
+            case "idle-timeout-ms" -> idleTimeoutMillis = Long.parseLong(value);
+            case "session-grace-ms" -> sessionGraceMillis = Long.parseLong(value);
+            case "max-spectators" -> maxSpectators = Integer.parseInt(value);
+            case "spectator-interval-ms" -> spectatorIntervalMillis = Long.parseLong(value);
+            case "journal-dir" -> journalDirectory = value;
+            case "journal-segment-bytes" -> journalSegmentBytes = Integer.parseInt(value);
+            case "journal-sync-ms" -> journalSyncMillis = Long.parseLong(value);
+            case "snapshot-every" -> snapshotEvery = Integer.parseInt(value);
+            case "replication-port" -> replicationPort = Integer.parseInt(value);
+            case "standby-of" -> standbyOf = value;
+            case "standby-timeout-ms" -> standbyTimeoutMillis = Long.parseLong(value);
+            case "hibernate-after-ms" -> hibernateAfterMillis = Long.parseLong(value);
+            case "hibernate-dir" -> hibernateDirectory = value;
+            case "ai-threads" -> aiThreads = Integer.parseInt(value);
+            case "ai-deadline-ms" -> aiDeadlineMillis = Long.parseLong(value);
+            case "turn-time-ms" -> turnTimeMillis = Long.parseLong(value);
+            case "turn-timeout-ai" -> turnTimeoutAi = value.isEmpty()
+                    ? null
+                    : Difficulty.valueOf(value.toUpperCase());
+            case "matchmaking-interval-ms" -> matchmakingIntervalMillis = Long.parseLong(value);
+            case "max-message-bytes" -> maxMessageBytes = Integer.parseInt(value);
+            case "message-rate" -> messageRate = Double.parseDouble(value);
+            case "message-burst" -> messageBurst = Integer.parseInt(value);
+            case "session-command-rate" -> sessionCommandRate = Double.parseDouble(value);
+            case "session-command-burst" -> sessionCommandBurst = Integer.parseInt(value);
+            case "game-command-rate" -> gameCommandRate = Double.parseDouble(value);
+            case "game-command-burst" -> gameCommandBurst = Integer.parseInt(value);
+            case "max-dropped-messages" -> maxDroppedMessages = Integer.parseInt(value);
+            case "metrics-port" -> metricsPort = Integer.parseInt(value);
+            case "metrics-host" -> metricsHost = value;
+            default -> throw new IllegalArgumentException("Unknown server setting: " + key);
+        }
+    }
+
+    /** Maximum number of messages queued for one client. */
+    public int getOutboundQueueCapacity() {
+        return outboundQueueCapacity;
+    }
+
+    public void setOutboundQueueCapacity(int outboundQueueCapacity) {
+        this.outboundQueueCapacity = outboundQueueCapacity;
+    }
+
+    /** Queue length above which a client is considered slow. */
+    public int getOutboundHighWaterMark() {
+        return outboundHighWaterMark;
+    }
+
+    public void setOutboundHighWaterMark(int outboundHighWaterMark) {
+        this.outboundHighWaterMark = outboundHighWaterMark;
+    }
+
+    /** How long a queue may stay above the high-water mark under {@link SlowConsumerPolicy#DISCONNECT}. */
+    public long getOutboundHighWaterGraceMillis() {
+        return outboundHighWaterGraceMillis;
+    }
+
+    public void setOutboundHighWaterGraceMillis(long outboundHighWaterGraceMillis) {
+        this.outboundHighWaterGraceMillis = outboundHighWaterGraceMillis;
+    }
+
+    public SlowConsumerPolicy getSlowConsumerPolicy() {
+        return slowConsumerPolicy;
+    }
+
+    public void setSlowConsumerPolicy(SlowConsumerPolicy slowConsumerPolicy) {
+        this.slowConsumerPolicy = slowConsumerPolicy;
+    }
+
+    /** Time between two PINGs to a connection. */
+    public long getHeartbeatIntervalMillis() {
+        return heartbeatIntervalMillis;
+    }
+
+    public void setHeartbeatIntervalMillis(long heartbeatIntervalMillis) {
+        this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+    }
+
+    /**
+     * Time without receiving anything, PONGs included, after which a
+     * connection is considered dead and closed. Should span a few heartbeats.
+     */
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * How long the seat of a player whose connection dropped during a game is
+     * held for them to resume; 0 frees it immediately.
+     */
+    public long getSessionGraceMillis() {
+        return sessionGraceMillis;
+    }
+
+    public void setSessionGraceMillis(long sessionGraceMillis) {
+        this.sessionGraceMillis = sessionGraceMillis;
+    }
+
+    /** Maximum number of spectators watching the game. */
+    public int getMaxSpectators() {
+        return maxSpectators;
+    }
+
+    public void setMaxSpectators(int maxSpectators) {
+        this.maxSpectators = maxSpectators;
+    }
+
+    /**
+     * Minimum time between two deliveries to spectators: what is broadcast
+     * meanwhile is sent to them as one batch, with only the latest state.
+     */
+    public long getSpectatorIntervalMillis() {
+        return spectatorIntervalMillis;
+    }
+
+    public void setSpectatorIntervalMillis(long spectatorIntervalMillis) {
+        this.spectatorIntervalMillis = spectatorIntervalMillis;
+    }
+
+    /** Directory of the game journal, or empty to run without one (the default). */
+    public String getJournalDirectory() {
+        return journalDirectory;
+    }
+
+    public void setJournalDirectory(String journalDirectory) {
+        this.journalDirectory = journalDirectory;
+    }
+
+    /** Size of a journal segment file. */
+    public int getJournalSegmentBytes() {
+        return journalSegmentBytes;
+    }
+
+    public void setJournalSegmentBytes(int journalSegmentBytes) {
+        this.journalSegmentBytes = journalSegmentBytes;
+    }
+
+    /**
+     * Interval between two syncs of the journal to disk, i.e. how much of the
+     * latest play a crash can lose; 0 syncs every event before going on.
+     */
+    public long getJournalSyncMillis() {
+        return journalSyncMillis;
+    }
+
+    public void setJournalSyncMillis(long journalSyncMillis) {
+        this.journalSyncMillis = journalSyncMillis;
+    }
+
+    /**
+     * Number of journal events between two snapshots of the game in progress,
+     * which bounds what a recovery replays; 0 disables snapshots. Only used
+     * with a journal.
+     */
+    public int getSnapshotEvery() {
+        return snapshotEvery;
+    }
+
+    public void setSnapshotEvery(int snapshotEvery) {
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    /** Port standby servers replicate from, or a negative value to disable replication (the default). */
+    public int getReplicationPort() {
+        return replicationPort;
+    }
+
+    public void setReplicationPort(int replicationPort) {
+        this.replicationPort = replicationPort;
+    }
+
+    /**
+     * Replication address ({@code host:port}) of the primary this server
+     * stands by for, or empty for a normal server (the default). A standby
+     * accepts no connection until it takes over.
+     */
+    public String getStandbyOf() {
+        return standbyOf;
+    }
+
+    public void setStandbyOf(String standbyOf) {
+        this.standbyOf = standbyOf;
+    }
+
+    /** How long a standby waits for news from its primary before taking over. */
+    public long getStandbyTimeoutMillis() {
+        return standbyTimeoutMillis;
+    }
+
+    public void setStandbyTimeoutMillis(long standbyTimeoutMillis) {
+        this.standbyTimeoutMillis = standbyTimeoutMillis;
+    }
+
+    /**
+     * How long a game may go without any command before it is written to
+     * disk and dropped from memory until the next one; 0 keeps games in
+     * memory.
+     */
+    public long getHibernateAfterMillis() {
+        return hibernateAfterMillis;
+    }
+
+    public void setHibernateAfterMillis(long hibernateAfterMillis) {
+        this.hibernateAfterMillis = hibernateAfterMillis;
+    }
+
+    /** Directory of hibernated games, or empty for the system temporary directory (the default). */
+    public String getHibernateDirectory() {
+        return hibernateDirectory;
+    }
+
+    public void setHibernateDirectory(String hibernateDirectory) {
+        this.hibernateDirectory = hibernateDirectory;
+    }
+
+    /** Number of threads deciding the moves of AI seats; half the cores by default. */
+    public int getAiThreads() {
+        return aiThreads;
+    }
+
+    public void setAiThreads(int aiThreads) {
+        this.aiThreads = aiThreads;
+    }
+
+    /**
+     * Time an AI seat may take to decide a move, waiting for a thread
+     * included; past it, a simple legal move is played instead.
+     */
+    public long getAiDeadlineMillis() {
+        return aiDeadlineMillis;
+    }
+
+    public void setAiDeadlineMillis(long aiDeadlineMillis) {
+        this.aiDeadlineMillis = aiDeadlineMillis;
+    }
+
+    /**
+     * Time a player has to play their turn, or 0 for no limit. Past it, the
+     * server plays for them.
+     */
+    public long getTurnTimeMillis() {
+        return turnTimeMillis;
+    }
+
+    public void setTurnTimeMillis(long turnTimeMillis) {
+        this.turnTimeMillis = turnTimeMillis;
+    }
+
+    /**
+     * Difficulty of the AI that plays a timed-out turn, or null to play a
+     * simple legal move (the default).
+     */
+    public Difficulty getTurnTimeoutAi() {
+        return turnTimeoutAi;
+    }
+
+    public void setTurnTimeoutAi(Difficulty turnTimeoutAi) {
+        this.turnTimeoutAi = turnTimeoutAi;
+    }
+
+    /** How often the quick-play matcher forms rooms from the queued players. */
+    public long getMatchmakingIntervalMillis() {
+        return matchmakingIntervalMillis;
+    }
+
+    public void setMatchmakingIntervalMillis(long matchmakingIntervalMillis) {
+        this.matchmakingIntervalMillis = matchmakingIntervalMillis;
+    }
+
+    /** Largest message accepted from a client; a longer one closes its connection. */
+    public int getMaxMessageBytes() {
+        return maxMessageBytes;
+    }
+
+    public void setMaxMessageBytes(int maxMessageBytes) {
+        this.maxMessageBytes = maxMessageBytes;
+    }
+
+    /** Messages per second a connection may send on average, or 0 for no limit. */
+    public double getMessageRate() {
+        return messageRate;
+    }
+
+    public void setMessageRate(double messageRate) {
+        this.messageRate = messageRate;
+    }
+
+    /** Messages a connection may send in a burst, above the average rate. */
+    public int getMessageBurst() {
+        return messageBurst;
+    }
+
+    public void setMessageBurst(int messageBurst) {
+        this.messageBurst = messageBurst;
+    }
+
+    /**
+     * Session commands ({@code JOIN}, {@code RESUME}, {@code SPECTATE},
+     * {@code QUICK}) per second a connection may send on average, or 0 for
+     * no limit of their own.
+     */
+    public double getSessionCommandRate() {
+        return sessionCommandRate;
+    }
+
+    public void setSessionCommandRate(double sessionCommandRate) {
+        this.sessionCommandRate = sessionCommandRate;
+    }
+
+    /** Session commands a connection may send in a burst. */
+    public int getSessionCommandBurst() {
+        return sessionCommandBurst;
+    }
+
+    public void setSessionCommandBurst(int sessionCommandBurst) {
+        this.sessionCommandBurst = sessionCommandBurst;
+    }
+
+    /**
+     * Game commands ({@code PICK}, {@code REVEAL}, {@code PICK_EXCHANGE}...)
+     * of one type per second a connection may send on average, or 0 for no
+     * limit per type.
+     */
+    public double getGameCommandRate() {
+        return gameCommandRate;
+    }
+
+    public void setGameCommandRate(double gameCommandRate) {
+        this.gameCommandRate = gameCommandRate;
+    }
+
+    /** Game commands of one type a connection may send in a burst. */
+    public int getGameCommandBurst() {
+        return gameCommandBurst;
+    }
+
+    public void setGameCommandBurst(int gameCommandBurst) {
+        this.gameCommandBurst = gameCommandBurst;
+    }
+
+    /** Messages dropped by the rate limits after which the connection is closed, or 0 never to close it. */
+    public int getMaxDroppedMessages() {
+        return maxDroppedMessages;
+    }
+
+    public void setMaxDroppedMessages(int maxDroppedMessages) {
+        this.maxDroppedMessages = maxDroppedMessages;
+    }
+
+    /** Port of the HTTP metrics endpoint, or a negative value to disable it (the default). */
+    public int getMetricsPort() {
+        return metricsPort;
+    }
+
+    public void setMetricsPort(int metricsPort) {
+        this.metricsPort = metricsPort;
+    }
+
+    /** Address the metrics endpoint binds to; loopback unless opened up explicitly. */
+    public String getMetricsHost() {
+        return metricsHost;
+    }
+
+    public void setMetricsHost(String metricsHost) {
+        this.metricsHost = metricsHost;
+    }
+}
@@ -0,0 +1,115 @@
+package org.App.network;
+
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * A player's seat in the game, identified by a secret token handed out at
+ * {@code JOIN}.
+ * <p>
+ * When the player's connection drops during a game, the seat is held for a
+ * grace period instead of being freed: the messages broadcast meanwhile are
+ * kept (game states excepted, since the resume sends a fresh one) and a new
+ * connection presenting the token with {@link Protocol#RESUME} takes the seat
+ * back where it was.
+ * </p>
+ * Only used under the server monitor.
+ */
+final class Session {
+    /** Beyond this, older missed messages are dropped; the resume snapshot still carries the game. */
+    private static final int MAX_MISSED = 64;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final String token;
+    private final int playerId;
+    private final String name;
+    private ClientHandler connection;
+    private TimerWheel.Timeout expiry;
+    private final ArrayDeque<EncodedMessage> missed = new ArrayDeque<>();
+
+    Session(int playerId, String name, ClientHandler connection) {
+        this(newToken(), playerId, name, connection);
+    }
+
+    /**
+     * Restores the seat of a recovered game, with the token its player
+     * already has. Nobody is connected yet.
+     */
+    Session(String token, int playerId, String name) {
+        this(token, playerId, name, null);
+    }
+
+    private Session(String token, int playerId, String name, ClientHandler connection) {
+        this.token = token;
+        this.playerId = playerId;
+        this.name = name;
+        this.connection = connection;
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[16];
+        RANDOM.nextBytes(bytes);
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    String token() {
+        return token;
+    }
+
+    int playerId() {
+        return playerId;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /** Returns the current connection, or null while the seat is held. */
+    ClientHandler connection() {
+        return connection;
+    }
+
+    boolean isAway() {
+        return connection == null;
+    }
+
+    /**
+     * Holds the seat after its connection dropped.
+     *
+     * @param expiry Frees the seat when the grace period is over.
+     */
+    void hold(TimerWheel.Timeout expiry) {
+        this.connection = null;
+        this.expiry = expiry;
+        missed.clear();
+    }
+
+    /**
+     * Gives the seat to a new connection.
+     *
+     * @return The messages missed while away, oldest first.
+     */
+    List<EncodedMessage> resume(ClientHandler connection) {
+        if (expiry != null) {
+            expiry.cancel();
+            expiry = null;
+        }
+        this.connection = connection;
+        List<EncodedMessage> result = List.copyOf(missed);
+        missed.clear();
+        return result;
+    }
+
+    /** Keeps a broadcast for the absent player. */
+    void missed(EncodedMessage message) {
+        if (message.isCoalescable()) {
+            return; // superseded by the state sent on resume
+        }
+        if (missed.size() == MAX_MISSED) {
+            missed.removeFirst();
+        }
+        missed.addLast(message);
+    }
+}
@@ -0,0 +1,40 @@
+package org.App.network;
+
+/**
+ * What the server does when a client reads its messages slower than they are produced.
+ *
+ * @see OutboundQueue
+ * @see ServerConfig
+ */
+public enum SlowConsumerPolicy {
+
+    /**
+     * Keep only the newest pending {@code STATE}: a state still queued when a
+     * newer one arrives is dropped, since the newer one supersedes it. The
+     * connection is closed only if the queue fills up with messages that
+     * cannot be dropped.
+     */
+    DROP_INTERMEDIATE,
+
+    /**
+     * Deliver every message, but close the connection once its queue has
+     * stayed above the high-water mark for longer than the grace period, or
+     * immediately when the queue is full.
+     */
+    DISCONNECT;
+
+    /**
+     * Parses a policy name as given on the command line ({@code drop} or {@code disconnect}).
+     *
+     * @param name The policy name (case-insensitive).
+     * @return The matching policy.
+     * @throws IllegalArgumentException if the name is unknown.
+     */
+    public static SlowConsumerPolicy fromName(String name) {
+        return switch (name.trim().toLowerCase()) {
+            case "drop", "drop_intermediate" -> DROP_INTERMEDIATE;
+            case "disconnect" -> DISCONNECT;
+            default -> throw new IllegalArgumentException("Unknown slow consumer policy: " + name);
+        };
+    }
+}
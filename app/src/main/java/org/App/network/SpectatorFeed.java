@@ -0,0 +1,245 @@
+package org.App.network;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.App.logging.Logger;
+
+/**
+ * Fan-out of the public message stream to spectators, off the players' path.
+ * <p>
+ * A broadcast only appends the message to this feed, whatever the number of
+ * spectators; a dedicated thread delivers it to each of them later. The
+ * thread wakes up at most once per interval and sends everything that
+ * accumulated meanwhile as one shared {@link Protocol#BATCH}, keeping only
+ * the last {@code STATE}: hundreds of spectators cost one encoding per
+ * interval and format, not one per message and spectator. A spectator that
+ * cannot keep up is dropped by its own {@link OutboundQueue} like any client.
+ * </p>
+ * Spectators added while messages are pending only receive what is published
+ * after them, preceded by their own snapshot, so they never see an older
+ * state after a newer one.
+ */
+final class SpectatorFeed {
+    private static final Logger LOG = Logger.get(SpectatorFeed.class);
+    /** Beyond this, the oldest pending messages are dropped; the next state catches up. */
+    private static final int MAX_PENDING = 1024;
+
+    private record Join(ClientHandler spectator, List<EncodedMessage> snapshot) {
+    }
+
+    private final int maxSpectators;
+    private final long intervalNanos;
+    private final List<ClientHandler> spectators = new ArrayList<>(); // delivery thread only
+    private final Set<ClientHandler> members = new HashSet<>();
+    private final ArrayDeque<EncodedMessage> pending = new ArrayDeque<>();
+    private final List<Join> joins = new ArrayList<>();
+    private final List<ClientHandler> leaves = new ArrayList<>();
+    private final Map<WireFormat, Integer> formats = new EnumMap<>(WireFormat.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private boolean closed;
+
+    SpectatorFeed(ServerConfig config) {
+        this.maxSpectators = config.getMaxSpectators();
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(config.getSpectatorIntervalMillis());
+        Thread.ofVirtual().name("skyjo-spectators").start(this::run);
+    }
+
+    /**
+     * Registers a spectator.
+     *
+     * @param spectator The connection, already in its wire format.
+     * @param snapshot  The messages bringing it up to date, prepared for its format.
+     * @return false if the feed is full or closed.
+     */
+    boolean add(ClientHandler spectator, List<EncodedMessage> snapshot) {
+        lock.lock();
+        try {
+            if (closed || members.size() >= maxSpectators) {
+                return false;
+            }
+            members.add(spectator);
+            formats.merge(spectator.getWireFormat(), 1, Integer::sum);
+            joins.add(new Join(spectator, snapshot));
+            changed.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Unregisters a spectator.
+     *
+     * @return false if the connection was not a spectator.
+     */
+    boolean remove(ClientHandler spectator) {
+        lock.lock();
+        try {
+            if (!members.remove(spectator)) {
+                return false;
+            }
+            formats.computeIfPresent(spectator.getWireFormat(), (format, n) -> n > 1 ? n - 1 : null);
+            if (!joins.removeIf(join -> join.spectator() == spectator)) {
+                leaves.add(spectator);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Whether this connection watches the game. */
+    boolean isSpectator(ClientHandler client) {
+        lock.lock();
+        try {
+            return members.contains(client);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the number of spectators. */
+    int size() {
+        lock.lock();
+        try {
+            return members.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the wire formats spectators use, which a {@code STATE} must be
+     * prepared in before it is published.
+     */
+    EnumSet<WireFormat> formats() {
+        lock.lock();
+        try {
+            return formats.isEmpty() ? EnumSet.noneOf(WireFormat.class) : EnumSet.copyOf(formats.keySet());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues a message for every spectator. Never blocks on delivery.
+     *
+     * @param message The message, prepared in {@link #formats()} if it reads the live game.
+     */
+    void publish(EncodedMessage message) {
+        lock.lock();
+        try {
+            if (closed || members.isEmpty()) {
+                return;
+            }
+            if (message.isCoalescable()) {
+                Iterator<EncodedMessage> it = pending.iterator();
+                while (it.hasNext()) {
+                    if (it.next().type().equals(message.type())) {
+                        it.remove();
+                    }
+                }
+            }
+            if (pending.size() == MAX_PENDING) {
+                pending.removeFirst();
+            }
+            pending.addLast(message);
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Stops the delivery and closes every spectator connection. */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        List<EncodedMessage> messages = new ArrayList<>();
+        List<Join> joined = new ArrayList<>();
+        List<ClientHandler> left = new ArrayList<>();
+        while (true) {
+            lock.lock();
+            try {
+                while (pending.isEmpty() && joins.isEmpty() && leaves.isEmpty() && !closed) {
+                    changed.awaitUninterruptibly();
+                }
+                if (closed) {
+                    break;
+                }
+                messages.addAll(pending);
+                pending.clear();
+                joined.addAll(joins);
+                joins.clear();
+                left.addAll(leaves);
+                leaves.clear();
+            } finally {
+                lock.unlock();
+            }
+
+            spectators.removeAll(left);
+            deliver(messages);
+            for (Join join : joined) {
+                spectators.add(join.spectator());
+                for (EncodedMessage message : join.snapshot()) {
+                    join.spectator().send(message);
+                }
+            }
+            messages.clear();
+            joined.clear();
+            left.clear();
+
+            // Lets the next messages accumulate: one batch per interval at most
+            try {
+                Thread.sleep(Duration.ofNanos(intervalNanos));
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        lock.lock();
+        try {
+            members.forEach(ClientHandler::close);
+            members.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void deliver(List<EncodedMessage> messages) {
+        if (messages.isEmpty() || spectators.isEmpty()) {
+            return;
+        }
+        // The batch is encoded later by the writers: it must not share the reused list
+        EncodedMessage message = messages.size() == 1 ? messages.get(0) : EncodedMessage.batch(List.copyOf(messages));
+        List<ClientHandler> dropped = new ArrayList<>();
+        for (ClientHandler spectator : spectators) {
+            if (!spectator.send(message)) {
+                dropped.add(spectator);
+            }
+        }
+        for (ClientHandler spectator : dropped) {
+            LOG.info("Spectator {} dropped", spectator.getName());
+            remove(spectator);
+        }
+    }
+}
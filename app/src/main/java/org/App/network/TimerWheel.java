@@ -0,0 +1,156 @@
+package org.App.network;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.App.logging.Logger;
+
+/**
+ * Hashed timer wheel for the many coarse, mostly cancelled or rescheduled
+ * timeouts of a server: one heartbeat per connection, and so on.
+ * <p>
+ * Time is cut into ticks; a timeout lands in the slot of the tick it expires
+ * in, with a round count when it is more than one turn of the wheel away.
+ * Scheduling and cancelling are O(1) and lock-free; a single thread advances
+ * the wheel once per tick and runs the expired tasks, so tasks must be short
+ * and must not block. Timeouts fire up to one tick late, never early.
+ * </p>
+ */
+public final class TimerWheel {
+    private static final Logger LOG = Logger.get(TimerWheel.class);
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<ArrayDeque<Timeout>> wheel;
+    private final ConcurrentLinkedQueue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private final long startNanos = System.nanoTime();
+    private volatile boolean running = true;
+    private long tick; // worker thread only
+
+    /** A scheduled task. */
+    public static final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long rounds;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the task if it has not run yet.
+         *
+         * @return false if the task already ran or was already cancelled.
+         */
+        public boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+
+    /**
+     * Creates and starts a wheel.
+     *
+     * @param name      The worker thread name.
+     * @param tick      The tick duration, i.e. the timer resolution.
+     * @param unit      The unit of {@code tick}.
+     * @param wheelSize The number of slots, rounded up to a power of two;
+     *                  ideally covers the usual timeout durations in one turn.
+     */
+    public TimerWheel(String name, long tick, TimeUnit unit, int wheelSize) {
+        this.tickNanos = Math.max(1, unit.toNanos(tick));
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        this.mask = size - 1;
+        this.wheel = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            wheel.add(new ArrayDeque<>());
+        }
+        this.worker = Thread.ofPlatform().name(name).daemon().start(this::run);
+    }
+
+    /**
+     * Schedules a task.
+     *
+     * @param task  The task, run on the wheel's thread.
+     * @param delay The delay before running it.
+     * @param unit  The unit of {@code delay}.
+     * @return A handle to cancel the task.
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(task, System.nanoTime() + unit.toNanos(Math.max(0, delay)));
+        incoming.add(timeout);
+        return timeout;
+    }
+
+    /** Stops the wheel; pending tasks never run. */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(worker);
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long wait;
+            while (running && (wait = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, wait);
+            }
+            if (!running) {
+                return;
+            }
+            transferIncoming();
+            expire(wheel.get((int) (tick & mask)));
+            tick++;
+        }
+    }
+
+    private void transferIncoming() {
+        Timeout timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            // Slot n is processed at the end of tick n, so after the deadline
+            long expiresAt = Math.floorDiv(timeout.deadline - startNanos, tickNanos);
+            long ticks = Math.max(expiresAt, tick);
+            timeout.rounds = (ticks - tick) / wheel.size();
+            wheel.get((int) (ticks & mask)).add(timeout);
+        }
+    }
+
+    private void expire(ArrayDeque<Timeout> slot) {
+        for (int n = slot.size(); n > 0; n--) {
+            Timeout timeout = slot.poll();
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                slot.add(timeout);
+                continue;
+            }
+            if (timeout.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)) {
+                try {
+                    timeout.task.run();
+                } catch (RuntimeException e) {
+                    LOG.error("Timer task failed", e);
+                }
+            }
+        }
+    }
+}
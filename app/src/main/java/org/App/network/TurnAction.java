@@ -0,0 +1,149 @@
+package org.App.network;
+
+import org.App.model.game.SkyjoGame;
+import org.App.model.player.Player;
+
+/**
+ * The changes a server command makes to the game once it has been validated.
+ * <p>
+ * {@link GameServer} applies its commands through these actions, and so does
+ * the journal replay: both go through the exact same sequence of calls on
+ * {@link SkyjoGame}, so a replayed game cannot drift from the one that was
+ * played. Validation stays in the server; an action assumes a legal move.
+ * </p>
+ */
+public enum TurnAction {
+    /** Draws from the deck; the player must then exchange or discard. */
+    PICK {
+        @Override
+        public Outcome apply(SkyjoGame game, Player player, int cardIndex) {
+            pickFromDeck(game);
+            return Outcome.SAME_TURN;
+        }
+    },
+    /** Discards the drawn card; the player must then reveal a card. */
+    DISCARD {
+        @Override
+        public Outcome apply(SkyjoGame game, Player player, int cardIndex) {
+            discardPickedCard(game);
+            return Outcome.SAME_TURN;
+        }
+    },
+    /** Reveals a face-down card, after a discard. */
+    REVEAL {
+        @Override
+        public Outcome apply(SkyjoGame game, Player player, int cardIndex) {
+            game.revealCard(player, cardIndex);
+            return finishTurn(game);
+        }
+    },
+    /** Exchanges the drawn card with a slot. */
+    EXCHANGE {
+        @Override
+        public Outcome apply(SkyjoGame game, Player player, int cardIndex) {
+            exchangePickedCard(game, player, cardIndex);
+            return finishTurn(game);
+        }
+    },
+    /** {@link Protocol#CARD_PICK_EXCHANGE}. */
+    PICK_EXCHANGE {
+        @Override
+        public Outcome apply(SkyjoGame game, Player player, int cardIndex) {
+            pickFromDeck(game);
+            exchangePickedCard(game, player, cardIndex);
+            return finishTurn(game);
+        }
+    },
+    /** {@link Protocol#DISCARD_TAKE_EXCHANGE}. */
+    TAKE_EXCHANGE {
+        @Override
+        public Outcome apply(SkyjoGame game, Player player, int cardIndex) {
+            game.setPickedCard(game.pickDiscard());
+            exchangePickedCard(game, player, cardIndex);
+            return finishTurn(game);
+        }
+    },
+    /** {@link Protocol#CARD_PICK_DISCARD_REVEAL}. */
+    PICK_REVEAL {
+        @Override
+        public Outcome apply(SkyjoGame game, Player player, int cardIndex) {
+            pickFromDeck(game);
+            discardPickedCard(game);
+            game.revealCard(player, cardIndex);
+            return finishTurn(game);
+        }
+    },
+    /** The current player left: the turn passes without a move. */
+    SKIP {
+        @Override
+        public Outcome apply(SkyjoGame game, Player player, int cardIndex) {
+            game.nextPlayer();
+            return Outcome.NEXT_TURN;
+        }
+    };
+
+    /** What happens after an action. */
+    public enum Outcome {
+        /** The same player continues their turn. */
+        SAME_TURN,
+        /** The turn passed to the next player. */
+        NEXT_TURN,
+        /** That was the last turn of the game. */
+        GAME_OVER
+    }
+
+    private static final TurnAction[] VALUES = values();
+
+    /**
+     * Applies the action.
+     *
+     * @param game      The game.
+     * @param player    The current player.
+     * @param cardIndex The slot the action targets, ignored by the others.
+     * @return What comes next.
+     */
+    public abstract Outcome apply(SkyjoGame game, Player player, int cardIndex);
+
+    /** Returns the action with the given {@link #ordinal()}, as stored by the journal. */
+    public static TurnAction fromCode(int code) {
+        if (code < 0 || code >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown turn action: " + code);
+        }
+        return VALUES[code];
+    }
+
+    private static void pickFromDeck(SkyjoGame game) {
+        game.setPickedCard(game.pickCard());
+    }
+
+    private static void discardPickedCard(SkyjoGame game) {
+        game.addToDiscard(game.getPickedCard());
+        game.setPickedCard(null);
+        game.setHasDiscard(true);
+    }
+
+    private static void exchangePickedCard(SkyjoGame game, Player player, int cardIndex) {
+        game.exchangeOrRevealCard(player, game.getPickedCard(), cardIndex);
+        game.setPickedCard(null);
+    }
+
+    /**
+     * Ends the current turn: completed columns, final round bookkeeping, then
+     * either the end of the game or the next player.
+     */
+    private static Outcome finishTurn(SkyjoGame game) {
+        game.checkColumns();
+        game.checkAndEnterFinalRound();
+
+        if (game.isFinalRound()) {
+            game.decrementFinalRoundTurns();
+        }
+
+        if (game.isGameOver()) {
+            game.revealAllCards();
+            return Outcome.GAME_OVER;
+        }
+        game.nextPlayer();
+        return Outcome.NEXT_TURN;
+    }
+}
@@ -0,0 +1,36 @@
+package org.App.network;
+
+/**
+ * Encoding used on a connection once it has been negotiated at {@code JOIN}.
+ * <p>
+ * Every connection starts in {@link #TEXT}. A client asks for {@link #BINARY}
+ * by appending the format name to its {@code JOIN} message; the server
+ * acknowledges with a {@code WIRE} message and switches its outbound encoding.
+ * Readers on both sides accept either format at any time, so the switch does
+ * not need to be synchronized with in-flight messages.
+ * </p>
+ *
+ * @see org.App.network.codec.BinaryCodec
+ * @see org.App.network.codec.FrameReader
+ */
+public enum WireFormat {
+
+    /** Newline-terminated, pipe-delimited text. Human readable, meant for debugging. */
+    TEXT,
+
+    /** Length-prefixed binary frames with compact card encoding. */
+    BINARY;
+
+    /**
+     * Parses a wire format name as sent in a {@code JOIN} message.
+     *
+     * @param name The format name (case-insensitive), may be null.
+     * @return The matching format, or {@link #TEXT} if unknown.
+     */
+    public static WireFormat fromName(String name) {
+        if (name != null && name.equalsIgnoreCase(BINARY.name())) {
+            return BINARY;
+        }
+        return TEXT;
+    }
+}
@@ -0,0 +1,325 @@
+package org.App.network.codec;
+
+import java.net.ProtocolException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.App.model.game.Card;
+import org.App.model.game.CardValue;
+import org.App.model.game.SkyjoGame;
+import org.App.model.player.Player;
+import org.App.network.GameState;
+import org.App.network.NetworkCardState;
+import org.App.network.NetworkPlayerState;
+import org.App.network.Protocol;
+
+/**
+ * Encoder and decoder for the binary wire format.
+ * <p>
+ * Frame layout:
+ * <pre>
+ * int32  length of everything that follows (big-endian, first byte always 0)
+ * byte   message type code ({@link #EXTENDED_TYPE} followed by the type name for unknown types)
+ * varint player id (ZigZag, so -1 is one byte)
+ * ...    payload
+ * </pre>
+ * The generic payload is a varint count followed by length-prefixed UTF-8 strings.
+ * {@code STATE} frames carry the game state with a fixed card encoding instead:
+ * one byte holding the value nibble (the {@link CardValue} ordinal, {@code 0xF}
+ * when unknown) and the visibility bit, followed by the card id as a varint.
+ * </p>
+ * Encoded frames come from {@link ByteBufferPool#shared()}; the caller releases
+ * them once written.
+ */
+public final class BinaryCodec {
+
+    /** Size of the length prefix. */
+    public static final int HEADER_LENGTH = 4;
+    /** Largest accepted frame body. Keeps the first header byte at zero. */
+    public static final int MAX_FRAME_LENGTH = 1 << 20;
+
+    /** Type code announcing that the type name follows as a string. */
+    static final int EXTENDED_TYPE = 0xFF;
+    /** Value nibble used when the card value is not known to the receiver. */
+    static final int UNKNOWN_VALUE = 0x0F;
+    static final int VISIBLE_BIT = 0x10;
+
+    private static final int FINAL_ROUND_FLAG = 0x01;
+
+    /** Type names indexed by their wire code. Only append: codes are part of the protocol. */
+    private static final String[] TYPES = {
+        Protocol.PLAYER_JOIN, Protocol.GAME_START, Protocol.CARD_PICK, Protocol.CARD_DISCARD,
+        Protocol.CARD_REVEAL, Protocol.CARD_EXCHANGE, Protocol.PLAYER_TURN, Protocol.GAME_STATE,
+        Protocol.GAME_END, Protocol.ERROR, Protocol.PLAYER_LEFT, Protocol.WIRE, Protocol.BATCH,
+        Protocol.CARD_PICK_EXCHANGE, Protocol.DISCARD_TAKE_EXCHANGE, Protocol.CARD_PICK_DISCARD_REVEAL,
+        Protocol.HELD_CARD, Protocol.PING, Protocol.PONG,
+        Protocol.SESSION, Protocol.RESUME, Protocol.PLAYER_AWAY, Protocol.PLAYER_BACK,
+        Protocol.SPECTATE, Protocol.QUICK_PLAY, Protocol.QUEUED
+    };
+
+    private static final CardValue[] CARD_VALUES = CardValue.values();
+
+    private BinaryCodec() {
+    }
+
+    // ─── Encoding ───────────────────────────────────────────────────────
+
+    /**
+     * Encodes a generic message into a pooled buffer.
+     *
+     * @param type     The message type (one of the {@link Protocol} constants).
+     * @param playerId The player id, or -1.
+     * @param data     The message data.
+     * @return A flipped buffer holding the complete frame.
+     */
+    public static ByteBuffer encode(String type, int playerId, String... data) {
+        return encodeFrame(type, playerId, buffer -> {
+            VarInt.write(buffer, data.length);
+            for (String d : data) {
+                writeString(buffer, d);
+            }
+        });
+    }
+
+    /**
+     * Encodes a {@code STATE} frame into a pooled buffer.
+     *
+     * @param state The state to encode.
+     * @return A flipped buffer holding the complete frame.
+     */
+    public static ByteBuffer encodeState(GameState state) {
+        return encodeFrame(Protocol.GAME_STATE, -1, buffer -> writeState(buffer, state));
+    }
+
+    /**
+     * Encodes a {@code STATE} frame straight from the game, without building a
+     * {@link GameState} first. The result decodes exactly like
+     * {@link #encodeState(GameState)}.
+     *
+     * @param game The game to describe.
+     * @return A flipped buffer holding the complete frame.
+     */
+    public static ByteBuffer encodeState(SkyjoGame game) {
+        return encodeFrame(Protocol.GAME_STATE, -1, buffer -> writeState(buffer, game));
+    }
+
+    /** Encodes a frame, retrying with a larger pooled buffer while the payload does not fit. */
+    private static ByteBuffer encodeFrame(String type, int playerId, Consumer<ByteBuffer> payload) {
+        int capacity = ByteBufferPool.DEFAULT_BUFFER_SIZE;
+        while (true) {
+            ByteBuffer buffer = ByteBufferPool.shared().acquire(capacity);
+            try {
+                int start = beginFrame(buffer, type, playerId);
+                payload.accept(buffer);
+                return endFrame(buffer, start);
+            } catch (BufferOverflowException e) {
+                ByteBufferPool.shared().release(buffer);
+                capacity = buffer.capacity() * 4;
+            }
+        }
+    }
+
+    private static int beginFrame(ByteBuffer buffer, String type, int playerId) {
+        int start = buffer.position();
+        buffer.position(start + HEADER_LENGTH);
+        int code = typeCode(type);
+        buffer.put((byte) code);
+        if (code == EXTENDED_TYPE) {
+            writeString(buffer, type);
+        }
+        VarInt.writeSigned(buffer, playerId);
+        return start;
+    }
+
+    private static ByteBuffer endFrame(ByteBuffer buffer, int start) {
+        buffer.putInt(start, buffer.position() - start - HEADER_LENGTH);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void writeState(ByteBuffer buffer, GameState state) {
+        List<NetworkPlayerState> players = state.getPlayers() != null ? state.getPlayers() : List.of();
+        VarInt.write(buffer, players.size());
+        for (NetworkPlayerState player : players) {
+            VarInt.writeSigned(buffer, player.getId());
+            writeString(buffer, player.getName());
+            VarInt.writeSigned(buffer, player.getScore());
+            List<NetworkCardState> cards = player.getCards() != null ? player.getCards() : List.of();
+            VarInt.write(buffer, cards.size());
+            for (NetworkCardState card : cards) {
+                writeCard(buffer, card);
+            }
+        }
+        buffer.put((byte) (state.getTopDiscard() != null ? 1 : 0));
+        if (state.getTopDiscard() != null) {
+            writeCard(buffer, state.getTopDiscard());
+        }
+        VarInt.write(buffer, state.getRemainingCards());
+        VarInt.writeSigned(buffer, state.getCurrentPlayerId());
+        buffer.put((byte) (state.isFinalRound() ? FINAL_ROUND_FLAG : 0));
+    }
+
+    private static void writeState(ByteBuffer buffer, SkyjoGame game) {
+        List<Player> players = game.getPlayers();
+        VarInt.write(buffer, players.size());
+        for (Player player : players) {
+            VarInt.writeSigned(buffer, player.getId());
+            writeString(buffer, player.getName());
+            VarInt.writeSigned(buffer, player.getCumulativeScore());
+            List<Card> cards = player.getCartes();
+            VarInt.write(buffer, cards.size());
+            for (int i = 0; i < cards.size(); i++) {
+                writeCard(buffer, cards.get(i));
+            }
+        }
+        Card topDiscard = game.getTopDiscard();
+        buffer.put((byte) (topDiscard != null ? 1 : 0));
+        if (topDiscard != null) {
+            writeCard(buffer, topDiscard);
+        }
+        VarInt.write(buffer, game.getPickSize());
+        VarInt.writeSigned(buffer, game.getActualPlayer().getId());
+        buffer.put((byte) (game.isFinalRound() ? FINAL_ROUND_FLAG : 0));
+    }
+
+    /** Writes a card as seen by the clients: face-down values are not sent. */
+    static void writeCard(ByteBuffer buffer, Card card) {
+        int header = card.faceVisible() ? card.valeur().ordinal() | VISIBLE_BIT : UNKNOWN_VALUE;
+        buffer.put((byte) header);
+        VarInt.write(buffer, card.id());
+    }
+
+    static void writeCard(ByteBuffer buffer, NetworkCardState card) {
+        int header = card.getValue() != null ? card.getValue().ordinal() : UNKNOWN_VALUE;
+        if (card.isFaceVisible()) {
+            header |= VISIBLE_BIT;
+        }
+        buffer.put((byte) header);
+        VarInt.write(buffer, card.getId());
+    }
+
+    static void writeString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            value = "";
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        VarInt.write(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    // ─── Decoding ───────────────────────────────────────────────────────
+
+    /**
+     * Decodes a frame body (everything after the length prefix).
+     *
+     * @param body The frame body, positioned at the type byte.
+     * @return The decoded frame.
+     * @throws ProtocolException if the body is malformed.
+     */
+    public static Frame decode(ByteBuffer body) throws ProtocolException {
+        try {
+            int code = body.get() & 0xFF;
+            String type = code == EXTENDED_TYPE ? readString(body) : typeName(code);
+            int playerId = VarInt.readSigned(body);
+
+            if (Protocol.GAME_STATE.equals(type)) {
+                return new Frame(new String[] { type, String.valueOf(playerId) }, readState(body));
+            }
+
+            int count = VarInt.read(body);
+            if (count < 0 || count > body.remaining()) {
+                throw new ProtocolException("Invalid data count: " + count);
+            }
+            String[] parts = new String[count + 2];
+            parts[0] = type;
+            parts[1] = String.valueOf(playerId);
+            for (int i = 0; i < count; i++) {
+                parts[i + 2] = readString(body);
+            }
+            return new Frame(parts, null);
+        } catch (BufferUnderflowException e) {
+            throw new ProtocolException("Truncated frame");
+        }
+    }
+
+    private static GameState readState(ByteBuffer buffer) throws ProtocolException {
+        int playerCount = VarInt.read(buffer);
+        if (playerCount < 0 || playerCount > buffer.remaining()) {
+            throw new ProtocolException("Invalid player count: " + playerCount);
+        }
+        List<NetworkPlayerState> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            NetworkPlayerState player = new NetworkPlayerState();
+            player.setId(VarInt.readSigned(buffer));
+            player.setName(readString(buffer));
+            player.setScore(VarInt.readSigned(buffer));
+            int cardCount = VarInt.read(buffer);
+            if (cardCount < 0 || cardCount > buffer.remaining()) {
+                throw new ProtocolException("Invalid card count: " + cardCount);
+            }
+            List<NetworkCardState> cards = new ArrayList<>(cardCount);
+            for (int c = 0; c < cardCount; c++) {
+                cards.add(readCard(buffer));
+            }
+            player.setCards(cards);
+            players.add(player);
+        }
+
+        GameState state = new GameState();
+        state.setPlayers(players);
+        state.setTopDiscard(buffer.get() != 0 ? readCard(buffer) : null);
+        state.setRemainingCards(VarInt.read(buffer));
+        state.setCurrentPlayerId(VarInt.readSigned(buffer));
+        state.setFinalRound((buffer.get() & FINAL_ROUND_FLAG) != 0);
+        return state;
+    }
+
+    static NetworkCardState readCard(ByteBuffer buffer) throws ProtocolException {
+        int header = buffer.get() & 0xFF;
+        int valueNibble = header & 0x0F;
+        NetworkCardState card = new NetworkCardState();
+        if (valueNibble != UNKNOWN_VALUE) {
+            if (valueNibble >= CARD_VALUES.length) {
+                throw new ProtocolException("Invalid card value: " + valueNibble);
+            }
+            card.setValue(CARD_VALUES[valueNibble]);
+        }
+        card.setFaceVisible((header & VISIBLE_BIT) != 0);
+        card.setId(VarInt.read(buffer));
+        return card;
+    }
+
+    static String readString(ByteBuffer buffer) throws ProtocolException {
+        int length = VarInt.read(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new ProtocolException("Invalid string length: " + length);
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    // ─── Type codes ─────────────────────────────────────────────────────
+
+    private static int typeCode(String type) {
+        for (int i = 0; i < TYPES.length; i++) {
+            if (TYPES[i].equals(type)) {
+                return i;
+            }
+        }
+        return EXTENDED_TYPE;
+    }
+
+    private static String typeName(int code) throws ProtocolException {
+        if (code >= TYPES.length) {
+            throw new ProtocolException("Unknown message type code: " + code);
+        }
+        return TYPES[code];
+    }
+}
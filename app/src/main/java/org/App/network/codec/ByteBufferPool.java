@@ -0,0 +1,78 @@
+package org.App.network.codec;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free pool of fixed-size heap {@link ByteBuffer}s used by the codecs.
+ * <p>
+ * Requests larger than the pooled size get a fresh, unpooled buffer; releasing
+ * such a buffer is a no-op. The pool never holds more than {@code maxPooled}
+ * idle buffers.
+ * </p>
+ */
+public final class ByteBufferPool {
+
+    /** Size of pooled buffers; comfortably larger than any game state frame. */
+    public static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+
+    private static final ByteBufferPool SHARED = new ByteBufferPool(DEFAULT_BUFFER_SIZE, 256);
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    /**
+     * Creates a new pool.
+     *
+     * @param bufferSize The capacity of every pooled buffer.
+     * @param maxPooled  The maximum number of idle buffers kept around.
+     */
+    public ByteBufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /** Returns the process-wide pool shared by the client and the server. */
+    public static ByteBufferPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Acquires a cleared buffer with at least the given capacity.
+     *
+     * @param minCapacity The minimum capacity required.
+     * @return A buffer ready for writing.
+     */
+    public ByteBuffer acquire(int minCapacity) {
+        if (minCapacity > bufferSize) {
+            return ByteBuffer.allocate(minCapacity);
+        }
+        ByteBuffer buffer = free.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocate(bufferSize);
+        }
+        pooled.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool. The caller must not touch it afterwards.
+     *
+     * @param buffer The buffer to release, may be null.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || buffer.capacity() != bufferSize || buffer.isReadOnly()) {
+            return;
+        }
+        if (pooled.incrementAndGet() > maxPooled) {
+            pooled.decrementAndGet();
+            return;
+        }
+        buffer.clear();
+        free.offer(buffer);
+    }
+}
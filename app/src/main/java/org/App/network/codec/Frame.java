@@ -0,0 +1,33 @@
+package org.App.network.codec;
+
+import org.App.network.GameState;
+import org.App.network.Protocol;
+
+/**
+ * A decoded inbound message, independent of the wire format it arrived in.
+ * <p>
+ * {@code parts} follows the text layout {@code TYPE|playerId|data...} so that
+ * handlers can stay format-agnostic. Binary {@code STATE} frames carry the
+ * decoded {@link GameState} directly instead of a JSON part.
+ * </p>
+ *
+ * @param parts The message parts: type, player id, then data.
+ * @param state The decoded game state for binary {@code STATE} frames, or null.
+ */
+public record Frame(String[] parts, GameState state) {
+
+    /**
+     * Wraps a text line.
+     *
+     * @param line The raw line without its terminator.
+     * @return The frame.
+     */
+    public static Frame fromText(String line) {
+        return new Frame(Protocol.parseMessage(line), null);
+    }
+
+    /** Returns the message type. */
+    public String type() {
+        return parts[0];
+    }
+}
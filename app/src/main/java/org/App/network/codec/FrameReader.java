@@ -0,0 +1,186 @@
+package org.App.network.codec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.App.jfr.MessageDecodeEvent;
+
+/**
+ * Reads inbound messages in either wire format from a socket stream.
+ * <p>
+ * The format is detected per message: binary frames start with the high byte
+ * of their length prefix, which is always zero, while text lines start with
+ * a printable type name. This lets a peer switch formats at any point without
+ * coordinating with messages that are already in flight.
+ * </p>
+ * Not thread-safe: one reader per connection, used by its listener thread.
+ */
+public final class FrameReader {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final InputStream in;
+    private final int maxMessageBytes;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private byte[] lineBuffer = new byte[256];
+
+    /**
+     * Creates a reader over an unbuffered stream; this class does its own buffering.
+     *
+     * @param in The socket input stream.
+     */
+    public FrameReader(InputStream in) {
+        this(in, BinaryCodec.MAX_FRAME_LENGTH);
+    }
+
+    /**
+     * Creates a reader that refuses messages above a size. The server reads
+     * its clients this way: their messages are short, and a line that never
+     * ends would otherwise grow the line buffer without bound.
+     *
+     * @param in              The socket input stream.
+     * @param maxMessageBytes The largest text line or binary frame body accepted.
+     */
+    public FrameReader(InputStream in, int maxMessageBytes) {
+        this.in = in;
+        this.maxMessageBytes = Math.min(maxMessageBytes, BinaryCodec.MAX_FRAME_LENGTH);
+    }
+
+    /**
+     * Reads the next message.
+     *
+     * @return The decoded frame, or null at end of stream.
+     * @throws IOException on I/O errors, malformed binary frames or messages above the size limit.
+     */
+    public Frame read() throws IOException {
+        if (!ensure(1)) {
+            return null;
+        }
+        if (buffer[position] == 0) {
+            return readBinary();
+        }
+        String line = readLine();
+        if (line == null) {
+            return null;
+        }
+        MessageDecodeEvent event = new MessageDecodeEvent();
+        event.begin();
+        Frame frame = Frame.fromText(line);
+        commit(event, frame, "TEXT", line.length());
+        return frame;
+    }
+
+    private Frame readBinary() throws IOException {
+        if (!ensure(BinaryCodec.HEADER_LENGTH)) {
+            throw new EOFException("Truncated frame header");
+        }
+        int length = ((buffer[position] & 0xFF) << 24) | ((buffer[position + 1] & 0xFF) << 16)
+                | ((buffer[position + 2] & 0xFF) << 8) | (buffer[position + 3] & 0xFF);
+        position += BinaryCodec.HEADER_LENGTH;
+        if (length <= 0 || length > maxMessageBytes) {
+            throw new ProtocolException("Invalid frame length: " + length);
+        }
+
+        ByteBuffer body = ByteBufferPool.shared().acquire(length);
+        try {
+            readFully(body.array(), body.arrayOffset(), length);
+            body.limit(length);
+            // Timed from here: the read above may have waited on the network
+            MessageDecodeEvent event = new MessageDecodeEvent();
+            event.begin();
+            Frame frame = BinaryCodec.decode(body);
+            commit(event, frame, "BINARY", length);
+            return frame;
+        } finally {
+            ByteBufferPool.shared().release(body);
+        }
+    }
+
+    private static void commit(MessageDecodeEvent event, Frame frame, String format, int bytes) {
+        if (event.shouldCommit()) {
+            event.type = frame.type();
+            event.format = format;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    private String readLine() throws IOException {
+        int length = 0;
+        while (true) {
+            if (position == limit && !fill()) {
+                // End of stream: return the trailing partial line if any
+                return length > 0 ? decodeLine(length) : null;
+            }
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            int chunk = position - start;
+            if (length + chunk > maxMessageBytes) {
+                throw new ProtocolException("Line longer than " + maxMessageBytes + " bytes");
+            }
+            if (length + chunk > lineBuffer.length) {
+                lineBuffer = Arrays.copyOf(lineBuffer, Math.max(lineBuffer.length * 2, length + chunk));
+            }
+            System.arraycopy(buffer, start, lineBuffer, length, chunk);
+            length += chunk;
+            if (position < limit) {
+                position++; // consume '\n'
+                return decodeLine(length);
+            }
+        }
+    }
+
+    private String decodeLine(int length) {
+        if (length > 0 && lineBuffer[length - 1] == '\r') {
+            length--;
+        }
+        return new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void readFully(byte[] target, int offset, int length) throws IOException {
+        int copied = Math.min(length, limit - position);
+        System.arraycopy(buffer, position, target, offset, copied);
+        position += copied;
+        while (copied < length) {
+            int n = in.read(target, offset + copied, length - copied);
+            if (n < 0) {
+                throw new EOFException("Truncated frame body");
+            }
+            copied += n;
+        }
+    }
+
+    /** Makes sure at least {@code count} unread bytes are buffered. */
+    private boolean ensure(int count) throws IOException {
+        while (limit - position < count) {
+            if (!fill()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Compacts the buffer and reads more bytes; false at end of stream. */
+    private boolean fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+        int n = in.read(buffer, limit, buffer.length - limit);
+        if (n < 0) {
+            return false;
+        }
+        limit += n;
+        return true;
+    }
+}
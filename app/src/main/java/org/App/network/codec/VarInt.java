@@ -0,0 +1,59 @@
+package org.App.network.codec;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+
+/**
+ * LEB128-style variable-length integer helpers.
+ * Small values (player ids, card ids, counts) take a single byte on the wire.
+ * Signed values go through ZigZag encoding so that -1 stays one byte.
+ */
+public final class VarInt {
+
+    private VarInt() {
+    }
+
+    /**
+     * Writes an unsigned varint.
+     *
+     * @param buffer The destination buffer.
+     * @param value  The value, interpreted as unsigned.
+     */
+    public static void write(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Reads an unsigned varint.
+     *
+     * @param buffer The source buffer.
+     * @return The decoded value.
+     * @throws ProtocolException if the varint is longer than five bytes.
+     */
+    public static int read(ByteBuffer buffer) throws ProtocolException {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new ProtocolException("Malformed varint");
+    }
+
+    /** Writes a signed value using ZigZag encoding. */
+    public static void writeSigned(ByteBuffer buffer, int value) {
+        write(buffer, (value << 1) ^ (value >> 31));
+    }
+
+    /** Reads a ZigZag-encoded signed value. */
+    public static int readSigned(ByteBuffer buffer) throws ProtocolException {
+        int raw = read(buffer);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+}
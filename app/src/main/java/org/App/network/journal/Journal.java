@@ -0,0 +1,208 @@
+package org.App.network.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+import org.App.logging.Logger;
+
+/**
+ * Append-only journal of {@link JournalEvent}s in memory-mapped segment files.
+ * <p>
+ * An append copies a few bytes into the mapped segment and returns: no system
+ * call, no waiting for the disk. A background thread forces what was appended
+ * to disk every sync interval, one {@code fsync} for all the appends since the
+ * previous one (group commit). A crash can therefore lose the last interval's
+ * events, never corrupt earlier ones.
+ * </p>
+ * Each record is {@code [length][CRC32C][event]}; segments are pre-sized and
+ * zero-filled, so a zero length marks the end of the data and a bad checksum a
+ * write torn by a crash. A journal never appends to segments of a previous
+ * run: it starts a new segment after the existing ones, and
+ * {@link JournalReader} reads them all in order.
+ */
+public final class Journal implements Closeable {
+    private static final Logger LOG = Logger.get(Journal.class);
+
+    static final String SEGMENT_PREFIX = "journal-";
+    static final String SEGMENT_SUFFIX = ".log";
+    static final int RECORD_HEADER = 8;
+
+    /**
+     * A place in the journal: a segment and an offset in it. Reading from a
+     * position skips every earlier segment without opening it.
+     */
+    public record Position(long segment, int offset) {
+        /** Before the first event of any journal. */
+        public static final Position START = new Position(0, 0);
+    }
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long syncNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final CRC32C crc = new CRC32C();
+    private ByteBuffer scratch = ByteBuffer.allocate(256);
+    private MappedByteBuffer segment;
+    private long segmentNumber;
+    private int written;
+    private int synced;
+    private final Thread syncer;
+    private volatile boolean closed;
+
+    /**
+     * Opens a journal, creating the directory if needed.
+     *
+     * @param directory    Where the segments are written.
+     * @param segmentBytes The size of a segment file.
+     * @param syncMillis   The group commit interval; 0 forces every append to disk before returning.
+     * @throws IOException if the first segment cannot be created.
+     */
+    public Journal(Path directory, int segmentBytes, long syncMillis) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.syncNanos = TimeUnit.MILLISECONDS.toNanos(syncMillis);
+        Files.createDirectories(directory);
+        List<Path> existing = JournalReader.segments(directory);
+        this.segmentNumber = existing.isEmpty() ? 0 : JournalReader.segmentNumber(existing.getLast());
+        openNextSegment();
+        this.syncer = syncNanos > 0
+                ? Thread.ofPlatform().name("skyjo-journal").daemon().start(this::syncLoop)
+                : null;
+    }
+
+    /**
+     * Appends an event. Durable once the next sync completes, unless the sync
+     * interval is 0.
+     *
+     * @param event The event.
+     * @throws IOException if a new segment is needed and cannot be created.
+     */
+    public void append(JournalEvent event) throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IOException("Journal closed");
+            }
+            ByteBuffer body = encode(event);
+            int length = body.remaining();
+            if (RECORD_HEADER + length > segmentBytes) {
+                throw new IOException("Journal event too large: " + length + " bytes");
+            }
+            if (written + RECORD_HEADER + length > segmentBytes) {
+                force(segment, synced, written);
+                openNextSegment();
+            }
+            crc.reset();
+            crc.update(body.array(), 0, length);
+            segment.putInt(written + 4, (int) crc.getValue());
+            segment.put(written + RECORD_HEADER, body.array(), 0, length);
+            // The length goes last: a reader never sees a record whose bytes are not all there
+            segment.putInt(written, length);
+            written += RECORD_HEADER + length;
+            if (syncer == null) {
+                force(segment, synced, written);
+                synced = written;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Forces everything appended so far to disk. */
+    public void sync() {
+        MappedByteBuffer target;
+        int from;
+        int to;
+        lock.lock();
+        try {
+            target = segment;
+            from = synced;
+            to = written;
+            synced = written;
+        } finally {
+            lock.unlock();
+        }
+        if (to > from) {
+            force(target, from, to);
+        }
+    }
+
+    /** Syncs and stops the journal. */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+        if (syncer != null) {
+            LockSupport.unpark(syncer);
+        }
+        sync();
+    }
+
+    /** Returns the position right after the last appended event. */
+    public Position position() {
+        lock.lock();
+        try {
+            return new Position(segmentNumber, written);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the directory of the segments. */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private ByteBuffer encode(JournalEvent event) {
+        while (true) {
+            scratch.clear();
+            try {
+                JournalCodec.encode(event, scratch);
+                return scratch.flip();
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    /** Caller holds the lock, or is the constructor. */
+    private void openNextSegment() throws IOException {
+        segmentNumber++;
+        Path path = directory.resolve(JournalReader.segmentName(segmentNumber));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping outlives the channel; mapping past the end extends the file with zeros
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        written = 0;
+        synced = 0;
+        LOG.debug("Journal segment {} opened", path);
+    }
+
+    private void syncLoop() {
+        while (!closed) {
+            LockSupport.parkNanos(this, syncNanos);
+            sync();
+        }
+    }
+
+    private static void force(MappedByteBuffer buffer, int from, int to) {
+        buffer.force(from, to - from);
+    }
+}
@@ -0,0 +1,108 @@
+package org.App.network.journal;
+
+import java.net.ProtocolException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.App.network.TurnAction;
+import org.App.network.codec.VarInt;
+
+/**
+ * Binary layout of the {@link JournalEvent}s: a kind byte, then varints and
+ * length-prefixed UTF-8 strings. A move takes four bytes.
+ */
+final class JournalCodec {
+    private static final byte JOIN = 1;
+    private static final byte LEAVE = 2;
+    private static final byte START = 3;
+    private static final byte ACTION = 4;
+    private static final byte END = 5;
+
+    private JournalCodec() {
+    }
+
+    /**
+     * Writes an event.
+     *
+     * @throws java.nio.BufferOverflowException if it does not fit.
+     */
+    static void encode(JournalEvent event, ByteBuffer out) {
+        switch (event) {
+            case JournalEvent.Join join -> {
+                out.put(JOIN);
+                VarInt.write(out, join.playerId());
+                writeString(out, join.name());
+            }
+            case JournalEvent.Leave leave -> {
+                out.put(LEAVE);
+                VarInt.write(out, leave.playerId());
+            }
+            case JournalEvent.Start start -> {
+                out.put(START);
+                out.putLong(start.seed());
+                VarInt.write(out, start.seats().size());
+                for (JournalEvent.Seat seat : start.seats()) {
+                    VarInt.write(out, seat.playerId());
+                    writeString(out, seat.name());
+                    writeString(out, seat.token());
+                }
+            }
+            case JournalEvent.Action action -> {
+                out.put(ACTION);
+                out.put((byte) action.action().ordinal());
+                VarInt.write(out, action.playerId());
+                VarInt.writeSigned(out, action.cardIndex());
+            }
+            case JournalEvent.End end -> out.put(END);
+        }
+    }
+
+    /**
+     * Reads an event.
+     *
+     * @throws ProtocolException if the bytes are not a valid event.
+     */
+    static JournalEvent decode(ByteBuffer in) throws ProtocolException {
+        try {
+            byte kind = in.get();
+            return switch (kind) {
+                case JOIN -> new JournalEvent.Join(VarInt.read(in), readString(in));
+                case LEAVE -> new JournalEvent.Leave(VarInt.read(in));
+                case START -> {
+                    long seed = in.getLong();
+                    int count = VarInt.read(in);
+                    List<JournalEvent.Seat> seats = new ArrayList<>(Math.min(count, 16));
+                    for (int i = 0; i < count; i++) {
+                        seats.add(new JournalEvent.Seat(VarInt.read(in), readString(in), readString(in)));
+                    }
+                    yield new JournalEvent.Start(seed, seats);
+                }
+                case ACTION -> new JournalEvent.Action(TurnAction.fromCode(in.get()),
+                        VarInt.read(in), VarInt.readSigned(in));
+                case END -> new JournalEvent.End();
+                default -> throw new ProtocolException("Unknown journal event: " + kind);
+            };
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new ProtocolException("Malformed journal event: " + e);
+        }
+    }
+
+    static void writeString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        VarInt.write(out, bytes.length);
+        out.put(bytes);
+    }
+
+    static String readString(ByteBuffer in) throws ProtocolException {
+        int length = VarInt.read(in);
+        if (length < 0 || length > in.remaining()) {
+            throw new ProtocolException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
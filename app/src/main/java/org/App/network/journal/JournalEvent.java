@@ -0,0 +1,55 @@
+package org.App.network.journal;
+
+import java.util.List;
+
+import org.App.network.TurnAction;
+
+/**
+ * One entry of the game {@link Journal}: everything the server accepted that
+ * changes a game, in the order it happened. The random seed recorded with
+ * {@link Start} and the {@link Action}s that follow are enough to rebuild the
+ * game exactly, see {@link JournalReplay}.
+ */
+public sealed interface JournalEvent {
+
+    /** A player took a seat. */
+    record Join(int playerId, String name) implements JournalEvent {
+    }
+
+    /** A player left for good, or their held seat expired. */
+    record Leave(int playerId) implements JournalEvent {
+    }
+
+    /**
+     * A player of a game, in turn order.
+     *
+     * @param token The player's session token, so that they can take their
+     *              seat back in a game recovered after a restart.
+     */
+    record Seat(int playerId, String name, String token) {
+    }
+
+    /**
+     * A game started.
+     *
+     * @param seed  The seed of the game's random generator.
+     * @param seats The players, in turn order.
+     */
+    record Start(long seed, List<Seat> seats) implements JournalEvent {
+        public Start {
+            seats = List.copyOf(seats);
+        }
+    }
+
+    /**
+     * An accepted move, or a skipped turn.
+     *
+     * @param cardIndex The slot targeted, or -1.
+     */
+    record Action(TurnAction action, int playerId, int cardIndex) implements JournalEvent {
+    }
+
+    /** The game ended, normally or for lack of players. */
+    record End() implements JournalEvent {
+    }
+}
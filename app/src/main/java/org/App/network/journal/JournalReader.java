@@ -0,0 +1,121 @@
+package org.App.network.journal;
+
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.App.logging.Logger;
+
+/**
+ * Reads back the events written by a {@link Journal}, across all of its
+ * segments and runs. A segment ends at its first empty record; a record torn
+ * by a crash ends it too, with a warning, and reading goes on with the next
+ * segment, written by the next run.
+ */
+public final class JournalReader {
+    private static final Logger LOG = Logger.get(JournalReader.class);
+
+    private JournalReader() {
+    }
+
+    /**
+     * Reads every event of a journal directory, oldest first.
+     *
+     * @param directory The journal directory.
+     * @return The events; empty if the directory does not exist.
+     * @throws IOException if a segment cannot be read.
+     */
+    public static List<JournalEvent> read(Path directory) throws IOException {
+        return read(directory, Journal.Position.START);
+    }
+
+    /**
+     * Reads the events of a journal directory that come after a position,
+     * oldest first. Earlier segments are not read at all.
+     *
+     * @param directory The journal directory.
+     * @param from      Where to start, typically the position a snapshot was taken at.
+     * @return The events.
+     * @throws IOException if a segment cannot be read.
+     */
+    public static List<JournalEvent> read(Path directory, Journal.Position from) throws IOException {
+        List<JournalEvent> events = new ArrayList<>();
+        for (Path segment : segments(directory)) {
+            long number = segmentNumber(segment);
+            if (number >= from.segment()) {
+                readSegment(segment, number == from.segment() ? from.offset() : 0, events);
+            }
+        }
+        return events;
+    }
+
+    private static void readSegment(Path segment, int offset, List<JournalEvent> events) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(segment));
+        in.position(Math.min(offset, in.limit()));
+        CRC32C crc = new CRC32C();
+        while (in.remaining() >= Journal.RECORD_HEADER) {
+            int start = in.position();
+            int length = in.getInt();
+            int checksum = in.getInt();
+            if (length == 0) {
+                return; // end of the data
+            }
+            if (length < 0 || length > in.remaining()) {
+                LOG.warn("Truncated record at {} in {}, rest of the segment ignored", start, segment);
+                return;
+            }
+            crc.reset();
+            crc.update(in.array(), in.position(), length);
+            if ((int) crc.getValue() != checksum) {
+                LOG.warn("Corrupt record at {} in {}, rest of the segment ignored", start, segment);
+                return;
+            }
+            ByteBuffer body = in.slice(in.position(), length);
+            in.position(in.position() + length);
+            try {
+                events.add(JournalCodec.decode(body));
+            } catch (ProtocolException e) {
+                LOG.warn("Unreadable record at {} in {}: {}", start, segment, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /** Returns the segment files of a journal, in write order. */
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(JournalReader::isSegment)
+                    .sorted(Comparator.comparingLong(JournalReader::segmentNumber))
+                    .toList();
+        }
+    }
+
+    static String segmentName(long number) {
+        return String.format("%s%010d%s", Journal.SEGMENT_PREFIX, number, Journal.SEGMENT_SUFFIX);
+    }
+
+    static long segmentNumber(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(Journal.SEGMENT_PREFIX.length(),
+                name.length() - Journal.SEGMENT_SUFFIX.length()));
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(Journal.SEGMENT_PREFIX) && name.endsWith(Journal.SEGMENT_SUFFIX)
+                && name.length() > Journal.SEGMENT_PREFIX.length() + Journal.SEGMENT_SUFFIX.length()
+                && name.chars().skip(Journal.SEGMENT_PREFIX.length())
+                        .limit(name.length() - Journal.SEGMENT_PREFIX.length() - Journal.SEGMENT_SUFFIX.length())
+                        .allMatch(Character::isDigit);
+    }
+}
@@ -0,0 +1,93 @@
+package org.App.network.journal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.App.model.game.SkyjoGame;
+import org.App.model.player.HumanPlayer;
+import org.App.model.player.Player;
+
+/**
+ * Rebuilds games from journal events.
+ * <p>
+ * A game is recreated from its seed, dealt and given its initial reveals as
+ * {@code GameServer} does, then each recorded {@link org.App.network.TurnAction}
+ * is applied again: the same seed and the same actions give back the same
+ * game, card for card. Events that do not change a game (joins, leaves, ends)
+ * are skipped.
+ * </p>
+ */
+public final class JournalReplay {
+
+    private JournalReplay() {
+    }
+
+    /**
+     * Replays every game of a journal.
+     *
+     * @param events The journal events, oldest first.
+     * @return The games in the order they started, each in its last recorded state.
+     * @throws IllegalStateException if an action does not belong to a started game.
+     */
+    public static List<SkyjoGame> replay(List<JournalEvent> events) {
+        List<SkyjoGame> games = new ArrayList<>();
+        SkyjoGame game = null;
+        for (JournalEvent event : events) {
+            switch (event) {
+                case JournalEvent.Start start -> {
+                    game = start(start);
+                    games.add(game);
+                }
+                case JournalEvent.Action action -> {
+                    if (game == null) {
+                        throw new IllegalStateException("Action before any game start: " + action);
+                    }
+                    apply(game, action);
+                }
+                case JournalEvent.End end -> game = null;
+                default -> {
+                    // joins and leaves do not change a running game
+                }
+            }
+        }
+        return games;
+    }
+
+    /**
+     * Creates a game as the server starts it: deal, then initial reveals.
+     *
+     * @param start The recorded start.
+     * @return The game, ready for its first turn.
+     */
+    public static SkyjoGame start(JournalEvent.Start start) {
+        List<Player> players = new ArrayList<>(start.seats().size());
+        for (JournalEvent.Seat seat : start.seats()) {
+            players.add(new HumanPlayer(seat.playerId(), seat.name()));
+        }
+        SkyjoGame game = new SkyjoGame(players, start.seed());
+        game.startGame();
+        game.revealInitialCards();
+        return game;
+    }
+
+    /**
+     * Applies a recorded action.
+     *
+     * @param game   The game.
+     * @param action The action.
+     * @throws IllegalStateException if the player is not in the game.
+     */
+    public static void apply(SkyjoGame game, JournalEvent.Action action) {
+        Player player = null;
+        for (Player p : game.getPlayers()) {
+            if (p.getId() == action.playerId()) {
+                player = p;
+                break;
+            }
+        }
+        if (player == null) {
+            throw new IllegalStateException("Unknown player in " + action);
+        }
+        action.action().apply(game, player, action.cardIndex());
+    }
+}
@@ -0,0 +1,149 @@
+package org.App.network.journal;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+import org.App.logging.Logger;
+
+/**
+ * Keeps a standby's copy of the primary's room up to date, from the stream of
+ * a {@link ReplicationPublisher}, and hands it over when the primary is gone.
+ * <p>
+ * The primary is considered gone when its stream ends or stays silent for the
+ * timeout (it sends heartbeats when idle) and one immediate reconnection
+ * fails. Until the first snapshot is received, the standby only keeps trying
+ * to connect: a primary that is not up yet is not a failure.
+ * </p>
+ */
+public final class ReplicationFollower implements Closeable {
+    private static final Logger LOG = Logger.get(ReplicationFollower.class);
+    private static final int MAX_FRAME = 16 * 1024 * 1024;
+
+    private final InetSocketAddress primary;
+    private final int timeoutMillis;
+    private final Consumer<RoomRecovery.Recovered> takeOver;
+    private final RoomReplica replica = new RoomReplica();
+    private volatile Socket socket;
+    private volatile boolean closed;
+    // Whether the current connection delivered a snapshot; only used by the follower's thread
+    private boolean synced;
+
+    /**
+     * Starts following a primary.
+     *
+     * @param primary       The primary's replication address.
+     * @param timeoutMillis How long the primary may stay silent.
+     * @param takeOver      Called once, from the follower's thread, with the
+     *                      replicated room when the primary is gone.
+     */
+    public ReplicationFollower(InetSocketAddress primary, long timeoutMillis,
+            Consumer<RoomRecovery.Recovered> takeOver) {
+        this.primary = primary;
+        this.timeoutMillis = (int) timeoutMillis;
+        this.takeOver = takeOver;
+        Thread.ofPlatform().name("skyjo-standby").daemon().start(this::run);
+    }
+
+    /** Stops following, without taking over. */
+    @Override
+    public void close() {
+        closed = true;
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                // closing anyway
+            }
+        }
+    }
+
+    private void run() {
+        boolean everSynced = false;
+        boolean retried = false;
+        while (!closed) {
+            synced = false;
+            try (Socket connection = new Socket()) {
+                socket = connection;
+                connection.connect(primary, timeoutMillis);
+                connection.setSoTimeout(timeoutMillis);
+                follow(new DataInputStream(new BufferedInputStream(connection.getInputStream())));
+                LOG.info("Replication stream from {} ended", primary);
+            } catch (IOException e) {
+                if (!closed) {
+                    LOG.info("Replication from {} interrupted: {}", primary, e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                // The next snapshot replaces whatever was half applied
+                LOG.error("Cannot apply the replicated room: {}", e.toString());
+            }
+            if (closed) {
+                return;
+            }
+            if (synced) {
+                everSynced = true;
+                retried = false;
+            }
+            if (!everSynced) {
+                pause();
+            } else if (retried) {
+                break;
+            } else {
+                retried = true; // reconnect at once: the primary may just have dropped us
+            }
+        }
+        if (!closed) {
+            LOG.warn("Primary {} is gone, taking over", primary);
+            takeOver.accept(replica.recovered());
+        }
+    }
+
+    /** Applies the stream until it ends. */
+    private void follow(DataInputStream in) throws IOException {
+        while (true) {
+            byte type;
+            try {
+                type = in.readByte();
+            } catch (EOFException e) {
+                return;
+            }
+            int length = in.readInt();
+            if (length < 0 || length > MAX_FRAME) {
+                throw new ProtocolException("Invalid replication frame length: " + length);
+            }
+            byte[] body = new byte[length];
+            in.readFully(body);
+            switch (type) {
+                case ReplicationPublisher.SNAPSHOT -> {
+                    replica.restore(length > 0 ? RoomSnapshot.decode(ByteBuffer.wrap(body), primary) : null);
+                    if (!synced) {
+                        LOG.info("Following {}", primary);
+                    }
+                    synced = true;
+                }
+                case ReplicationPublisher.EVENT -> replica.apply(JournalCodec.decode(ByteBuffer.wrap(body)));
+                case ReplicationPublisher.HEARTBEAT -> {
+                    // the primary is alive
+                }
+                default -> throw new ProtocolException("Unknown replication frame: " + type);
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.App.network.journal;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.App.logging.Logger;
+
+/**
+ * Streams a room's journal events to standby servers, each running a
+ * {@link ReplicationFollower}.
+ * <p>
+ * A standby that connects first gets a {@link RoomSnapshot} of the room, then
+ * every event published after it. Each standby has its own queue and writer
+ * thread, so a slow one never holds up the game; one that falls too far behind
+ * is disconnected and resynchronizes with a fresh snapshot when it reconnects.
+ * A heartbeat is sent when there is nothing to send, so a standby can tell a
+ * quiet primary from a dead one.
+ * </p>
+ * Frames are {@code [type][length][body]}, the body of an event frame being the
+ * event as encoded in the journal.
+ */
+public final class ReplicationPublisher implements Closeable {
+    private static final Logger LOG = Logger.get(ReplicationPublisher.class);
+
+    static final byte SNAPSHOT = 1;
+    static final byte EVENT = 2;
+    static final byte HEARTBEAT = 3;
+    /** Interval between heartbeats of an idle stream; standbys time out after a few of them. */
+    static final long HEARTBEAT_MILLIS = 200;
+
+    // Beyond this, a standby is too far behind and must start over from a snapshot
+    private static final int MAX_PENDING = 4096;
+
+    private final ServerSocket serverSocket;
+    private final Object lock;
+    private final Supplier<RoomSnapshot> snapshot;
+    private final List<Follower> followers = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    /**
+     * Binds the replication port; standbys are accepted once {@link #start()}
+     * is called.
+     *
+     * @param port     The port, 0 for any free port.
+     * @param lock     The lock held while events are published, so that a
+     *                 snapshot and the events after it never overlap.
+     * @param snapshot Captures the room, or returns null when no game is in
+     *                 progress; called while holding {@code lock}.
+     * @throws IOException if the port cannot be bound.
+     */
+    public ReplicationPublisher(int port, Object lock, Supplier<RoomSnapshot> snapshot) throws IOException {
+        this.serverSocket = new ServerSocket(port);
+        this.lock = lock;
+        this.snapshot = snapshot;
+    }
+
+    /** Starts accepting standbys. */
+    public void start() {
+        Thread.ofPlatform().name("skyjo-replication").daemon().start(this::acceptLoop);
+    }
+
+    /** Returns the port actually bound. */
+    public int getLocalPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /** Returns the number of standbys currently following. */
+    public int followerCount() {
+        return followers.size();
+    }
+
+    /**
+     * Queues an event for every standby. Must be called holding the lock
+     * given at construction, in journal order.
+     */
+    public void publish(JournalEvent event) {
+        for (Follower follower : followers) {
+            follower.queue(new Entry(EVENT, event, null));
+        }
+    }
+
+    /** Stops accepting standbys; those connected get what is queued, then the stream ends. */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // closing anyway
+        }
+        for (Follower follower : followers) {
+            follower.queue(Entry.CLOSE);
+        }
+        followers.clear();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Follower follower = new Follower(socket);
+                synchronized (lock) {
+                    if (closed) {
+                        // accepted while closing: the stream must end, or the standby keeps following
+                        socket.close();
+                        return;
+                    }
+                    follower.queue(new Entry(SNAPSHOT, null, snapshot.get()));
+                    followers.add(follower);
+                }
+                Thread.ofVirtual().name("skyjo-replication-" + socket.getRemoteSocketAddress())
+                        .start(follower::writeLoop);
+                LOG.info("Standby {} connected", socket.getRemoteSocketAddress());
+            } catch (IOException e) {
+                if (!closed) {
+                    LOG.warn("Error accepting a standby: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** What a standby is sent; a SNAPSHOT entry with a null snapshot means an idle room. */
+    private record Entry(byte type, JournalEvent event, RoomSnapshot snapshot) {
+        static final Entry CLOSE = new Entry((byte) 0, null, null);
+    }
+
+    private final class Follower {
+        private final Socket socket;
+        private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+        private ByteBuffer scratch = ByteBuffer.allocate(256);
+
+        Follower(Socket socket) {
+            this.socket = socket;
+        }
+
+        void queue(Entry entry) {
+            if (entry != Entry.CLOSE && queue.size() >= MAX_PENDING) {
+                LOG.warn("Standby {} is too far behind, disconnected", socket.getRemoteSocketAddress());
+                followers.remove(this);
+                queue.clear();
+                entry = Entry.CLOSE;
+            }
+            queue.add(entry);
+        }
+
+        void writeLoop() {
+            try (socket; DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(socket.getOutputStream()))) {
+                while (true) {
+                    Entry entry = queue.poll(HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (entry == Entry.CLOSE) {
+                        break;
+                    }
+                    if (entry == null) {
+                        write(out, HEARTBEAT, ByteBuffer.allocate(0));
+                    } else if (entry.type() == SNAPSHOT) {
+                        write(out, SNAPSHOT, entry.snapshot() != null ? entry.snapshot().encode() : ByteBuffer.allocate(0));
+                    } else {
+                        write(out, EVENT, encode(entry.event()));
+                    }
+                    if (queue.isEmpty()) {
+                        out.flush();
+                    }
+                }
+                out.flush();
+            } catch (IOException e) {
+                LOG.warn("Standby {} lost: {}", socket.getRemoteSocketAddress(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                followers.remove(this);
+            }
+        }
+
+        private ByteBuffer encode(JournalEvent event) {
+            while (true) {
+                scratch.clear();
+                try {
+                    JournalCodec.encode(event, scratch);
+                    return scratch.flip();
+                } catch (BufferOverflowException e) {
+                    scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+                }
+            }
+        }
+
+        private static void write(DataOutputStream out, byte type, ByteBuffer body) throws IOException {
+            out.writeByte(type);
+            out.writeInt(body.remaining());
+            out.write(body.array(), body.arrayOffset() + body.position(), body.remaining());
+        }
+    }
+}
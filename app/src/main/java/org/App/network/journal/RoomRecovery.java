@@ -0,0 +1,56 @@
+package org.App.network.journal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.App.logging.Logger;
+import org.App.model.game.SkyjoGame;
+
+/**
+ * Rebuilds the game a room was playing when the server stopped: its latest
+ * {@link RoomSnapshot}, then the journal events written after it.
+ * <p>
+ * Snapshots are taken every few events, so the replayed tail stays short
+ * however long the game ran, and the journal segments older than the
+ * snapshot are not even opened.
+ * </p>
+ */
+public final class RoomRecovery {
+    private static final Logger LOG = Logger.get(RoomRecovery.class);
+
+    /**
+     * What was recovered.
+     *
+     * @param game  The game in progress, or null if the room was not playing.
+     * @param seats The players still seated, with their session tokens.
+     */
+    public record Recovered(SkyjoGame game, List<JournalEvent.Seat> seats) {
+    }
+
+    private RoomRecovery() {
+    }
+
+    /**
+     * Recovers a room.
+     *
+     * @param directory The journal directory.
+     * @param room      The room name.
+     * @return The game in progress and its seats.
+     * @throws IOException if the snapshot or the journal cannot be read.
+     */
+    public static Recovered recover(Path directory, String room) throws IOException {
+        RoomSnapshot snapshot = RoomSnapshot.read(SnapshotWriter.file(directory, room));
+        RoomReplica replica = new RoomReplica();
+        replica.restore(snapshot);
+        List<JournalEvent> tail = JournalReader.read(directory,
+                snapshot != null ? snapshot.position() : Journal.Position.START);
+        for (JournalEvent event : tail) {
+            replica.apply(event);
+        }
+        LOG.info("Room {}: {} from {} plus {} journal events", room,
+                replica.hasGame() ? "game recovered" : "no game in progress",
+                snapshot != null ? "a snapshot" : "the start of the journal", tail.size());
+        return replica.recovered();
+    }
+}
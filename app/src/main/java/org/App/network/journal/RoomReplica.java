@@ -0,0 +1,65 @@
+package org.App.network.journal;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.App.model.game.SkyjoGame;
+
+/**
+ * A copy of a room rebuilt from a {@link RoomSnapshot} and the journal events
+ * that follow it. Used by {@link RoomRecovery} after a restart and by
+ * {@link ReplicationFollower} on a standby, which applies the events as the
+ * primary streams them.
+ * <p>
+ * Only a game in progress and its seats are kept: joins to the lobby are not
+ * replicated, those players simply join again.
+ * </p>
+ */
+final class RoomReplica {
+    private SkyjoGame game;
+    private final Map<Integer, JournalEvent.Seat> seats = new LinkedHashMap<>();
+
+    /** Starts over from a snapshot, or from an idle room if it is null. */
+    void restore(RoomSnapshot snapshot) {
+        game = null;
+        seats.clear();
+        if (snapshot != null) {
+            game = snapshot.restore();
+            snapshot.seats().forEach(seat -> seats.put(seat.playerId(), seat));
+        }
+    }
+
+    /** Applies the next event. */
+    void apply(JournalEvent event) {
+        switch (event) {
+            case JournalEvent.Start start -> {
+                game = JournalReplay.start(start);
+                seats.clear();
+                start.seats().forEach(seat -> seats.put(seat.playerId(), seat));
+            }
+            case JournalEvent.Action action -> {
+                if (game != null) {
+                    JournalReplay.apply(game, action);
+                }
+            }
+            case JournalEvent.Leave leave -> seats.remove(leave.playerId());
+            case JournalEvent.End end -> {
+                game = null;
+                seats.clear();
+            }
+            case JournalEvent.Join join -> {
+                // seats are taken at the start of a game
+            }
+        }
+    }
+
+    boolean hasGame() {
+        return game != null;
+    }
+
+    /** Hands the room over; the replica must not be used afterwards. */
+    RoomRecovery.Recovered recovered() {
+        return new RoomRecovery.Recovered(game, List.copyOf(seats.values()));
+    }
+}
@@ -0,0 +1,258 @@
+package org.App.network.journal;
+
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import org.App.model.game.Card;
+import org.App.model.game.CardValue;
+import org.App.model.game.SkyjoGame;
+import org.App.model.player.HumanPlayer;
+import org.App.model.player.Player;
+import org.App.network.codec.VarInt;
+
+/**
+ * A compact copy of a running game and of its seats, tied to the journal
+ * position it was taken at: recovery restores it and replays only the events
+ * after that position.
+ * <p>
+ * {@link #capture} only copies references to immutable cards, so it is cheap
+ * enough for the server's command thread; encoding and writing happen later,
+ * on the {@link SnapshotWriter}'s thread. The file is written next to the
+ * journal, under a temporary name then renamed, so a crash leaves either the
+ * previous snapshot or the new one, never half of one.
+ * </p>
+ *
+ * @param position Where the journal stood when the snapshot was taken.
+ * @param seats    The players who still hold a seat, with their session tokens.
+ * @param hands    Every player of the game, in turn order.
+ * @param state    The rest of the game.
+ */
+public record RoomSnapshot(Journal.Position position, List<JournalEvent.Seat> seats, List<Hand> hands,
+        SkyjoGame.State state) {
+
+    private static final int MAGIC = 0x534b5953; // "SKYS"
+    private static final byte VERSION = 1;
+    private static final int VISIBLE_BIT = 0x80;
+    private static final CardValue[] CARD_VALUES = CardValue.values();
+
+    /** A player's hand and score. */
+    public record Hand(int playerId, String name, int score, List<Card> cards) {
+        public Hand {
+            cards = List.copyOf(cards);
+        }
+    }
+
+    public RoomSnapshot {
+        seats = List.copyOf(seats);
+        hands = List.copyOf(hands);
+    }
+
+    /**
+     * Copies a game. The caller must keep the game from changing meanwhile.
+     *
+     * @param position Where the journal stands, right after the game's last event.
+     * @param seats    The seated players.
+     * @param game     The game.
+     * @return The snapshot.
+     */
+    public static RoomSnapshot capture(Journal.Position position, List<JournalEvent.Seat> seats, SkyjoGame game) {
+        List<Hand> hands = new ArrayList<>(game.getPlayers().size());
+        for (Player player : game.getPlayers()) {
+            hands.add(new Hand(player.getId(), player.getName(), player.getCumulativeScore(), player.getCartes()));
+        }
+        return new RoomSnapshot(position, seats, hands, game.capture());
+    }
+
+    /** Rebuilds the game, with new player objects. */
+    public SkyjoGame restore() {
+        List<Player> players = new ArrayList<>(hands.size());
+        for (Hand hand : hands) {
+            Player player = new HumanPlayer(hand.playerId(), hand.name());
+            player.getCartes().addAll(hand.cards());
+            player.addScore(hand.score());
+            players.add(player);
+        }
+        return SkyjoGame.restore(players, state);
+    }
+
+    /**
+     * Writes the snapshot durably, replacing the previous one atomically.
+     *
+     * @param file The snapshot file.
+     * @throws IOException if the write fails; the previous snapshot is then left as it was.
+     */
+    public void write(Path file) throws IOException {
+        ByteBuffer body = encode();
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads a snapshot.
+     *
+     * @param file The snapshot file.
+     * @return The snapshot, or null if there is none.
+     * @throws IOException if it cannot be read or is damaged.
+     */
+    public static RoomSnapshot read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        return decode(ByteBuffer.wrap(Files.readAllBytes(file)), file);
+    }
+
+    /**
+     * Decodes a snapshot encoded by {@link #encode()}.
+     *
+     * @param in     The encoded snapshot, backed by an array.
+     * @param source Where it comes from, for error messages.
+     * @throws ProtocolException if it is damaged.
+     */
+    static RoomSnapshot decode(ByteBuffer in, Object source) throws ProtocolException {
+        try {
+            if (in.getInt() != MAGIC || in.get() != VERSION) {
+                throw new ProtocolException("Not a snapshot: " + source);
+            }
+            int checksum = in.getInt();
+            CRC32C crc = new CRC32C();
+            crc.update(in.array(), in.arrayOffset() + in.position(), in.remaining());
+            if ((int) crc.getValue() != checksum) {
+                throw new ProtocolException("Damaged snapshot: " + source);
+            }
+            return decodeBody(in);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new ProtocolException("Malformed snapshot " + source + ": " + e);
+        }
+    }
+
+    /** Encodes the snapshot, header and checksum included. */
+    ByteBuffer encode() {
+        ByteBuffer out = ByteBuffer.allocate(4096);
+        while (true) {
+            try {
+                out.clear();
+                out.putInt(MAGIC).put(VERSION).putInt(0);
+                encodeBody(out);
+                break;
+            } catch (BufferOverflowException e) {
+                out = ByteBuffer.allocate(out.capacity() * 2);
+            }
+        }
+        out.flip();
+        CRC32C crc = new CRC32C();
+        crc.update(out.array(), 9, out.limit() - 9);
+        out.putInt(5, (int) crc.getValue());
+        return out;
+    }
+
+    private void encodeBody(ByteBuffer out) {
+        out.putLong(position.segment()).putInt(position.offset());
+        VarInt.write(out, seats.size());
+        for (JournalEvent.Seat seat : seats) {
+            VarInt.write(out, seat.playerId());
+            JournalCodec.writeString(out, seat.name());
+            JournalCodec.writeString(out, seat.token());
+        }
+        VarInt.write(out, hands.size());
+        for (Hand hand : hands) {
+            VarInt.write(out, hand.playerId());
+            JournalCodec.writeString(out, hand.name());
+            VarInt.writeSigned(out, hand.score());
+            writeCards(out, hand.cards());
+        }
+        out.putLong(state.seed());
+        writeCards(out, state.pick());
+        writeCards(out, state.discard());
+        out.put((byte) (state.pickedCard() != null ? 1 : 0));
+        if (state.pickedCard() != null) {
+            writeCard(out, state.pickedCard());
+        }
+        VarInt.write(out, state.indexActualPlayer());
+        VarInt.write(out, state.startingPlayerIndex());
+        VarInt.write(out, state.countReveal());
+        VarInt.writeSigned(out, state.firstPlayerToRevealAllCards());
+        VarInt.write(out, state.finalRoundTurnsRemaining());
+        out.put((byte) ((state.hasDiscard() ? 1 : 0) | (state.hasPickedFromDiscard() ? 2 : 0)
+                | (state.finalRound() ? 4 : 0)));
+    }
+
+    private static RoomSnapshot decodeBody(ByteBuffer in) throws ProtocolException {
+        Journal.Position position = new Journal.Position(in.getLong(), in.getInt());
+        int seatCount = VarInt.read(in);
+        List<JournalEvent.Seat> seats = new ArrayList<>(Math.min(seatCount, 16));
+        for (int i = 0; i < seatCount; i++) {
+            seats.add(new JournalEvent.Seat(VarInt.read(in), JournalCodec.readString(in), JournalCodec.readString(in)));
+        }
+        int handCount = VarInt.read(in);
+        List<Hand> hands = new ArrayList<>(Math.min(handCount, 16));
+        for (int i = 0; i < handCount; i++) {
+            hands.add(new Hand(VarInt.read(in), JournalCodec.readString(in), VarInt.readSigned(in), readCards(in)));
+        }
+        long seed = in.getLong();
+        List<Card> pick = readCards(in);
+        List<Card> discard = readCards(in);
+        Card pickedCard = in.get() != 0 ? readCard(in) : null;
+        int indexActualPlayer = VarInt.read(in);
+        int startingPlayerIndex = VarInt.read(in);
+        int countReveal = VarInt.read(in);
+        int firstToRevealAll = VarInt.readSigned(in);
+        int finalRoundTurnsRemaining = VarInt.read(in);
+        int flags = in.get();
+        SkyjoGame.State state = new SkyjoGame.State(seed, pick, discard, pickedCard, indexActualPlayer,
+                startingPlayerIndex, (flags & 1) != 0, countReveal, (flags & 2) != 0, firstToRevealAll,
+                (flags & 4) != 0, finalRoundTurnsRemaining);
+        return new RoomSnapshot(position, seats, hands, state);
+    }
+
+    private static void writeCards(ByteBuffer out, List<Card> cards) {
+        VarInt.write(out, cards.size());
+        for (Card card : cards) {
+            writeCard(out, card);
+        }
+    }
+
+    private static void writeCard(ByteBuffer out, Card card) {
+        VarInt.write(out, card.id());
+        out.put((byte) (card.valeur().ordinal() | (card.faceVisible() ? VISIBLE_BIT : 0)));
+    }
+
+    private static List<Card> readCards(ByteBuffer in) throws ProtocolException {
+        int count = VarInt.read(in);
+        if (count < 0 || count > in.remaining()) {
+            throw new ProtocolException("Invalid card count: " + count);
+        }
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(readCard(in));
+        }
+        return cards;
+    }
+
+    private static Card readCard(ByteBuffer in) throws ProtocolException {
+        int id = VarInt.read(in);
+        int bits = in.get() & 0xFF;
+        int value = bits & ~VISIBLE_BIT;
+        if (value >= CARD_VALUES.length) {
+            throw new ProtocolException("Invalid card value: " + value);
+        }
+        return new Card(CARD_VALUES[value], (bits & VISIBLE_BIT) != 0, id);
+    }
+}
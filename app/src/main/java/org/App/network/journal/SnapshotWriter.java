@@ -0,0 +1,112 @@
+package org.App.network.journal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.App.logging.Logger;
+
+/**
+ * Writes {@link RoomSnapshot}s on its own thread, so that the server's
+ * command thread only pays for the capture.
+ * <p>
+ * Only the latest snapshot matters: one submitted while another is being
+ * written replaces any that is still waiting.
+ * </p>
+ */
+public final class SnapshotWriter {
+    private static final Logger LOG = Logger.get(SnapshotWriter.class);
+    private static final String SUFFIX = ".snapshot";
+
+    private final Path file;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private RoomSnapshot pending;
+    private boolean writing;
+    private boolean closed;
+
+    /**
+     * Starts a writer.
+     *
+     * @param directory The journal directory.
+     * @param room      The room whose snapshots are written.
+     */
+    public SnapshotWriter(Path directory, String room) {
+        this.file = file(directory, room);
+        Thread.ofVirtual().name("skyjo-snapshot-" + room).start(this::run);
+    }
+
+    /** Returns the snapshot file of a room. */
+    public static Path file(Path directory, String room) {
+        return directory.resolve("room-" + room + SUFFIX);
+    }
+
+    /** Queues a snapshot, replacing any that is not written yet. */
+    public void submit(RoomSnapshot snapshot) {
+        lock.lock();
+        try {
+            pending = snapshot;
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Waits until the queued snapshot, if any, is written. */
+    public void flush() {
+        lock.lock();
+        try {
+            while ((pending != null || writing) && !closed) {
+                changed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Writes the queued snapshot, if any, then stops. */
+    public void close() {
+        flush();
+        lock.lock();
+        try {
+            closed = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            RoomSnapshot snapshot;
+            lock.lock();
+            try {
+                while (pending == null && !closed) {
+                    changed.awaitUninterruptibly();
+                }
+                if (closed) {
+                    return;
+                }
+                snapshot = pending;
+                pending = null;
+                writing = true;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                snapshot.write(file);
+            } catch (IOException e) {
+                LOG.error("Cannot write snapshot {}: {}", file, e.getMessage());
+            } finally {
+                lock.lock();
+                try {
+                    writing = false;
+                    changed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.App.network.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Serves {@link ServerMetrics} and a few JVM figures over HTTP, in the
+ * Prometheus text exposition format, at {@code /metrics}.
+ * <p>
+ * Counters are cumulative since startup, so rates (messages per second,
+ * bytes per second) are left to the scraper. Durations are exported in
+ * seconds, as summaries with a few quantiles.
+ * </p>
+ * The endpoint runs on its own single thread and only reads lock-free
+ * counters, so a scrape never contends with the game.
+ */
+public final class MetricsEndpoint {
+    public static final String PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+
+    private final HttpServer http;
+
+    private MetricsEndpoint(HttpServer http) {
+        this.http = http;
+    }
+
+    /**
+     * Starts serving the metrics.
+     *
+     * @param host    The address to bind, typically the loopback.
+     * @param port    The port, or 0 for any free port.
+     * @param metrics The metrics to expose.
+     * @return The running endpoint.
+     * @throws IOException if the port cannot be bound.
+     */
+    public static MetricsEndpoint start(String host, int port, ServerMetrics metrics) throws IOException {
+        HttpServer http = HttpServer.create(new InetSocketAddress(host, port), 0);
+        http.createContext(PATH, exchange -> respond(exchange, metrics));
+        http.setExecutor(null); // the server's own dispatcher thread is plenty for scrapes
+        http.start();
+        return new MetricsEndpoint(http);
+    }
+
+    /** Returns the port actually bound. */
+    public int getPort() {
+        return http.getAddress().getPort();
+    }
+
+    /** Stops the endpoint immediately. */
+    public void stop() {
+        http.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, ServerMetrics metrics) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = render(metrics).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Formats the metrics in the Prometheus text format.
+     *
+     * @param metrics The server metrics.
+     * @return The exposition document.
+     */
+    public static String render(ServerMetrics metrics) {
+        StringBuilder out = new StringBuilder(4096);
+
+        header(out, "skyjo_messages_received_total", "counter", "Messages received from clients, by type.");
+        for (Map.Entry<String, Long> entry : metrics.getMessageCounts().entrySet()) {
+            sample(out, "skyjo_messages_received_total", label("type", entry.getKey()), entry.getValue());
+        }
+        header(out, "skyjo_bytes_sent_total", "counter", "Bytes written to client sockets.");
+        sample(out, "skyjo_bytes_sent_total", "", metrics.getBytesSent());
+
+        header(out, "skyjo_connections", "gauge", "Connected clients.");
+        sample(out, "skyjo_connections", "", metrics.getActiveConnections());
+        header(out, "skyjo_connections_reaped_total", "counter", "Connections closed for inactivity.");
+        sample(out, "skyjo_connections_reaped_total", "", metrics.getConnectionsReaped());
+        header(out, "skyjo_messages_dropped_total", "counter", "Inbound messages dropped by the rate limits.");
+        sample(out, "skyjo_messages_dropped_total", "", metrics.getMessagesDropped());
+        header(out, "skyjo_connections_flooding_total", "counter", "Connections closed for flooding.");
+        sample(out, "skyjo_connections_flooding_total", "", metrics.getConnectionsFlooding());
+        header(out, "skyjo_ai_deadlines_missed_total", "counter", "AI decisions replaced by a fallback move.");
+        sample(out, "skyjo_ai_deadlines_missed_total", "", metrics.getAiDeadlinesMissed());
+        header(out, "skyjo_turn_timeouts_total", "counter", "Turns played by the server after the time limit.");
+        sample(out, "skyjo_turn_timeouts_total", "", metrics.getTurnsTimedOut());
+        header(out, "skyjo_rooms", "gauge", "Games in progress.");
+        sample(out, "skyjo_rooms", "", metrics.getActiveRooms());
+
+        summary(out, "skyjo_ai_decision_seconds", "Time an AI seat takes to decide a move, queueing included.",
+                "", metrics.getAiDecision(), true);
+        summary(out, "skyjo_command_wait_seconds", "Time commands wait for the game lock.",
+                "", metrics.getCommandWait(), true);
+        summary(out, "skyjo_command_processing_seconds", "Time spent handling a command, sends included.",
+                "", metrics.getCommandProcessing(), true);
+        summary(out, "skyjo_heartbeat_rtt_seconds", "Round trip time of heartbeats.",
+                "", metrics.getHeartbeatRtt(), true);
+        summary(out, "skyjo_journal_append_seconds", "Time spent appending one event to the journal.",
+                "", metrics.getJournalAppend(), true);
+        summary(out, "skyjo_state_encoding_seconds", "Time spent encoding one state version.",
+                "", metrics.getStateEncoding(), true);
+        summary(out, "skyjo_state_bytes", "Encoded size of one state version, all formats in use.",
+                "", metrics.getStateBytes(), false);
+        header(out, "skyjo_turn_duration_seconds", "summary", "Duration of a turn, by room.");
+        for (Map.Entry<String, Histogram> entry : metrics.getTurnDurations().entrySet()) {
+            summaryBody(out, "skyjo_turn_duration_seconds", label("room", entry.getKey()), entry.getValue(), true);
+        }
+
+        renderJvm(out);
+        return out.toString();
+    }
+
+    private static void renderJvm(StringBuilder out) {
+        header(out, "jvm_gc_collections_total", "counter", "Garbage collections, by collector.");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(out, "jvm_gc_collections_total", label("gc", gc.getName()), Math.max(0, gc.getCollectionCount()));
+        }
+        header(out, "jvm_gc_collection_seconds_total", "counter", "Time spent in garbage collection, by collector.");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(out, "jvm_gc_collection_seconds_total", label("gc", gc.getName()),
+                    Math.max(0, gc.getCollectionTime()) / 1e3);
+        }
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        header(out, "jvm_memory_heap_bytes", "gauge", "Heap memory, by kind.");
+        sample(out, "jvm_memory_heap_bytes", label("area", "used"), heap.getUsed());
+        sample(out, "jvm_memory_heap_bytes", label("area", "committed"), heap.getCommitted());
+        sample(out, "jvm_memory_heap_bytes", label("area", "max"), heap.getMax());
+    }
+
+    private static void summary(StringBuilder out, String name, String help, String labels,
+            Histogram histogram, boolean nanos) {
+        header(out, name, "summary", help);
+        summaryBody(out, name, labels, histogram, nanos);
+    }
+
+    private static void summaryBody(StringBuilder out, String name, String labels, Histogram histogram,
+            boolean nanos) {
+        double scale = nanos ? 1e-9 : 1;
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        for (double quantile : QUANTILES) {
+            double value = histogram.getCount() == 0 ? Double.NaN : histogram.getPercentile(quantile * 100) * scale;
+            sample(out, name, prefix + "quantile=\"" + quantile + "\"", value);
+        }
+        sample(out, name + "_sum", labels, histogram.getSum() * scale);
+        sample(out, name + "_count", labels, histogram.getCount());
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        appendName(out, name, labels).append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        appendName(out, name, labels).append(format(value)).append('\n');
+    }
+
+    private static StringBuilder appendName(StringBuilder out, String name, String labels) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        return out.append(' ');
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        return String.format(Locale.ROOT, "%.9g", value);
+    }
+
+    private static String label(String name, String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '"' -> escaped.append("\\\"");
+                case '\n' -> escaped.append("\\n");
+                default -> escaped.append(c);
+            }
+        }
+        return name + "=\"" + escaped + '"';
+    }
+}
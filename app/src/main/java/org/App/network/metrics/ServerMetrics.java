@@ -0,0 +1,286 @@
+package org.App.network.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Instrumentation of the game server: message counts, command latency and
+ * state encoding cost.
+ * <p>
+ * Everything is recorded without locks, from whichever thread observes it;
+ * {@link #report()} reads a consistent-enough view for the console.
+ * </p>
+ * Durations are in nanoseconds.
+ */
+public final class ServerMetrics {
+    /** Bounds the counter map when a client sends garbage message types. */
+    private static final int MAX_MESSAGE_TYPES = 64;
+    private static final String OTHER_TYPE = "other";
+
+    private final ConcurrentHashMap<String, LongAdder> messagesByType = new ConcurrentHashMap<>();
+    private final Histogram commandWait = new Histogram();
+    private final Histogram commandProcessing = new Histogram();
+    private final Histogram stateEncoding = new Histogram();
+    private final Histogram stateBytes = new Histogram();
+    private final LongAdder bytesSent = new LongAdder();
+    private final Histogram heartbeatRtt = new Histogram();
+    private final LongAdder connectionsReaped = new LongAdder();
+    private final Histogram journalAppend = new Histogram();
+    private final Histogram aiDecision = new Histogram();
+    private final LongAdder aiDeadlinesMissed = new LongAdder();
+    private final LongAdder turnsTimedOut = new LongAdder();
+    private final LongAdder messagesDropped = new LongAdder();
+    private final LongAdder connectionsFlooding = new LongAdder();
+    private final ConcurrentHashMap<String, Histogram> turnDurationByRoom = new ConcurrentHashMap<>();
+    private final IntSupplier activeConnections;
+    private final IntSupplier activeRooms;
+
+    /**
+     * @param activeConnections Reports the number of connected clients.
+     * @param activeRooms       Reports the number of games in progress.
+     */
+    public ServerMetrics(IntSupplier activeConnections, IntSupplier activeRooms) {
+        this.activeConnections = activeConnections;
+        this.activeRooms = activeRooms;
+    }
+
+    /**
+     * Counts an inbound message.
+     *
+     * @param type The message type.
+     */
+    public void messageReceived(String type) {
+        LongAdder counter = messagesByType.get(type);
+        if (counter == null) {
+            String key = messagesByType.size() < MAX_MESSAGE_TYPES ? type : OTHER_TYPE;
+            counter = messagesByType.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * Records one handled command.
+     *
+     * @param waitNanos       Time spent waiting for the server lock.
+     * @param processingNanos Time spent handling the command, sends included.
+     */
+    public void commandHandled(long waitNanos, long processingNanos) {
+        commandWait.record(waitNanos);
+        commandProcessing.record(processingNanos);
+    }
+
+    /**
+     * Records the encoding of one state version.
+     *
+     * @param nanos Time spent encoding, all wire formats in use together.
+     * @param bytes Total encoded size over those formats.
+     */
+    public void stateEncoded(long nanos, int bytes) {
+        stateEncoding.record(nanos);
+        stateBytes.record(bytes);
+    }
+
+    /**
+     * Counts bytes written to a client socket.
+     *
+     * @param bytes Number of bytes written.
+     */
+    public void bytesSent(long bytes) {
+        bytesSent.add(bytes);
+    }
+
+    /**
+     * Records a heartbeat round trip.
+     *
+     * @param nanos Time from sending a PING to receiving its PONG.
+     */
+    public void heartbeatRtt(long nanos) {
+        heartbeatRtt.record(nanos);
+    }
+
+    /** Counts a connection closed for inactivity. */
+    public void connectionReaped() {
+        connectionsReaped.increment();
+    }
+
+    /**
+     * Records the time taken to append one event to the game journal.
+     *
+     * @param nanos Duration of the append.
+     */
+    public void journalAppended(long nanos) {
+        journalAppend.record(nanos);
+    }
+
+    /**
+     * Records the time an AI seat took to decide its move, queueing on the
+     * compute pool included.
+     *
+     * @param nanos Duration of the decision.
+     */
+    public void aiDecided(long nanos) {
+        aiDecision.record(nanos);
+    }
+
+    /** Counts an AI decision that missed its deadline and was replaced by a fallback move. */
+    public void aiDeadlineMissed() {
+        aiDeadlinesMissed.increment();
+    }
+
+    /** Counts an inbound message dropped by a connection's rate limits. */
+    public void messageDropped() {
+        messagesDropped.increment();
+    }
+
+    /** Counts a connection closed for flooding: too many dropped messages, or one too large or malformed. */
+    public void connectionFlooding() {
+        connectionsFlooding.increment();
+    }
+
+    /** Counts a turn the player let run out of time, played by the server. */
+    public void turnTimedOut() {
+        turnsTimedOut.increment();
+    }
+
+    /**
+     * Records the duration of one turn, from its announcement to its last action.
+     *
+     * @param room  The room the turn was played in.
+     * @param nanos Duration of the turn.
+     */
+    public void turnCompleted(String room, long nanos) {
+        turnDurationByRoom.computeIfAbsent(room, r -> new Histogram()).record(nanos);
+    }
+
+    /** Returns message counts by type, sorted by type. */
+    public Map<String, Long> getMessageCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        messagesByType.forEach((type, counter) -> counts.put(type, counter.sum()));
+        return counts;
+    }
+
+    public Histogram getCommandWait() {
+        return commandWait;
+    }
+
+    public Histogram getCommandProcessing() {
+        return commandProcessing;
+    }
+
+    public Histogram getStateEncoding() {
+        return stateEncoding;
+    }
+
+    public Histogram getStateBytes() {
+        return stateBytes;
+    }
+
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    public Histogram getHeartbeatRtt() {
+        return heartbeatRtt;
+    }
+
+    public long getConnectionsReaped() {
+        return connectionsReaped.sum();
+    }
+
+    public Histogram getJournalAppend() {
+        return journalAppend;
+    }
+
+    public Histogram getAiDecision() {
+        return aiDecision;
+    }
+
+    public long getAiDeadlinesMissed() {
+        return aiDeadlinesMissed.sum();
+    }
+
+    public long getTurnsTimedOut() {
+        return turnsTimedOut.sum();
+    }
+
+    public long getMessagesDropped() {
+        return messagesDropped.sum();
+    }
+
+    public long getConnectionsFlooding() {
+        return connectionsFlooding.sum();
+    }
+
+    /** Returns turn durations by room, sorted by room. */
+    public Map<String, Histogram> getTurnDurations() {
+        return new TreeMap<>(turnDurationByRoom);
+    }
+
+    public int getActiveConnections() {
+        return activeConnections.getAsInt();
+    }
+
+    public int getActiveRooms() {
+        return activeRooms.getAsInt();
+    }
+
+    /**
+     * Formats the metrics for the server console.
+     *
+     * @return A multi-line report.
+     */
+    public String report() {
+        StringBuilder out = new StringBuilder();
+        out.append("Connexions actives: ").append(getActiveConnections())
+                .append(", parties en cours: ").append(getActiveRooms()).append('\n');
+        out.append("Messages reçus:");
+        Map<String, Long> counts = getMessageCounts();
+        if (counts.isEmpty()) {
+            out.append(" aucun");
+        }
+        counts.forEach((type, count) -> out.append(' ').append(type).append('=').append(count));
+        out.append('\n');
+        appendLine(out, "Attente verrou  ", commandWait, true);
+        appendLine(out, "Traitement      ", commandProcessing, true);
+        appendLine(out, "Encodage état   ", stateEncoding, true);
+        appendLine(out, "Taille état     ", stateBytes, false);
+        out.append("Octets envoyés: ").append(getBytesSent())
+                .append(", connexions inactives fermées: ").append(getConnectionsReaped()).append('\n');
+        out.append("Messages limités: ").append(getMessagesDropped())
+                .append(", connexions fermées pour abus: ").append(getConnectionsFlooding()).append('\n');
+        appendLine(out, "RTT heartbeat   ", heartbeatRtt, true);
+        appendLine(out, "Journal         ", journalAppend, true);
+        appendLine(out, "Décision IA     ", aiDecision, true);
+        out.append("Décisions IA hors délai: ").append(getAiDeadlinesMissed())
+                .append(", tours expirés: ").append(getTurnsTimedOut()).append('\n');
+        getTurnDurations().forEach((room, turns) -> appendLine(out, "Tour (" + room + ")", turns, true));
+        return out.toString();
+    }
+
+    private static void appendLine(StringBuilder out, String label, Histogram histogram, boolean nanos) {
+        out.append(label).append(" n=").append(histogram.getCount());
+        if (histogram.getCount() > 0) {
+            out.append(" p50=").append(format(histogram.getPercentile(50), nanos))
+                    .append(" p99=").append(format(histogram.getPercentile(99), nanos))
+                    .append(" p99.9=").append(format(histogram.getPercentile(99.9), nanos))
+                    .append(" max=").append(format(histogram.getMax(), nanos));
+        }
+        out.append('\n');
+    }
+
+    private static String format(long value, boolean nanos) {
+        if (!nanos) {
+            return value + " o";
+        }
+        if (value < 10_000) {
+            return value + " ns";
+        }
+        if (value < 10_000_000) {
+            return String.format("%.1f µs", value / 1e3);
+        }
+        return String.format("%.1f ms", value / 1e6);
+    }
+}
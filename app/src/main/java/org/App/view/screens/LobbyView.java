@@ -3,6 +3,7 @@ package org.App.view.screens;
 import java.util.Map;
 
 import org.App.controller.OnlineGameController;
+import org.App.model.player.Difficulty;
 import org.App.network.GameClient;
 import org.App.network.GameServer;
 import org.App.network.GameState;
@@ -15,6 +16,7 @@ import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
@@ -33,6 +35,7 @@ public class LobbyView {
     private GameServer server; // Stockage de l'instance du serveur
     private boolean isHost = false; // Indique si le joueur est l'hôte
     private Button startGameButton; // Bouton pour démarrer la partie
+    private HBox aiRow; // Ajout de joueurs IA, réservé à l'hôte
 
     // Dans LobbyView.java
     public LobbyView(Stage stage, MusicManager musicManager) {
@@ -85,6 +88,17 @@ public class LobbyView {
         startGameButton.setDisable(true); // Désactivé jusqu'à ce qu'on soit l'hôte
         startGameButton.setOnAction(e -> startGame());
 
+        // Ajout d'une place jouée par le serveur (hôte uniquement)
+        ComboBox<Difficulty> difficultyBox = new ComboBox<>();
+        difficultyBox.getItems().addAll(Difficulty.values());
+        difficultyBox.setValue(Difficulty.MEDIUM);
+        Button addAiButton = new Button("Ajouter une IA");
+        addAiButton.getStyleClass().add("button-secondary");
+        addAiButton.setOnAction(e -> addAIPlayer(difficultyBox.getValue()));
+        aiRow = new HBox(10, difficultyBox, addAiButton);
+        aiRow.setAlignment(Pos.CENTER);
+        aiRow.setDisable(true); // Désactivé jusqu'à ce qu'on soit l'hôte
+
         // Label pour indiquer si on est l'hôte
         Label hostLabel = new Label("En attente de connexion...");
         hostLabel.setTextFill(Color.LIGHTGRAY);
@@ -111,6 +125,7 @@ public class LobbyView {
                 hostLabel,
                 new Text("Joueurs connectés:"),
                 playersList,
+                aiRow,
                 startGameButton);
 
         // Style global
@@ -131,6 +146,7 @@ public class LobbyView {
             server.start();
             isHost = true;
             startGameButton.setDisable(false); // Activer le bouton de démarrage
+            aiRow.setDisable(false);
 
             // Mettre à jour le label
             for (int i = 0; i < container.getChildren().size(); i++) {
@@ -157,6 +173,17 @@ public class LobbyView {
         }
     }
 
+    // Méthode pour ajouter un joueur IA à la prochaine partie
+    private void addAIPlayer(Difficulty difficulty) {
+        if (isHost && server != null) {
+            if (!server.addAIPlayer(difficulty)) {
+                showError("La partie a déjà commencé");
+            }
+        } else {
+            showError("Vous n'êtes pas l'hôte ou le serveur n'est pas démarré");
+        }
+    }
+
     private void connectToServer(String playerName) {
         try {
             // Rendre le nom unique en ajoutant un suffixe numérique si nécessaire
@@ -183,8 +210,9 @@ public class LobbyView {
             NetworkManager.getInstance().getClient().setListener(new LobbyNetworkListener());
 
             // Send JOIN message to server
-            NetworkManager.getInstance().getClient().sendMessage(
-                    Protocol.formatMessage(Protocol.PLAYER_JOIN, -1, playerName));
+            GameClient client = NetworkManager.getInstance().getClient();
+            client.sendMessage(Protocol.formatMessage(Protocol.PLAYER_JOIN, -1, playerName,
+                    client.getPreferredWireFormat().name()));
 
             showMessage("Connecté avec succès! En attente d'autres joueurs...");
         } catch (NumberFormatException e) {
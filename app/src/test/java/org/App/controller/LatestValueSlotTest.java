@@ -0,0 +1,60 @@
+package org.App.controller;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatestValueSlotTest {
+
+    @Test
+    void valuesPublishedBetweenTwoPulses_areRenderedOnceWithTheNewest() {
+        Queue<Runnable> fxQueue = new ArrayDeque<>();
+        List<Integer> rendered = new ArrayList<>();
+        LatestValueSlot<Integer> slot = new LatestValueSlot<>(rendered::add, fxQueue::add);
+
+        slot.publish(1);
+        slot.publish(2);
+        slot.publish(3);
+        assertEquals(1, fxQueue.size(), "a single render queued");
+        fxQueue.poll().run();
+        assertEquals(List.of(3), rendered);
+
+        slot.publish(4);
+        assertEquals(1, fxQueue.size());
+        fxQueue.poll().run();
+        assertEquals(List.of(3, 4), rendered);
+    }
+
+    @Test
+    void lastValue_isAlwaysRendered_underConcurrentPublishers() throws Exception {
+        ExecutorService fxThread = Executors.newSingleThreadExecutor();
+        List<Integer> rendered = new ArrayList<>();
+        LatestValueSlot<Integer> slot = new LatestValueSlot<>(rendered::add, fxThread);
+        int threads = 4;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    slot.publish(i);
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        slot.publish(-1);
+        fxThread.shutdown();
+        assertTrue(fxThread.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(-1, rendered.getLast());
+        assertTrue(rendered.size() <= threads * 10_000 + 1);
+    }
+}
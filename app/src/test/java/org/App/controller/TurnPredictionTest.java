@@ -0,0 +1,82 @@
+package org.App.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.App.model.game.Card;
+import org.App.model.game.CardValue;
+import org.App.model.player.HumanPlayer;
+import org.App.model.player.Player;
+import org.App.network.Protocol;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TurnPredictionTest {
+
+    private static final int ME = 1;
+
+    private static TurnPrediction.Board board() {
+        Player me = new HumanPlayer(ME, "moi");
+        me.setCards(new ArrayList<>(List.of(
+                new Card(CardValue.DOUZE, true, 10),
+                new Card(null, false, 11))));
+        Player other = new HumanPlayer(2, "autre");
+        other.setCards(new ArrayList<>(List.of(new Card(null, false, 20))));
+        return new TurnPrediction.Board(List.of(me, other), new Card(CardValue.ZERO, true, 30), 50);
+    }
+
+    private static List<Card> hand(TurnPrediction.Board board) {
+        return board.players().stream().filter(p -> p.getId() == ME).findFirst().orElseThrow().getCartes();
+    }
+
+    @Test
+    void takeExchange_swapsTheDiscardWithAVisibleCard() {
+        TurnPrediction.Board before = board();
+        TurnPrediction.Board after = TurnPrediction.predict(before, ME, Protocol.DISCARD_TAKE_EXCHANGE, 0);
+
+        assertEquals(new Card(CardValue.ZERO, true, 30), hand(after).get(0));
+        assertEquals(new Card(CardValue.DOUZE, true, 10), after.topDiscard());
+        assertEquals(50, after.remainingCards());
+        assertEquals(CardValue.DOUZE, hand(before).get(0).valeur(), "the confirmed board is left unchanged");
+        assertSame(before.players().get(1), after.players().get(1));
+    }
+
+    @Test
+    void exchange_placesTheDrawnCardShownToThePlayer() {
+        Card held = new Card(CardValue.MOINS_DEUX, true, -1);
+        TurnPrediction.Board after = TurnPrediction.predict(board(), ME, Protocol.CARD_EXCHANGE, 0, held);
+
+        assertEquals(CardValue.MOINS_DEUX, hand(after).get(0).valeur());
+        assertTrue(hand(after).get(0).faceVisible());
+        assertEquals(new Card(CardValue.DOUZE, true, 10), after.topDiscard());
+        assertEquals(50, after.remainingCards(), "the deck shrank when the card was picked");
+
+        TurnPrediction.Board before = board();
+        assertSame(before, TurnPrediction.predict(before, ME, Protocol.CARD_EXCHANGE, 0), "nothing held");
+    }
+
+    @Test
+    void unknownValues_areNotGuessed() {
+        TurnPrediction.Board exchanged = TurnPrediction.predict(board(), ME, Protocol.DISCARD_TAKE_EXCHANGE, 1);
+        assertNull(exchanged.topDiscard(), "the face-down card's value is unknown until the server says");
+
+        TurnPrediction.Board picked = TurnPrediction.predict(board(), ME, Protocol.CARD_PICK_EXCHANGE, 0);
+        assertEquals(49, picked.remainingCards());
+        assertFalse(hand(picked).get(0).faceVisible());
+        assertEquals(new Card(CardValue.DOUZE, true, 10), picked.topDiscard());
+
+        TurnPrediction.Board revealed = TurnPrediction.predict(board(), ME, Protocol.CARD_PICK_DISCARD_REVEAL, 1);
+        assertEquals(49, revealed.remainingCards());
+        assertNull(revealed.topDiscard());
+        assertFalse(hand(revealed).get(1).faceVisible());
+    }
+
+    @Test
+    void revealOrBadIndex_leavesTheBoardAsItIs() {
+        TurnPrediction.Board before = board();
+        assertSame(before, TurnPrediction.predict(before, ME, Protocol.CARD_REVEAL, 1));
+        assertSame(before, TurnPrediction.predict(before, ME, Protocol.DISCARD_TAKE_EXCHANGE, 5));
+        assertSame(before, TurnPrediction.predict(before, 99, Protocol.DISCARD_TAKE_EXCHANGE, 0));
+    }
+}
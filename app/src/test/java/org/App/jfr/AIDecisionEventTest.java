@@ -0,0 +1,48 @@
+package org.App.jfr;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.App.model.game.SkyjoGame;
+import org.App.model.player.AIPlayer;
+import org.App.model.player.Difficulty;
+import org.App.model.player.Player;
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIDecisionEventTest {
+
+    @Test
+    void aiTurn_isRecordedWhenRecording() throws Exception {
+        AIPlayer bot = new AIPlayer(0, "Bot", Difficulty.MEDIUM);
+        SkyjoGame game = new SkyjoGame(List.<Player>of(bot, new AIPlayer(1, "Other", Difficulty.EASY)));
+        game.startGame();
+        game.setIndexActualPlayer(0);
+
+        Path file = Files.createTempFile("skyjo", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(AIDecisionEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            bot.playTurn(game);
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            RecordedEvent decision = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("org.App.AIDecision"))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals("Bot", decision.getString("player"));
+            assertEquals("MediumStrategy", decision.getString("strategy"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.App.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.App.model.game.CardValue;
+import org.App.model.player.AIPlayer;
+import org.App.model.player.Difficulty;
+import org.App.network.GameState;
+import org.App.network.NetworkCardState;
+import org.App.network.NetworkPlayerState;
+import org.App.network.Protocol;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestTest {
+
+    @Test
+    void planner_returnsAMoveTheServerAccepts() {
+        List<NetworkCardState> cards = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            NetworkCardState card = new NetworkCardState();
+            card.setId(i);
+            card.setFaceVisible(i < 2);
+            card.setValue(i < 2 ? CardValue.DOUZE : null);
+            cards.add(card);
+        }
+        NetworkPlayerState self = new NetworkPlayerState();
+        self.setId(3);
+        self.setCards(cards);
+        NetworkCardState top = new NetworkCardState();
+        top.setValue(CardValue.MOINS_DEUX);
+        top.setFaceVisible(true);
+        GameState state = new GameState();
+        state.setPlayers(List.of(self));
+        state.setTopDiscard(top);
+
+        for (Difficulty difficulty : Difficulty.values()) {
+            BotMovePlanner.Move move = BotMovePlanner.plan(state, 3, new AIPlayer(3, "bot", difficulty));
+            assertNotNull(move, difficulty.name());
+            assertTrue(move.cardIndex() >= 0 && move.cardIndex() < 12, difficulty.name());
+            if (move.type().equals(Protocol.CARD_PICK_DISCARD_REVEAL)) {
+                assertFalse(cards.get(move.cardIndex()).isFaceVisible(), "reveals a hidden card");
+            }
+        }
+    }
+
+    @Test
+    void stage_playsGamesToTheEnd() throws Exception {
+        LoadTest test = new LoadTest();
+        test.applyArgument("--players=3");
+        test.applyArgument("--timeout-s=30");
+
+        LoadStats stats = test.runStage(2);
+
+        assertEquals(2, stats.getGamesCompleted(), stats.report());
+        assertEquals(0, stats.getErrors(), stats.report());
+        assertTrue(stats.getClientTurnLatency().getCount() > 0);
+    }
+}
@@ -362,4 +362,54 @@ class SkyjoGameTest {
             }
         }
     }
+
+    // ─── Seed ────────────────────────────────────────────────────────
+
+    @Test
+    void sameSeed_dealsAndRevealsTheSameCards() {
+        SkyjoGame first = seeded(42);
+        SkyjoGame second = seeded(42);
+
+        for (int i = 0; i < first.getPlayers().size(); i++) {
+            assertEquals(first.getPlayers().get(i).getCartes(), second.getPlayers().get(i).getCartes());
+        }
+        assertEquals(first.getPick(), second.getPick());
+        assertEquals(first.getTopDiscard(), second.getTopDiscard());
+        assertEquals(42, first.getSeed());
+    }
+
+    @Test
+    void restoredCapture_continuesLikeTheOriginal() {
+        SkyjoGame original = seeded(7);
+        original.setPickedCard(original.pickCard());
+        List<Player> players = new ArrayList<>();
+        for (Player p : original.getPlayers()) {
+            Player copy = new HumanPlayer(p.getId(), p.getName());
+            copy.getCartes().addAll(p.getCartes());
+            players.add(copy);
+        }
+
+        SkyjoGame restored = SkyjoGame.restore(players, original.capture());
+
+        assertEquals(original.getPickedCard(), restored.getPickedCard());
+        assertEquals(original.getActualPlayer().getId(), restored.getActualPlayer().getId());
+        for (SkyjoGame g : List.of(original, restored)) {
+            g.exchangeOrRevealCard(g.getActualPlayer(), g.getPickedCard(), 3);
+            g.setPickedCard(null);
+            g.nextPlayer();
+        }
+        assertEquals(original.getActualPlayer().getId(), restored.getActualPlayer().getId());
+        assertEquals(original.getPick(), restored.getPick());
+        assertEquals(original.getTopDiscard(), restored.getTopDiscard());
+        for (int i = 0; i < players.size(); i++) {
+            assertEquals(original.getPlayers().get(i).getCartes(), restored.getPlayers().get(i).getCartes());
+        }
+    }
+
+    private static SkyjoGame seeded(long seed) {
+        SkyjoGame seeded = new SkyjoGame(List.of(new HumanPlayer(0, "Alice"), new HumanPlayer(1, "Bob")), seed);
+        seeded.startGame();
+        seeded.revealInitialCards();
+        return seeded;
+    }
 }
@@ -0,0 +1,55 @@
+package org.App.network;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.App.network.metrics.ServerMetrics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AIPoolTest {
+
+    @Test
+    void lateDecision_isReplacedByItsFallback_andFastOnesStillGetThrough() throws InterruptedException {
+        TimerWheel timer = new TimerWheel("test-timer", 5, TimeUnit.MILLISECONDS, 64);
+        ServerMetrics metrics = new ServerMetrics(() -> 0, () -> 0);
+        AIPool pool = new AIPool(1, 100, timer, metrics);
+        try {
+            BlockingQueue<String> moves = new LinkedBlockingQueue<>();
+            pool.decide(() -> {
+                Thread.sleep(2_000);
+                return "slow";
+            }, "slow-fallback", moves::add);
+            assertEquals("slow-fallback", moves.poll(2, TimeUnit.SECONDS));
+            assertEquals(1, metrics.getAiDeadlinesMissed());
+
+            pool.decide(() -> "fast", "fast-fallback", moves::add);
+            assertEquals("fast", moves.poll(2, TimeUnit.SECONDS));
+            assertNull(moves.poll(200, TimeUnit.MILLISECONDS), "one move per decision");
+        } finally {
+            pool.shutdown();
+            timer.stop();
+        }
+    }
+
+    @Test
+    void failedDecision_playsItsFallbackOnce() throws InterruptedException {
+        TimerWheel timer = new TimerWheel("test-timer", 5, TimeUnit.MILLISECONDS, 64);
+        ServerMetrics metrics = new ServerMetrics(() -> 0, () -> 0);
+        AIPool pool = new AIPool(1, 100, timer, metrics);
+        try {
+            BlockingQueue<String> moves = new LinkedBlockingQueue<>();
+            pool.decide(() -> {
+                throw new IllegalStateException("no move");
+            }, "fallback", moves::add);
+            assertEquals("fallback", moves.poll(2, TimeUnit.SECONDS));
+            assertNull(moves.poll(200, TimeUnit.MILLISECONDS), "the deadline plays nothing more");
+            assertEquals(0, metrics.getAiDeadlinesMissed());
+        } finally {
+            pool.shutdown();
+            timer.stop();
+        }
+    }
+}
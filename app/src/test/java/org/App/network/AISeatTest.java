@@ -0,0 +1,45 @@
+package org.App.network;
+
+import org.App.model.player.Difficulty;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AISeatTest {
+
+    @Test
+    void aiSeats_playTheirTurnsAgainstAHuman() throws Exception {
+        GameServer server = new GameServer(0, new ServerConfig());
+        server.start();
+        try {
+            Inbox alice = new Inbox();
+            HeadlessClient connection = alice.join(server.getLocalPort(), "alice", WireFormat.TEXT);
+            int me = Integer.parseInt(alice.next(Protocol.SESSION).parts()[1]);
+            assertTrue(server.addAIPlayer(Difficulty.EASY));
+            assertTrue(server.addAIPlayer(Difficulty.HARD));
+            while (!"IA 2".equals(alice.next(Protocol.PLAYER_JOIN).parts()[2])) {
+                // alice's own JOIN and the first AI seat come first
+            }
+
+            server.startGame();
+            assertFalse(server.addAIPlayer(Difficulty.MEDIUM), "no seat added to a running game");
+            int aiTurns = 0;
+            int previous = -1;
+            while (aiTurns < 6) {
+                int current = Integer.parseInt(alice.next(Protocol.PLAYER_TURN).parts()[1]);
+                if (previous >= 0 && previous != me) {
+                    aiTurns++;
+                }
+                previous = current;
+                if (current == me) {
+                    connection.send(Protocol.CARD_PICK_DISCARD_REVEAL, me, String.valueOf(alice.hiddenSlot(me)));
+                }
+            }
+            assertEquals(3, alice.lastState.getPlayers().size());
+            connection.close();
+        } finally {
+            server.stop();
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package org.App.network;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.App.network.codec.Frame;
+import org.App.network.codec.FrameReader;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodedMessageTest {
+
+    private static FrameReader write(EncodedMessage message, WireFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        message.writeTo(out, format);
+        assertEquals(message.size(format), out.size());
+        return new FrameReader(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    void batch_isHeaderFollowedByMessagesInBothFormats() throws IOException {
+        EncodedMessage pick = EncodedMessage.of(Protocol.CARD_PICK, 1);
+        EncodedMessage turn = EncodedMessage.of(Protocol.PLAYER_TURN, 2);
+        EncodedMessage batch = EncodedMessage.batch(List.of(pick, turn));
+
+        for (WireFormat format : WireFormat.values()) {
+            FrameReader reader = write(batch, format);
+            Frame header = reader.read();
+            assertEquals(Protocol.BATCH, header.type());
+            assertEquals("2", header.parts()[2]);
+            assertArrayEquals(new String[] { "PICK", "1" }, reader.read().parts());
+            assertArrayEquals(new String[] { "TURN", "2" }, reader.read().parts());
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    void withoutState_isBuiltOnceForEveryQueue() {
+        EncodedMessage batch = EncodedMessage.batch(List.of(EncodedMessage.of(Protocol.CARD_PICK, 1),
+                EncodedMessage.ofText("STATE|-1|a"), EncodedMessage.of(Protocol.PLAYER_TURN, 2)));
+
+        EncodedMessage stripped = batch.withoutState();
+        assertSame(stripped, batch.withoutState(), "lagging recipients share the stripped batch");
+        assertEquals(Protocol.BATCH, stripped.type());
+        assertFalse(stripped.isCoalescable());
+    }
+}
@@ -0,0 +1,87 @@
+package org.App.network;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.App.model.game.Card;
+import org.App.model.game.SkyjoGame;
+import org.App.model.player.HumanPlayer;
+import org.App.model.player.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStateJsonTest {
+
+    private SkyjoGame game;
+
+    @BeforeEach
+    void setUp() {
+        game = new SkyjoGame(List.of(new HumanPlayer(0, "Alice"), new HumanPlayer(1, "Bob \"B\"")));
+        game.startGame();
+        game.revealInitialCards();
+    }
+
+    private static String json(byte[] line) {
+        String text = new String(line, StandardCharsets.UTF_8);
+        assertTrue(text.startsWith("STATE|-1|") && text.endsWith("\n"));
+        return text.substring("STATE|-1|".length(), text.length() - 1);
+    }
+
+    @Test
+    void streamedState_matchesDataBinding() throws IOException {
+        String json = json(new GameStateWriter().writeStateLine(game));
+
+        GameState expected = new GameState(game.getPlayers(), game.getTopDiscard(), game.getPickSize(),
+                game.getActualPlayer().getId(), game.isFinalRound());
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals(mapper.readTree(mapper.writeValueAsString(expected)), mapper.readTree(json));
+    }
+
+    @Test
+    void reader_parsesWhatTheWriterProduces() throws IOException {
+        GameState state = GameStateReader.read(json(new GameStateWriter().writeStateLine(game)));
+
+        assertEquals(2, state.getPlayers().size());
+        assertEquals("Bob \"B\"", state.getPlayers().get(1).getName());
+        for (int p = 0; p < 2; p++) {
+            List<NetworkCardState> cards = state.getPlayers().get(p).getCards();
+            assertEquals(12, cards.size());
+            for (int i = 0; i < 12; i++) {
+                Card card = game.getPlayers().get(p).getCartes().get(i);
+                assertEquals(card.id(), cards.get(i).getId());
+                assertEquals(card.faceVisible() ? card.valeur() : null, cards.get(i).getValue());
+            }
+        }
+        assertEquals(game.getTopDiscard().id(), state.getTopDiscard().getId());
+        assertEquals(game.getPickSize(), state.getRemainingCards());
+        assertEquals(game.getActualPlayer().getName(), state.getCurrentPlayerName());
+    }
+
+    @Test
+    void hiddenCards_areWrittenWithoutValue() {
+        String json = json(new GameStateWriter().writeStateLine(game));
+
+        long hidden = game.getPlayers().stream()
+                .flatMap(p -> p.getCartes().stream())
+                .filter(c -> !c.faceVisible())
+                .count();
+        assertTrue(hidden > 0);
+        assertEquals(hidden, json.split("\"value\":null", -1).length - 1);
+    }
+
+    @Test
+    void results_escapeNames() throws IOException {
+        Map<Player, Integer> ranking = game.getRanking();
+        String json = new GameStateWriter().writeResults(ranking);
+
+        var root = new ObjectMapper().readTree(json);
+        assertEquals(ranking.keySet().iterator().next().getName(), root.get("winner").asText());
+        assertEquals(2, root.get("ranking").size());
+    }
+}
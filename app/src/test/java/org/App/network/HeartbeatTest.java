@@ -0,0 +1,53 @@
+package org.App.network;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.App.network.codec.Frame;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeartbeatTest {
+
+    @Test
+    void silentConnection_isReaped_whileAnsweringClientStays() throws Exception {
+        ServerConfig config = new ServerConfig();
+        config.setHeartbeatIntervalMillis(100);
+        config.setIdleTimeoutMillis(400);
+        GameServer server = new GameServer(0, config);
+        server.start();
+        try (Socket silent = new Socket("127.0.0.1", server.getLocalPort())) {
+            CountDownLatch closed = new CountDownLatch(1);
+            HeadlessClient live = new HeadlessClient("127.0.0.1", server.getLocalPort(), "live",
+                    new HeadlessClient.Listener() {
+                        @Override
+                        public void onFrame(Frame frame) {
+                        }
+
+                        @Override
+                        public void onClosed(IOException error) {
+                            closed.countDown();
+                        }
+                    });
+            live.join("live", WireFormat.BINARY);
+
+            // The silent socket never answers the PINGs: the server closes it
+            silent.setSoTimeout(5_000);
+            InputStream in = silent.getInputStream();
+            while (in.read() != -1) {
+                // skip the PINGs
+            }
+
+            assertEquals(1, server.getMetrics().getConnectionsReaped());
+            assertFalse(closed.await(200, TimeUnit.MILLISECONDS), "answering client was dropped");
+            assertTrue(server.getMetrics().getHeartbeatRtt().getCount() > 0);
+            live.close();
+        } finally {
+            server.stop();
+        }
+    }
+}
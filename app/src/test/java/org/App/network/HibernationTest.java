@@ -0,0 +1,70 @@
+package org.App.network;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HibernationTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void idleGame_isHibernatedThenWokenByTheNextCommand() throws Exception {
+        ServerConfig config = new ServerConfig();
+        config.setHibernateAfterMillis(200);
+        config.setHibernateDirectory(directory.toString());
+        GameServer server = new GameServer(0, config);
+        server.start();
+        try {
+            Inbox alice = new Inbox();
+            Inbox bob = new Inbox();
+            HeadlessClient aliceConnection = alice.connect(server.getLocalPort(), "alice");
+            HeadlessClient bobConnection = bob.connect(server.getLocalPort(), "bob");
+            aliceConnection.join("alice", WireFormat.TEXT);
+            alice.next(Protocol.SESSION);
+            bobConnection.join("bob", WireFormat.TEXT);
+            while (!"bob".equals(alice.next(Protocol.PLAYER_JOIN).parts()[2])) {
+                // alice's own JOIN comes first
+            }
+            server.startGame();
+            int first = Integer.parseInt(alice.next(Protocol.PLAYER_TURN).parts()[1]);
+            GameState before = alice.lastState;
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!server.isHibernated()) {
+                assertTrue(System.nanoTime() < deadline, "game never hibernated");
+                Thread.sleep(20);
+            }
+
+            (first == 0 ? aliceConnection : bobConnection).send(Protocol.CARD_PICK_EXCHANGE, first, "2");
+            assertEquals(1 - first, Integer.parseInt(alice.next(Protocol.PLAYER_TURN).parts()[1]));
+            assertFalse(server.isHibernated());
+            assertEquals(0, hibernatedFiles());
+            GameState after = alice.lastState;
+            List<NetworkCardState> waiting = before.getPlayers().get(1 - first).getCards();
+            for (int i = 0; i < waiting.size(); i++) {
+                assertEquals(waiting.get(i).getId(), after.getPlayers().get(1 - first).getCards().get(i).getId());
+            }
+            assertEquals(before.getRemainingCards() - 1, after.getRemainingCards());
+            aliceConnection.close();
+            bobConnection.close();
+        } finally {
+            server.stop();
+        }
+    }
+
+    private long hibernatedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".hibernated")).count();
+        }
+    }
+}
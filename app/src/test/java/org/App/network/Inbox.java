@@ -0,0 +1,102 @@
+package org.App.network;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.App.network.codec.Frame;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Collects the frames of one headless client, for the tests that play
+ * against a real server. Public for the journal tests.
+ */
+public final class Inbox implements HeadlessClient.Listener {
+    private static final long TIMEOUT_SECONDS = 5;
+
+    public final BlockingQueue<Frame> frames = new LinkedBlockingQueue<>();
+    public volatile GameState lastState;
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private final String forbidden;
+
+    public Inbox() {
+        this(null);
+    }
+
+    private Inbox(String forbidden) {
+        this.forbidden = forbidden;
+    }
+
+    /** Returns an inbox that fails {@link #next} if a frame of the given type arrives. */
+    public static Inbox forbidding(String type) {
+        return new Inbox(type);
+    }
+
+    @Override
+    public void onFrame(Frame frame) {
+        if (frame.state() != null) {
+            lastState = frame.state();
+        }
+        frames.add(frame);
+    }
+
+    @Override
+    public void onClosed(IOException error) {
+        closed.countDown();
+    }
+
+    /** Connects a client to a local server, its frames going to this inbox. */
+    public HeadlessClient connect(int port, String name) throws IOException {
+        return new HeadlessClient("127.0.0.1", port, name, this);
+    }
+
+    /** Connects a client and joins the game under its name. */
+    public HeadlessClient join(int port, String name, WireFormat format) throws IOException {
+        HeadlessClient client = connect(port, name);
+        client.join(name, format);
+        return client;
+    }
+
+    /** Returns the next frame of one of the given types, skipping the others. */
+    public Frame next(String... types) throws InterruptedException {
+        Frame frame;
+        while ((frame = poll()) != null) {
+            if (forbidden != null) {
+                assertNotEquals(forbidden, frame.type(), forbidden + " must not reach this client");
+            }
+            if (List.of(types).contains(frame.type())) {
+                return frame;
+            }
+        }
+        throw new AssertionError("No " + List.of(types) + " received");
+    }
+
+    /** Returns the next frame, or null if none arrives in time. */
+    public Frame poll() throws InterruptedException {
+        return frames.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /** Waits for the server to close the connection. */
+    public boolean awaitClosed() throws InterruptedException {
+        return closed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /** Returns the first face-down slot of a player in the last state received. */
+    public int hiddenSlot(int playerId) {
+        for (NetworkPlayerState player : lastState.getPlayers()) {
+            if (player.getId() == playerId) {
+                List<NetworkCardState> cards = player.getCards();
+                for (int i = 0; i < cards.size(); i++) {
+                    if (!cards.get(i).isFaceVisible()) {
+                        return i;
+                    }
+                }
+            }
+        }
+        throw new AssertionError("No hidden card");
+    }
+}
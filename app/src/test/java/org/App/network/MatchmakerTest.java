@@ -0,0 +1,124 @@
+package org.App.network;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchmakerTest {
+
+    @Test
+    void matchOnce_formsRoomsPerSeatCount_oldestFirst() {
+        List<List<String>> rooms = new ArrayList<>();
+        Matchmaker<String> matchmaker = new Matchmaker<>(5, player -> true, rooms::add);
+        assertTrue(matchmaker.enqueue("a", 2));
+        assertTrue(matchmaker.enqueue("b", 3));
+        assertTrue(matchmaker.enqueue("c", 2));
+        assertTrue(matchmaker.enqueue("d", 3));
+        assertTrue(matchmaker.enqueue("e", 2));
+        assertFalse(matchmaker.enqueue("f", 1));
+        assertFalse(matchmaker.enqueue("g", 9));
+
+        assertEquals(1, matchmaker.matchOnce());
+        assertEquals(List.of(List.of("a", "c")), rooms);
+        assertEquals(3, matchmaker.queued());
+
+        matchmaker.enqueue("h", 3);
+        assertEquals(1, matchmaker.matchOnce());
+        assertEquals(List.of("b", "d", "h"), rooms.get(1));
+        assertEquals(1, matchmaker.queued());
+    }
+
+    @Test
+    void matchOnce_skipsLeftPlayers_andKeepsTheGroupWhenNoRoomIsFree() {
+        Set<String> left = ConcurrentHashMap.newKeySet();
+        List<List<String>> rooms = new ArrayList<>();
+        boolean[] roomFree = {false};
+        Matchmaker<String> matchmaker = new Matchmaker<>(5, player -> !left.contains(player),
+                group -> roomFree[0] && rooms.add(group));
+        matchmaker.enqueue("a", 2);
+        matchmaker.enqueue("b", 2);
+        matchmaker.enqueue("c", 2);
+        left.add("b");
+
+        assertEquals(0, matchmaker.matchOnce());
+        assertEquals(2, matchmaker.queued(), "b is dropped, a and c keep their place");
+
+        roomFree[0] = true;
+        assertEquals(1, matchmaker.matchOnce());
+        assertEquals(List.of(List.of("a", "c")), rooms);
+        assertEquals(0, matchmaker.queued());
+    }
+
+    @Test
+    void concurrentEnqueues_areAllMatched() throws Exception {
+        int threads = 8;
+        int perThread = 5_000;
+        List<List<Integer>> rooms = Collections.synchronizedList(new ArrayList<>());
+        Matchmaker<Integer> matchmaker = new Matchmaker<>(1, player -> true, rooms::add);
+        matchmaker.start();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    matchmaker.enqueue(base + i, 4);
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (rooms.size() < threads * perThread / 4 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        matchmaker.close();
+
+        assertEquals(0, matchmaker.queued());
+        synchronized (rooms) {
+            assertEquals(threads * perThread / 4, rooms.size());
+            assertEquals(threads * perThread, rooms.stream().flatMap(List::stream).distinct().count());
+        }
+    }
+
+    @Test
+    void quickPlay_startsAGameWithoutTheConsole() throws Exception {
+        GameServer server = new GameServer(0, new ServerConfig());
+        server.start();
+        try {
+            Inbox alice = new Inbox();
+            Inbox bob = new Inbox();
+            Inbox carol = new Inbox();
+            HeadlessClient aliceConnection = alice.connect(server.getLocalPort(), "alice");
+            HeadlessClient bobConnection = bob.connect(server.getLocalPort(), "bob");
+            HeadlessClient carolConnection = carol.connect(server.getLocalPort(), "carol");
+            carolConnection.quickPlay("carol", 3, WireFormat.TEXT);
+            assertEquals("3", carol.next(Protocol.QUEUED).parts()[2]);
+            aliceConnection.quickPlay("alice", 2, WireFormat.TEXT);
+            assertEquals("2", alice.next(Protocol.QUEUED).parts()[2]);
+            aliceConnection.quickPlay("alice", 2, WireFormat.TEXT);
+            assertEquals("Already queued", alice.next(Protocol.ERROR).parts()[2]);
+            bobConnection.quickPlay("bob", 2, WireFormat.TEXT);
+
+            int aliceId = Integer.parseInt(alice.next(Protocol.SESSION).parts()[1]);
+            int bobId = Integer.parseInt(bob.next(Protocol.SESSION).parts()[1]);
+            alice.next(Protocol.GAME_START);
+            int first = Integer.parseInt(bob.next(Protocol.PLAYER_TURN).parts()[1]);
+            assertTrue(first == aliceId || first == bobId);
+            assertEquals(1, server.getQueuedPlayers(), "carol still waits for a third player");
+            assertTrue(carol.frames.stream().noneMatch(frame -> frame.type().equals(Protocol.GAME_START)));
+            aliceConnection.close();
+            bobConnection.close();
+            carolConnection.close();
+        } finally {
+            server.stop();
+        }
+    }
+}
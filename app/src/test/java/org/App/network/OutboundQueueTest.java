@@ -0,0 +1,154 @@
+package org.App.network;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundQueueTest {
+
+    /** Output stream that blocks every write until released, simulating a stalled peer. */
+    private static final class StalledStream extends OutputStream {
+        final CountDownLatch firstWrite = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ByteArrayOutputStream written = new ByteArrayOutputStream();
+        final AtomicInteger writes = new AtomicInteger();
+
+        @Override
+        public synchronized void write(int b) {
+            written.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            writes.incrementAndGet();
+            firstWrite.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            synchronized (this) {
+                written.write(b, off, len);
+            }
+        }
+    }
+
+    private static ServerConfig config(SlowConsumerPolicy policy, int capacity) {
+        ServerConfig config = new ServerConfig();
+        config.setSlowConsumerPolicy(policy);
+        config.setOutboundQueueCapacity(capacity);
+        config.setOutboundHighWaterMark(capacity);
+        return config;
+    }
+
+    @Test
+    void dropIntermediate_keepsOnlyNewestPendingState() throws Exception {
+        StalledStream stream = new StalledStream();
+        OutboundQueue queue = new OutboundQueue("test", stream, () -> WireFormat.TEXT,
+                config(SlowConsumerPolicy.DROP_INTERMEDIATE, 8), () -> fail("should not disconnect"));
+        queue.start();
+
+        queue.offer(EncodedMessage.of(Protocol.PLAYER_TURN, 0));
+        assertTrue(stream.firstWrite.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 20; i++) {
+            assertTrue(queue.offer(EncodedMessage.ofText("STATE|-1|" + i)));
+        }
+        queue.offer(EncodedMessage.of(Protocol.PLAYER_TURN, 1));
+
+        assertEquals(2, queue.size());
+        stream.release.countDown();
+        queue.close();
+        assertTimeoutPreemptively(java.time.Duration.ofSeconds(5), () -> {
+            while (queue.size() > 0) {
+                Thread.sleep(10);
+            }
+        });
+    }
+
+    @Test
+    void dropIntermediate_supersedesTheStateOfQueuedBatches() throws Exception {
+        StalledStream stream = new StalledStream();
+        OutboundQueue queue = new OutboundQueue("test", stream, () -> WireFormat.TEXT,
+                config(SlowConsumerPolicy.DROP_INTERMEDIATE, 8), () -> fail("should not disconnect"));
+        queue.start();
+
+        queue.offer(EncodedMessage.of(Protocol.PLAYER_TURN, 0));
+        assertTrue(stream.firstWrite.await(5, TimeUnit.SECONDS));
+        queue.offer(EncodedMessage.batch(List.of(EncodedMessage.of(Protocol.PLAYER_TURN, 1),
+                EncodedMessage.ofText("STATE|-1|a"))));
+        queue.offer(EncodedMessage.batch(List.of(EncodedMessage.ofText("STATE|-1|b"),
+                EncodedMessage.of(Protocol.PLAYER_TURN, 2), EncodedMessage.of(Protocol.PLAYER_TURN, 3))));
+        assertEquals(2, queue.size());
+        queue.offer(EncodedMessage.batch(List.of(EncodedMessage.of(Protocol.PLAYER_TURN, 4),
+                EncodedMessage.ofText("STATE|-1|c"))));
+        assertEquals(3, queue.size(), "the earlier batches keep their other messages");
+
+        stream.release.countDown();
+        queue.close();
+        String expected = "TURN|0\nTURN|1\nBATCH|-1|2\nTURN|2\nTURN|3\nBATCH|-1|2\nTURN|4\nSTATE|-1|c\n";
+        assertTimeoutPreemptively(java.time.Duration.ofSeconds(5), () -> {
+            while (!written(stream).equals(expected)) {
+                Thread.sleep(10);
+            }
+        });
+    }
+
+    @Test
+    void drainedMessages_areWrittenInOneCall() throws Exception {
+        StalledStream stream = new StalledStream();
+        OutboundQueue queue = new OutboundQueue("test", stream, () -> WireFormat.TEXT,
+                config(SlowConsumerPolicy.DROP_INTERMEDIATE, 8), () -> fail("should not disconnect"));
+        queue.start();
+
+        queue.offer(EncodedMessage.of(Protocol.PLAYER_TURN, 0));
+        assertTrue(stream.firstWrite.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 5; i++) {
+            queue.offer(EncodedMessage.of(Protocol.PLAYER_TURN, i));
+        }
+        stream.release.countDown();
+        queue.close();
+        String expected = "TURN|0\nTURN|1\nTURN|2\nTURN|3\nTURN|4\nTURN|5\n";
+        assertTimeoutPreemptively(java.time.Duration.ofSeconds(5), () -> {
+            while (!written(stream).equals(expected)) {
+                Thread.sleep(10);
+            }
+        });
+        assertEquals(2, stream.writes.get(), "the first message, then the five queued behind it");
+    }
+
+    private static String written(StalledStream stream) {
+        synchronized (stream) {
+            return stream.written.toString(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void disconnect_closesConnectionWhenQueueIsFull() throws Exception {
+        StalledStream stream = new StalledStream();
+        AtomicBoolean disconnected = new AtomicBoolean();
+        OutboundQueue queue = new OutboundQueue("test", stream, () -> WireFormat.TEXT,
+                config(SlowConsumerPolicy.DISCONNECT, 4), () -> disconnected.set(true));
+        queue.start();
+
+        queue.offer(EncodedMessage.of(Protocol.PLAYER_TURN, 0));
+        assertTrue(stream.firstWrite.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(EncodedMessage.ofText("STATE|-1|" + i)));
+        }
+
+        assertFalse(queue.offer(EncodedMessage.ofText("STATE|-1|overflow")));
+        assertTrue(disconnected.get());
+        assertFalse(queue.offer(EncodedMessage.of(Protocol.PLAYER_TURN, 1)), "closed queue rejects messages");
+        stream.release.countDown();
+    }
+}
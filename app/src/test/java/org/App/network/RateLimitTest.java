@@ -0,0 +1,170 @@
+package org.App.network;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ProtocolException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.App.network.codec.Frame;
+import org.App.network.codec.FrameReader;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitTest {
+
+
+    @Test
+    void floodingClient_isDisconnected() throws Exception {
+        ServerConfig config = new ServerConfig();
+        config.setMessageRate(10);
+        config.setMessageBurst(5);
+        config.setMaxDroppedMessages(20);
+        GameServer server = new GameServer(0, config);
+        server.start();
+        try {
+            Inbox inbox = new Inbox();
+            HeadlessClient flooder = inbox.connect(server.getLocalPort(), "flooder");
+            try {
+                for (int i = 0; i < 200; i++) {
+                    flooder.send(Protocol.CARD_PICK, -1);
+                }
+            } catch (IOException e) {
+                // the server may close the socket before the last writes
+            }
+            assertTrue(inbox.awaitClosed(), "connection closed by the server");
+            assertTrue(server.getMetrics().getMessagesDropped() >= 20);
+            assertEquals(1, server.getMetrics().getConnectionsFlooding());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void heartbeats_doNotCountAgainstTheBudget() throws Exception {
+        ServerConfig config = new ServerConfig();
+        config.setMessageRate(0.1);
+        config.setMessageBurst(1);
+        config.setMaxDroppedMessages(1);
+        GameServer server = new GameServer(0, config);
+        server.start();
+        try {
+            Inbox inbox = new Inbox();
+            HeadlessClient client = inbox.connect(server.getLocalPort(), "alive");
+            for (int i = 0; i < 20; i++) {
+                client.send(Protocol.PING, -1, String.valueOf(i));
+                client.send(Protocol.PONG, -1, String.valueOf(System.nanoTime()));
+            }
+            client.send(Protocol.CARD_PICK, -1);
+
+            int pongs = 0;
+            Frame frame;
+            while ((frame = inbox.poll()) != null
+                    && !frame.type().equals(Protocol.ERROR)) {
+                if (frame.type().equals(Protocol.PONG)) {
+                    pongs++;
+                }
+            }
+            assertNotNull(frame, "the command after the heartbeats still reached the server");
+            assertEquals(20, pongs);
+            assertEquals(0, server.getMetrics().getMessagesDropped());
+            assertEquals(0, server.getMetrics().getConnectionsFlooding());
+            client.close();
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void floodingOneGameCommand_leavesTheOtherTypesTheirBudget() throws Exception {
+        ServerConfig config = new ServerConfig();
+        config.setGameCommandRate(0.1);
+        config.setGameCommandBurst(5);
+        config.setMaxDroppedMessages(0);
+        GameServer server = new GameServer(0, config);
+        server.start();
+        try {
+            Inbox inbox = new Inbox();
+            HeadlessClient client = inbox.connect(server.getLocalPort(), "clicker");
+            for (int i = 0; i < 50; i++) {
+                client.send(Protocol.CARD_REVEAL, -1, "0");
+            }
+            client.send(Protocol.CARD_PICK, -1);
+
+            int errors = 0;
+            while (errors < 6) {
+                Frame frame = inbox.poll();
+                assertNotNull(frame, "five reveals and the pick answered, got " + errors);
+                if (frame.type().equals(Protocol.ERROR)) {
+                    errors++;
+                }
+            }
+            assertEquals(45, server.getMetrics().getMessagesDropped());
+            client.close();
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void sessionCommands_haveTheirOwnSmallerLimit() throws Exception {
+        ServerConfig config = new ServerConfig();
+        config.setSessionCommandRate(0.1);
+        config.setSessionCommandBurst(2);
+        config.setMaxDroppedMessages(0);
+        GameServer server = new GameServer(0, config);
+        server.start();
+        try {
+            HeadlessClient client = new Inbox().connect(server.getLocalPort(), "spammer");
+            for (int i = 0; i < 10; i++) {
+                client.send(Protocol.RESUME, -1, "nope", WireFormat.TEXT.name());
+            }
+            client.send(Protocol.CARD_PICK, -1);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (server.getMetrics().getMessagesDropped() < 8 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(8, server.getMetrics().getMessagesDropped(), "two resumes in the burst, the rest dropped");
+            assertEquals(0, server.getMetrics().getConnectionsFlooding());
+            client.close();
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void overlongLine_closesTheConnection() throws Exception {
+        ServerConfig config = new ServerConfig();
+        config.setMaxMessageBytes(256);
+        GameServer server = new GameServer(0, config);
+        server.start();
+        try (Socket socket = new Socket("127.0.0.1", server.getLocalPort())) {
+            OutputStream out = socket.getOutputStream();
+            try {
+                byte[] chunk = "A".repeat(1024).getBytes(StandardCharsets.US_ASCII);
+                for (int i = 0; i < 64; i++) {
+                    out.write(chunk); // never a newline
+                }
+                out.flush();
+            } catch (IOException e) {
+                // closed by the server while writing
+            }
+            socket.setSoTimeout(5_000);
+            assertEquals(-1, socket.getInputStream().read(), "connection closed by the server");
+            assertEquals(1, server.getMetrics().getConnectionsFlooding());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void frameReader_refusesLinesAboveItsLimit() throws Exception {
+        byte[] lines = ("PICK|-1\n" + "X".repeat(100) + "\n").getBytes(StandardCharsets.UTF_8);
+        FrameReader reader = new FrameReader(new ByteArrayInputStream(lines), 64);
+        assertEquals(Protocol.CARD_PICK, reader.read().type());
+        assertThrows(ProtocolException.class, reader::read);
+    }
+}
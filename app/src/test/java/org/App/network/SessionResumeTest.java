@@ -0,0 +1,62 @@
+package org.App.network;
+
+import org.App.network.codec.Frame;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionResumeTest {
+
+    @Test
+    void droppedPlayer_resumesTheirSeatWithASnapshot() throws Exception {
+        GameServer server = new GameServer(0, new ServerConfig());
+        server.start();
+        int port = server.getLocalPort();
+        try {
+            Inbox alice = new Inbox();
+            Inbox bob = new Inbox();
+            HeadlessClient aliceConnection = alice.connect(port, "alice");
+            HeadlessClient bobConnection = bob.connect(port, "bob");
+            aliceConnection.join("alice", WireFormat.BINARY);
+            Frame session = alice.next(Protocol.SESSION);
+            bobConnection.join("bob", WireFormat.TEXT);
+            bob.next(Protocol.SESSION);
+            server.startGame();
+            bob.next(Protocol.PLAYER_TURN);
+
+            aliceConnection.close();
+            assertEquals(session.parts()[1], bob.next(Protocol.PLAYER_AWAY).parts()[1]);
+
+            Inbox resumed = new Inbox();
+            HeadlessClient resumedConnection = resumed.connect(port, "alice-2");
+            resumedConnection.send(Protocol.RESUME, -1, session.parts()[2], WireFormat.BINARY.name());
+
+            Frame again = resumed.next(Protocol.SESSION);
+            assertEquals(session.parts()[1], again.parts()[1], "same seat");
+            assertNotNull(resumed.next(Protocol.GAME_STATE).state());
+            resumed.next(Protocol.PLAYER_TURN);
+            assertEquals(session.parts()[1], bob.next(Protocol.PLAYER_BACK).parts()[1]);
+
+            resumedConnection.close();
+            bobConnection.close();
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void unknownToken_isRejected() throws Exception {
+        GameServer server = new GameServer(0, new ServerConfig());
+        server.start();
+        try {
+            Inbox inbox = new Inbox();
+            HeadlessClient connection = inbox.connect(server.getLocalPort(), "x");
+            connection.send(Protocol.RESUME, -1, "0123456789abcdef", WireFormat.TEXT.name());
+
+            assertEquals("Unknown or expired session", inbox.next(Protocol.ERROR).parts()[2]);
+            connection.close();
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.App.network;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpectatorTest {
+
+    @Test
+    void spectator_followsTheGameWithoutASeat() throws Exception {
+        GameServer server = new GameServer(0, new ServerConfig());
+        server.start();
+        int port = server.getLocalPort();
+        try {
+            Inbox alice = new Inbox();
+            HeadlessClient aliceConnection = alice.connect(port, "alice");
+            HeadlessClient bobConnection = new Inbox().connect(port, "bob");
+            aliceConnection.join("alice", WireFormat.TEXT);
+            alice.next(Protocol.SESSION);
+            bobConnection.join("bob", WireFormat.TEXT);
+            while (!"bob".equals(alice.next(Protocol.PLAYER_JOIN).parts()[2])) {
+                // alice's own JOIN comes first
+            }
+            server.startGame();
+            int first = Integer.parseInt(alice.next(Protocol.PLAYER_TURN).parts()[1]);
+
+            Inbox viewer = Inbox.forbidding(Protocol.HELD_CARD); // held cards are private
+            HeadlessClient viewerConnection = viewer.connect(port, "viewer");
+            viewerConnection.spectate(WireFormat.BINARY);
+            assertEquals(WireFormat.BINARY.name(), viewer.next(Protocol.WIRE).parts()[2]);
+            assertEquals("alice", viewer.next(Protocol.PLAYER_JOIN).parts()[2]);
+            assertEquals(2, viewer.next(Protocol.GAME_STATE).state().getPlayers().size());
+            assertEquals(first, Integer.parseInt(viewer.next(Protocol.PLAYER_TURN).parts()[1]));
+
+            viewerConnection.send(Protocol.CARD_PICK, -1);
+            assertEquals("Spectators cannot play", viewer.next(Protocol.ERROR).parts()[2]);
+
+            // The players' moves reach the spectator
+            HeadlessClient current = first == 0 ? aliceConnection : bobConnection;
+            current.send(Protocol.CARD_PICK, first);
+            assertEquals(first, Integer.parseInt(viewer.next(Protocol.CARD_PICK).parts()[1]));
+            viewer.next(Protocol.GAME_STATE);
+
+            viewerConnection.close();
+            aliceConnection.close();
+            bobConnection.close();
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void spectators_beyondTheLimit_areRejected() throws Exception {
+        ServerConfig config = new ServerConfig();
+        config.setMaxSpectators(1);
+        GameServer server = new GameServer(0, config);
+        server.start();
+        try {
+            Inbox first = new Inbox();
+            HeadlessClient firstConnection = first.connect(server.getLocalPort(), "v1");
+            firstConnection.spectate(WireFormat.TEXT);
+            Inbox second = new Inbox();
+            HeadlessClient secondConnection = second.connect(server.getLocalPort(), "v2");
+            secondConnection.spectate(WireFormat.TEXT);
+
+            assertEquals("Too many spectators", second.next(Protocol.ERROR).parts()[2]);
+            firstConnection.close();
+            secondConnection.close();
+        } finally {
+            server.stop();
+        }
+    }
+}
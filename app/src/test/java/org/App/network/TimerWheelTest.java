@@ -0,0 +1,45 @@
+package org.App.network;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    @Test
+    void timeout_firesAfterItsDelay_evenBeyondOneTurnOfTheWheel() throws InterruptedException {
+        TimerWheel timer = new TimerWheel("test-timer", 5, TimeUnit.MILLISECONDS, 4);
+        try {
+            CountDownLatch fired = new CountDownLatch(1);
+            long start = System.nanoTime();
+            timer.schedule(fired::countDown, 50, TimeUnit.MILLISECONDS);
+
+            assertTrue(fired.await(2, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50), "fired early");
+        } finally {
+            timer.stop();
+        }
+    }
+
+    @Test
+    void cancelledTimeout_neverRuns() throws InterruptedException {
+        TimerWheel timer = new TimerWheel("test-timer", 5, TimeUnit.MILLISECONDS, 16);
+        try {
+            AtomicBoolean ran = new AtomicBoolean();
+            CountDownLatch later = new CountDownLatch(1);
+            TimerWheel.Timeout timeout = timer.schedule(() -> ran.set(true), 20, TimeUnit.MILLISECONDS);
+            timer.schedule(later::countDown, 60, TimeUnit.MILLISECONDS);
+
+            assertTrue(timeout.cancel());
+            assertTrue(later.await(2, TimeUnit.SECONDS));
+            assertFalse(ran.get());
+            assertFalse(timeout.cancel());
+        } finally {
+            timer.stop();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.App.network;
+
+import org.App.network.codec.Frame;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TurnCommandTest {
+
+    @Test
+    void revealWhileHoldingAPickedCard_isRefused() throws Exception {
+        GameServer server = new GameServer(0, new ServerConfig());
+        server.start();
+        try {
+            Inbox alice = new Inbox();
+            Inbox bob = new Inbox();
+            HeadlessClient aliceConnection = alice.join(server.getLocalPort(), "alice", WireFormat.TEXT);
+            HeadlessClient bobConnection = bob.join(server.getLocalPort(), "bob", WireFormat.TEXT);
+            int aliceId = Integer.parseInt(alice.next(Protocol.SESSION).parts()[1]);
+            bob.next(Protocol.SESSION);
+
+            server.startGame();
+            int current = Integer.parseInt(alice.next(Protocol.PLAYER_TURN).parts()[1]);
+            Inbox inbox = current == aliceId ? alice : bob;
+            HeadlessClient connection = current == aliceId ? aliceConnection : bobConnection;
+            int hidden = inbox.hiddenSlot(current);
+
+            connection.send(Protocol.CARD_REVEAL, current, String.valueOf(hidden));
+            assertEquals(Protocol.ERROR, inbox.next(Protocol.ERROR, Protocol.PLAYER_TURN).type(),
+                    "nothing discarded yet");
+
+            connection.send(Protocol.CARD_PICK, current);
+            inbox.next(Protocol.CARD_PICK);
+            assertEquals(String.valueOf(current), inbox.next(Protocol.HELD_CARD).parts()[1],
+                    "the drawn card is shown to its player before they choose");
+            connection.send(Protocol.CARD_REVEAL, current, String.valueOf(hidden));
+            Frame answer = inbox.next(Protocol.ERROR, Protocol.PLAYER_TURN);
+            assertEquals(Protocol.ERROR, answer.type(), "the picked card is still held");
+
+            // Discarding first makes the reveal legal and ends the turn
+            connection.send(Protocol.CARD_DISCARD, current);
+            connection.send(Protocol.CARD_REVEAL, current, String.valueOf(hidden));
+            Frame turn = inbox.next(Protocol.ERROR, Protocol.PLAYER_TURN);
+            assertEquals(Protocol.PLAYER_TURN, turn.type());
+            assertNotEquals(current, Integer.parseInt(turn.parts()[1]));
+            aliceConnection.close();
+            bobConnection.close();
+        } finally {
+            server.stop();
+        }
+    }
+
+}
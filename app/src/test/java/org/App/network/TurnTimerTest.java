@@ -0,0 +1,72 @@
+package org.App.network;
+
+import org.App.model.player.Difficulty;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TurnTimerTest {
+
+    @Test
+    void expiredTurn_isPlayedByTheServer() throws Exception {
+        ServerConfig config = new ServerConfig();
+        config.setTurnTimeMillis(300);
+        GameServer server = new GameServer(0, config);
+        server.start();
+        try {
+            Inbox alice = new Inbox();
+            Inbox bob = new Inbox();
+            HeadlessClient aliceConnection = alice.join(server.getLocalPort(), "alice", WireFormat.TEXT);
+            HeadlessClient bobConnection = bob.join(server.getLocalPort(), "bob", WireFormat.TEXT);
+            int aliceId = Integer.parseInt(alice.next(Protocol.SESSION).parts()[1]);
+            int bobId = Integer.parseInt(bob.next(Protocol.SESSION).parts()[1]);
+            alice.next(Protocol.PLAYER_JOIN);
+            alice.next(Protocol.PLAYER_JOIN);
+
+            server.startGame();
+            int first = Integer.parseInt(alice.next(Protocol.PLAYER_TURN).parts()[1]);
+            int remaining = alice.lastState.getRemainingCards();
+
+            // Nobody plays: the server draws and reveals for the current player
+            int second = Integer.parseInt(alice.next(Protocol.PLAYER_TURN).parts()[1]);
+            assertEquals(first == aliceId ? bobId : aliceId, second);
+            assertEquals(remaining - 1, alice.lastState.getRemainingCards());
+            assertEquals(1, server.getMetrics().getTurnsTimedOut());
+
+            // The turn keeps going round while nobody plays
+            assertEquals(first, Integer.parseInt(alice.next(Protocol.PLAYER_TURN).parts()[1]));
+            aliceConnection.close();
+            bobConnection.close();
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void expiredTurn_canBeHandedToAnAi() throws Exception {
+        ServerConfig config = new ServerConfig();
+        config.setTurnTimeMillis(300);
+        config.setTurnTimeoutAi(Difficulty.MEDIUM);
+        GameServer server = new GameServer(0, config);
+        server.start();
+        try {
+            Inbox alice = new Inbox();
+            HeadlessClient connection = alice.join(server.getLocalPort(), "alice", WireFormat.TEXT);
+            int me = Integer.parseInt(alice.next(Protocol.SESSION).parts()[1]);
+            assertTrue(server.addAIPlayer(Difficulty.EASY));
+
+            server.startGame();
+            int turns = 0;
+            while (turns < 4) {
+                int current = Integer.parseInt(alice.next(Protocol.PLAYER_TURN).parts()[1]);
+                if (current == me) {
+                    turns++;
+                }
+            }
+            assertTrue(server.getMetrics().getTurnsTimedOut() >= 3);
+            connection.close();
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.App.network.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.App.model.game.Card;
+import org.App.model.game.CardValue;
+import org.App.model.game.SkyjoGame;
+import org.App.model.player.HumanPlayer;
+import org.App.model.player.Player;
+import org.App.network.GameState;
+import org.App.network.NetworkCardState;
+import org.App.network.Protocol;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCodecTest {
+
+    private static Frame roundTrip(ByteBuffer frame) throws IOException {
+        byte[] bytes = new byte[frame.remaining()];
+        frame.get(bytes);
+        ByteBufferPool.shared().release(frame);
+        return new FrameReader(new ByteArrayInputStream(bytes)).read();
+    }
+
+    @Test
+    void genericMessage_roundTripsThroughReader() throws IOException {
+        Frame frame = roundTrip(BinaryCodec.encode(Protocol.CARD_EXCHANGE, 3, "7"));
+        assertArrayEquals(new String[] { "EXCHANGE", "3", "7" }, frame.parts());
+        assertNull(frame.state());
+    }
+
+    @Test
+    void unknownType_usesExtendedEncoding() throws IOException {
+        Frame frame = roundTrip(BinaryCodec.encode("CUSTOM", -1, "é|x"));
+        assertArrayEquals(new String[] { "CUSTOM", "-1", "é|x" }, frame.parts());
+    }
+
+    @Test
+    void stateFrame_preservesCardsAndFlags() throws IOException {
+        Player alice = new HumanPlayer(0, "Alice");
+        alice.setCards(List.of(
+                new Card(CardValue.MOINS_DEUX, true, 4),
+                new Card(CardValue.DOUZE, false, 149)));
+        GameState state = new GameState(List.of(alice), new Card(CardValue.CINQ, true, 77), 120, 0, true);
+
+        Frame frame = roundTrip(BinaryCodec.encodeState(state));
+        GameState decoded = frame.state();
+
+        assertEquals(Protocol.GAME_STATE, frame.type());
+        assertEquals("Alice", decoded.getPlayers().get(0).getName());
+        NetworkCardState first = decoded.getPlayers().get(0).getCards().get(0);
+        assertEquals(CardValue.MOINS_DEUX, first.getValue());
+        assertTrue(first.isFaceVisible());
+        NetworkCardState second = decoded.getPlayers().get(0).getCards().get(1);
+        assertNull(second.getValue(), "face-down values are not sent");
+        assertFalse(second.isFaceVisible());
+        assertEquals(149, second.getId());
+        assertEquals(77, decoded.getTopDiscard().getId());
+        assertEquals(120, decoded.getRemainingCards());
+        assertTrue(decoded.isFinalRound());
+    }
+
+    @Test
+    void stateFromGame_matchesStateFromSnapshot() {
+        SkyjoGame game = new SkyjoGame(List.of(new HumanPlayer(0, "Alice"), new HumanPlayer(1, "Bob")));
+        game.startGame();
+        GameState snapshot = new GameState(game.getPlayers(), game.getTopDiscard(), game.getPickSize(),
+                game.getActualPlayer().getId(), game.isFinalRound());
+
+        ByteBuffer fromGame = BinaryCodec.encodeState(game);
+        ByteBuffer fromSnapshot = BinaryCodec.encodeState(snapshot);
+        assertEquals(fromSnapshot, fromGame);
+        ByteBufferPool.shared().release(fromGame);
+        ByteBufferPool.shared().release(fromSnapshot);
+    }
+
+    @Test
+    void card_takesTwoBytesForSmallIds() {
+        NetworkCardState card = new NetworkCardState();
+        card.setValue(CardValue.SEPT);
+        card.setFaceVisible(true);
+        card.setId(42);
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        BinaryCodec.writeCard(buffer, card);
+        assertEquals(2, buffer.position());
+    }
+
+    @Test
+    void reader_acceptsTextAndBinaryOnSameStream() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write("JOIN|-1|Bob|BINARY\r\n".getBytes(StandardCharsets.UTF_8));
+        ByteBuffer frame = BinaryCodec.encode(Protocol.CARD_PICK, 1);
+        stream.write(frame.array(), frame.position(), frame.remaining());
+        ByteBufferPool.shared().release(frame);
+        stream.write("REVEAL|1|4".getBytes(StandardCharsets.UTF_8));
+
+        FrameReader reader = new FrameReader(new ByteArrayInputStream(stream.toByteArray()));
+        assertArrayEquals(new String[] { "JOIN", "-1", "Bob", "BINARY" }, reader.read().parts());
+        assertArrayEquals(new String[] { "PICK", "1" }, reader.read().parts());
+        assertArrayEquals(new String[] { "REVEAL", "1", "4" }, reader.read().parts());
+        assertNull(reader.read());
+    }
+}
@@ -0,0 +1,75 @@
+package org.App.network.journal;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.App.model.game.Card;
+import org.App.model.game.SkyjoGame;
+import org.App.network.GameServer;
+import org.App.network.GameState;
+import org.App.network.HeadlessClient;
+import org.App.network.Inbox;
+import org.App.network.NetworkCardState;
+import org.App.network.Protocol;
+import org.App.network.ServerConfig;
+import org.App.network.WireFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalReplayTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void journaledServerGame_replaysToTheSameCards() throws Exception {
+        ServerConfig config = new ServerConfig();
+        config.setJournalDirectory(directory.toString());
+        GameServer server = new GameServer(0, config);
+        server.start();
+        Inbox alice = new Inbox();
+        Inbox bob = new Inbox();
+        try {
+            HeadlessClient aliceConnection = alice.connect(server.getLocalPort(), "alice");
+            HeadlessClient bobConnection = bob.connect(server.getLocalPort(), "bob");
+            aliceConnection.join("alice", WireFormat.TEXT);
+            alice.next(Protocol.SESSION);
+            bobConnection.join("bob", WireFormat.TEXT);
+            while (!"bob".equals(alice.next(Protocol.PLAYER_JOIN).parts()[2])) {
+                // alice's own JOIN comes first
+            }
+            server.startGame();
+            int first = Integer.parseInt(alice.next(Protocol.PLAYER_TURN).parts()[1]);
+
+            HeadlessClient current = first == 0 ? aliceConnection : bobConnection;
+            Inbox currentInbox = first == 0 ? alice : bob;
+            current.send(Protocol.CARD_PICK_EXCHANGE, first, "0");
+            alice.next(Protocol.PLAYER_TURN);
+            current.send(Protocol.DISCARD_TAKE_EXCHANGE, first, "1");
+            // Not their turn any more: rejected, so not journaled
+            currentInbox.next(Protocol.ERROR);
+            aliceConnection.close();
+            bobConnection.close();
+        } finally {
+            server.stop();
+        }
+
+        List<SkyjoGame> games = JournalReplay.replay(JournalReader.read(directory));
+        assertEquals(1, games.size());
+        SkyjoGame replayed = games.getFirst();
+        GameState seen = alice.lastState;
+        for (int p = 0; p < 2; p++) {
+            List<Card> cards = replayed.getPlayers().get(p).getCartes();
+            List<NetworkCardState> sent = seen.getPlayers().get(p).getCards();
+            assertEquals(sent.size(), cards.size());
+            for (int i = 0; i < cards.size(); i++) {
+                assertEquals(sent.get(i).getId(), cards.get(i).id());
+                assertEquals(sent.get(i).isFaceVisible(), cards.get(i).faceVisible());
+            }
+        }
+        assertEquals(seen.getTopDiscard().getId(), replayed.getTopDiscard().id());
+        assertEquals(seen.getRemainingCards(), replayed.getPickSize());
+    }
+}
@@ -0,0 +1,77 @@
+package org.App.network.journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.App.network.TurnAction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendedEvents_areReadBackInOrder() throws IOException {
+        List<JournalEvent> events = List.of(
+                new JournalEvent.Join(0, "Alice"),
+                new JournalEvent.Join(1, "Bérénice"),
+                new JournalEvent.Start(-7L, List.of(new JournalEvent.Seat(0, "Alice", "a1"),
+                        new JournalEvent.Seat(1, "Bérénice", "b2"))),
+                new JournalEvent.Action(TurnAction.PICK, 0, -1),
+                new JournalEvent.Action(TurnAction.EXCHANGE, 0, 11),
+                new JournalEvent.Action(TurnAction.SKIP, 1, -1),
+                new JournalEvent.Leave(1),
+                new JournalEvent.End());
+        try (Journal journal = new Journal(directory, 4096, 5)) {
+            for (JournalEvent event : events) {
+                journal.append(event);
+            }
+        }
+
+        assertEquals(events, JournalReader.read(directory));
+    }
+
+    @Test
+    void segmentsRoll_andAReopenedJournalContinuesAfterThem() throws IOException {
+        List<JournalEvent> events = new ArrayList<>();
+        try (Journal journal = new Journal(directory, 64, 0)) {
+            for (int i = 0; i < 20; i++) {
+                JournalEvent event = new JournalEvent.Action(TurnAction.REVEAL, i % 4, i % 12);
+                journal.append(event);
+                events.add(event);
+            }
+        }
+        try (Journal journal = new Journal(directory, 64, 0)) {
+            journal.append(new JournalEvent.End());
+            events.add(new JournalEvent.End());
+        }
+
+        assertTrue(JournalReader.segments(directory).size() > 2);
+        assertEquals(events, JournalReader.read(directory));
+    }
+
+    @Test
+    void tornRecord_endsItsSegment() throws IOException {
+        try (Journal journal = new Journal(directory, 4096, 0)) {
+            for (int i = 0; i < 3; i++) {
+                journal.append(new JournalEvent.Action(TurnAction.PICK, i, -1));
+            }
+        }
+        // Each of these records takes 8 header bytes and 4 event bytes: damage the third event
+        Path segment = JournalReader.segments(directory).getFirst();
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[2 * 12 + Journal.RECORD_HEADER + 2] ^= 0x55;
+        Files.write(segment, bytes);
+
+        List<JournalEvent> events = JournalReader.read(directory);
+        assertEquals(List.of(new JournalEvent.Action(TurnAction.PICK, 0, -1),
+                new JournalEvent.Action(TurnAction.PICK, 1, -1)), events);
+    }
+}
@@ -0,0 +1,86 @@
+package org.App.network.journal;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.App.network.GameServer;
+import org.App.network.GameState;
+import org.App.network.HeadlessClient;
+import org.App.network.Inbox;
+import org.App.network.NetworkCardState;
+import org.App.network.Protocol;
+import org.App.network.ServerConfig;
+import org.App.network.WireFormat;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicationTest {
+
+    @Test
+    void standby_takesOverTheGameWhenThePrimaryGoes() throws Exception {
+        ServerConfig primaryConfig = new ServerConfig();
+        primaryConfig.setReplicationPort(0);
+        GameServer primary = new GameServer(0, primaryConfig);
+        primary.start();
+        ServerConfig standbyConfig = new ServerConfig();
+        standbyConfig.setStandbyOf("127.0.0.1:" + primary.getReplicationPort());
+        GameServer standby = new GameServer(0, standbyConfig);
+        standby.start();
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (primary.getStandbyCount() == 0) {
+                assertTrue(System.nanoTime() < deadline, "standby never connected");
+                Thread.sleep(10);
+            }
+
+            Inbox alice = new Inbox();
+            Inbox bob = new Inbox();
+            HeadlessClient aliceConnection = alice.connect(primary.getLocalPort(), "alice");
+            HeadlessClient bobConnection = bob.connect(primary.getLocalPort(), "bob");
+            aliceConnection.join("alice", WireFormat.TEXT);
+            String aliceToken = alice.next(Protocol.SESSION).parts()[2];
+            bobConnection.join("bob", WireFormat.BINARY);
+            String bobToken = bob.next(Protocol.SESSION).parts()[2];
+            while (!"bob".equals(alice.next(Protocol.PLAYER_JOIN).parts()[2])) {
+                // alice's own JOIN comes first
+            }
+            primary.startGame();
+            int first = Integer.parseInt(alice.next(Protocol.PLAYER_TURN).parts()[1]);
+            (first == 0 ? aliceConnection : bobConnection).send(Protocol.CARD_PICK_EXCHANGE, first, "4");
+            alice.next(Protocol.PLAYER_TURN);
+            GameState seen = alice.lastState;
+
+            primary.stop();
+
+            Inbox aliceResumed = new Inbox();
+            Inbox bobResumed = new Inbox();
+            HeadlessClient aliceAgain = aliceResumed.connect(standby.getLocalPort(), "alice");
+            HeadlessClient bobAgain = bobResumed.connect(standby.getLocalPort(), "bob");
+            aliceAgain.send(Protocol.RESUME, -1, aliceToken, WireFormat.TEXT.name());
+            bobAgain.send(Protocol.RESUME, -1, bobToken, WireFormat.TEXT.name());
+
+            assertEquals("0", aliceResumed.next(Protocol.SESSION).parts()[1]);
+            GameState state = aliceResumed.next(Protocol.GAME_STATE).state();
+            for (int p = 0; p < 2; p++) {
+                List<NetworkCardState> before = seen.getPlayers().get(p).getCards();
+                List<NetworkCardState> after = state.getPlayers().get(p).getCards();
+                for (int i = 0; i < before.size(); i++) {
+                    assertEquals(before.get(i).getId(), after.get(i).getId());
+                    assertEquals(before.get(i).isFaceVisible(), after.get(i).isFaceVisible());
+                }
+            }
+            int current = Integer.parseInt(aliceResumed.next(Protocol.PLAYER_TURN).parts()[1]);
+            assertEquals(1 - first, current);
+
+            bobResumed.next(Protocol.PLAYER_TURN);
+            (current == 0 ? aliceAgain : bobAgain).send(Protocol.CARD_PICK_EXCHANGE, current, "7");
+            assertEquals(first, Integer.parseInt(aliceResumed.next(Protocol.PLAYER_TURN).parts()[1]));
+            aliceAgain.close();
+            bobAgain.close();
+        } finally {
+            primary.stop();
+            standby.stop();
+        }
+    }
+}
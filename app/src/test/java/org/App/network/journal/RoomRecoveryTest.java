@@ -0,0 +1,142 @@
+package org.App.network.journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.App.model.game.Card;
+import org.App.model.game.SkyjoGame;
+import org.App.network.GameServer;
+import org.App.network.GameState;
+import org.App.network.HeadlessClient;
+import org.App.network.Inbox;
+import org.App.network.NetworkCardState;
+import org.App.network.Protocol;
+import org.App.network.ServerConfig;
+import org.App.network.TurnAction;
+import org.App.network.WireFormat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomRecoveryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restartedServer_givesPlayersTheirSeatsBack() throws Exception {
+        ServerConfig config = new ServerConfig();
+        config.setJournalDirectory(directory.toString());
+        config.setSnapshotEvery(1);
+        Inbox alice = new Inbox();
+        Inbox bob = new Inbox();
+        String aliceToken;
+        String bobToken;
+        GameServer crashed = new GameServer(0, config);
+        crashed.start();
+        try {
+            HeadlessClient aliceConnection = alice.connect(crashed.getLocalPort(), "alice");
+            HeadlessClient bobConnection = bob.connect(crashed.getLocalPort(), "bob");
+            aliceConnection.join("alice", WireFormat.TEXT);
+            aliceToken = alice.next(Protocol.SESSION).parts()[2];
+            bobConnection.join("bob", WireFormat.TEXT);
+            bobToken = bob.next(Protocol.SESSION).parts()[2];
+            while (!"bob".equals(alice.next(Protocol.PLAYER_JOIN).parts()[2])) {
+                // alice's own JOIN comes first
+            }
+            crashed.startGame();
+            int first = Integer.parseInt(alice.next(Protocol.PLAYER_TURN).parts()[1]);
+            (first == 0 ? aliceConnection : bobConnection).send(Protocol.CARD_PICK_EXCHANGE, first, "0");
+            alice.next(Protocol.PLAYER_TURN);
+            (first == 0 ? bobConnection : aliceConnection).send(Protocol.CARD_PICK, 1 - first);
+            alice.next(Protocol.GAME_STATE);
+        } finally {
+            crashed.stop();
+        }
+        GameState seen = alice.lastState;
+
+        GameServer restarted = new GameServer(0, config);
+        assertTrue(restarted.recover());
+        restarted.start();
+        try {
+            Inbox resumed = new Inbox();
+            Inbox bobResumed = new Inbox();
+            HeadlessClient connection = resumed.connect(restarted.getLocalPort(), "alice");
+            HeadlessClient bobConnection = bobResumed.connect(restarted.getLocalPort(), "bob");
+            connection.send(Protocol.RESUME, -1, aliceToken, WireFormat.TEXT.name());
+            bobConnection.send(Protocol.RESUME, -1, bobToken, WireFormat.TEXT.name());
+
+            assertEquals("0", resumed.next(Protocol.SESSION).parts()[1]);
+            GameState state = resumed.next(Protocol.GAME_STATE).state();
+            for (int p = 0; p < 2; p++) {
+                List<NetworkCardState> before = seen.getPlayers().get(p).getCards();
+                List<NetworkCardState> after = state.getPlayers().get(p).getCards();
+                assertEquals(before.size(), after.size());
+                for (int i = 0; i < before.size(); i++) {
+                    assertEquals(before.get(i).getId(), after.get(i).getId());
+                    assertEquals(before.get(i).isFaceVisible(), after.get(i).isFaceVisible());
+                }
+            }
+            assertEquals(seen.getRemainingCards(), state.getRemainingCards());
+            int current = Integer.parseInt(resumed.next(Protocol.PLAYER_TURN).parts()[1]);
+            assertEquals(seen.getCurrentPlayerId(), current);
+
+            // The card drawn before the restart is still in hand: the turn goes on
+            bobResumed.next(Protocol.PLAYER_TURN);
+            (current == 0 ? connection : bobConnection).send(Protocol.CARD_EXCHANGE, current, "5");
+            assertEquals(1 - current, Integer.parseInt(resumed.next(Protocol.PLAYER_TURN).parts()[1]));
+            connection.close();
+            bobConnection.close();
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    @Test
+    void snapshotAndTail_recoverWithoutTheOlderSegments() throws IOException {
+        List<JournalEvent.Seat> seats = List.of(new JournalEvent.Seat(0, "alice", "a1"),
+                new JournalEvent.Seat(1, "bob", "b2"));
+        JournalEvent.Start start = new JournalEvent.Start(42L, seats);
+        SkyjoGame game = JournalReplay.start(start);
+        Journal.Position snapshotAt;
+        try (Journal journal = new Journal(directory, 64, 0)) {
+            journal.append(start);
+            snapshotAt = null;
+            for (int i = 0; i < 12; i++) {
+                JournalEvent.Action action = new JournalEvent.Action(TurnAction.PICK_EXCHANGE,
+                        game.getActualPlayer().getId(), i % 12);
+                journal.append(action);
+                JournalReplay.apply(game, action);
+                if (i == 7) {
+                    snapshotAt = journal.position();
+                    RoomSnapshot.capture(snapshotAt, seats, game).write(SnapshotWriter.file(directory, "main"));
+                }
+            }
+            journal.append(new JournalEvent.Leave(1));
+        }
+        int deleted = 0;
+        for (Path segment : JournalReader.segments(directory)) {
+            if (JournalReader.segmentNumber(segment) < snapshotAt.segment()) {
+                Files.delete(segment);
+                deleted++;
+            }
+        }
+        assertTrue(deleted > 0);
+
+        RoomRecovery.Recovered recovered = RoomRecovery.recover(directory, "main");
+
+        assertEquals(List.of(seats.getFirst()), recovered.seats());
+        SkyjoGame restored = recovered.game();
+        for (int p = 0; p < 2; p++) {
+            List<Card> expected = game.getPlayers().get(p).getCartes();
+            assertEquals(expected, restored.getPlayers().get(p).getCartes());
+            assertEquals(game.getPlayers().get(p).getName(), restored.getPlayers().get(p).getName());
+        }
+        assertEquals(game.getPick(), restored.getPick());
+        assertEquals(game.getTopDiscard(), restored.getTopDiscard());
+        assertEquals(game.getActualPlayer().getId(), restored.getActualPlayer().getId());
+    }
+}
@@ -0,0 +1,39 @@
+package org.App.network.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramTest {
+
+    @Test
+    void bucketBounds_coverEveryValueOnce() {
+        for (long v : new long[] { 0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789L, 1L << 40 }) {
+            int index = Histogram.bucketIndex(v);
+            assertTrue(Histogram.bucketLowerBound(index) <= v, "lower bound of " + v);
+            assertTrue(Histogram.bucketUpperBound(index) >= v, "upper bound of " + v);
+        }
+        assertEquals(Histogram.bucketIndex(Long.MAX_VALUE), Histogram.bucketIndex(1L << 50));
+    }
+
+    @Test
+    void percentiles_stayWithinBucketPrecision() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000_000L, histogram.getMax());
+        assertEquals(5_000_000, histogram.getPercentile(50), 5_000_000 * 0.07);
+        assertEquals(9_900_000, histogram.getPercentile(99), 9_900_000 * 0.07);
+        assertEquals(10_000_000L, histogram.getPercentile(100));
+    }
+
+    @Test
+    void emptyHistogram_reportsZero() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getPercentile(99));
+        assertEquals(0, histogram.getMean());
+    }
+}
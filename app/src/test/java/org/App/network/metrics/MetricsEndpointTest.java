@@ -0,0 +1,40 @@
+package org.App.network.metrics;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsEndpointTest {
+
+    @Test
+    void scrape_exposesServerAndJvmMetrics() throws Exception {
+        ServerMetrics metrics = new ServerMetrics(() -> 3, () -> 1);
+        metrics.messageReceived("CARD_PICK");
+        metrics.messageReceived("CARD_PICK");
+        metrics.bytesSent(1234);
+        metrics.turnCompleted("main", 2_000_000_000L);
+
+        MetricsEndpoint endpoint = MetricsEndpoint.start("127.0.0.1", 0, metrics);
+        try {
+            HttpResponse<String> response = HttpClient.newHttpClient().send(
+                    HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + endpoint.getPort() + MetricsEndpoint.PATH))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(200, response.statusCode());
+            String body = response.body();
+            assertTrue(body.contains("skyjo_messages_received_total{type=\"CARD_PICK\"} 2\n"), body);
+            assertTrue(body.contains("skyjo_bytes_sent_total 1234\n"), body);
+            assertTrue(body.contains("skyjo_connections 3\n"), body);
+            assertTrue(body.contains("skyjo_turn_duration_seconds_count{room=\"main\"} 1\n"), body);
+            assertTrue(body.contains("# TYPE jvm_memory_heap_bytes gauge"), body);
+        } finally {
+            endpoint.stop();
+        }
+    }
+}